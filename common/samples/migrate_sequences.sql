@@ -0,0 +1,33 @@
+-- One-off migration from the shared hibernate_sequence to one pooled sequence
+-- per entity table (see AbstractAuditedEntity).
+--
+-- Run against an existing database before starting the new version:
+--
+--   psql -U test -d test_db -f common/samples/migrate_sequences.sql
+--
+-- Each sequence is moved past both the highest existing ID and any block that
+-- may already have been handed out, so the script is safe to run again.
+
+CREATE SEQUENCE IF NOT EXISTS application_user_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('application_user_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM application_user), (SELECT last_value + 50 FROM application_user_seq)), false);
+
+CREATE SEQUENCE IF NOT EXISTS candidate_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('candidate_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM candidate), (SELECT last_value + 50 FROM candidate_seq)), false);
+
+CREATE SEQUENCE IF NOT EXISTS portfolio_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('portfolio_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM portfolio), (SELECT last_value + 50 FROM portfolio_seq)), false);
+
+CREATE SEQUENCE IF NOT EXISTS qualification_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('qualification_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM qualification), (SELECT last_value + 50 FROM qualification_seq)), false);
+
+CREATE SEQUENCE IF NOT EXISTS qualification_type_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('qualification_type_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM qualification_type), (SELECT last_value + 50 FROM qualification_type_seq)), false);
+
+CREATE SEQUENCE IF NOT EXISTS reference_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('reference_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM reference), (SELECT last_value + 50 FROM reference_seq)), false);
+
+CREATE SEQUENCE IF NOT EXISTS skill_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('skill_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM skill), (SELECT last_value + 50 FROM skill_seq)), false);
+
+CREATE SEQUENCE IF NOT EXISTS work_experience_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('work_experience_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM work_experience), (SELECT last_value + 50 FROM work_experience_seq)), false);
@@ -1,21 +1,34 @@
 package org.cvs;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+
 /**
  * 
  * Main class for this Spring Boot application.
+ * <p>
+ * Defaults the service depends on, such as open-in-view being disabled, are
+ * loaded from <code>cvs-defaults.properties</code> and can be overridden in
+ * <code>application.properties</code>.
  * 
  * @author Yamiko J. Msosa
  * @version 1.0
  *
  */
 @SpringBootApplication
+@PropertySource("classpath:cvs-defaults.properties")
 public class MainApplication {
 
 	@Bean
@@ -28,6 +41,61 @@ public class MainApplication {
 		return new BCryptPasswordEncoder();
 	}
 
+	/**
+	 * Bounded pool used to fetch the independent parts of a CV in parallel. When
+	 * the queue is full the calling thread runs the fetch itself.
+	 *
+	 * @param threads the number of fetch threads
+	 *
+	 * @return the CV fetch executor
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor cvExecutor(@Value("${cvs.cv.fetch-threads:8}") int threads) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(threads * 25);
+		executor.setThreadNamePrefix("cv-fetch-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		return executor;
+	}
+
+	/**
+	 * Bounded pool used to parse and validate the rows of an import chunk in
+	 * parallel, apart from the common fork-join pool. When the queue is full the
+	 * importing thread prepares the row itself.
+	 *
+	 * @param threads the number of import threads
+	 *
+	 * @return the import executor
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor importExecutor(
+	        @Value("${cvs.import.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(threads * 25);
+		executor.setThreadNamePrefix("cv-import-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		return executor;
+	}
+
+	/**
+	 * Serialises entities without loading associations that a fetch plan left
+	 * unloaded; lazy references are written as their IDs.
+	 *
+	 * @param
+	 *
+	 * @return the Jackson module for Hibernate types
+	 */
+	@Bean
+	public Module hibernate5Module() {
+		Hibernate5Module module = new Hibernate5Module();
+		module.enable(Hibernate5Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
+		return module;
+	}
+
 	public static void main(String[] args) {
 		SpringApplication.run(MainApplication.class, args);
 	}
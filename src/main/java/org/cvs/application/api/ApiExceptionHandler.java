@@ -0,0 +1,49 @@
+package org.cvs.application.api;
+
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.ConstraintViolationException;
+
+import org.cvs.application.exceptions.EntryNotActiveException;
+import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.application.exceptions.InconsistentDataException;
+import org.cvs.application.exceptions.UnknownFieldException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+/**
+ *
+ * Maps the exceptions thrown by the services to HTTP statuses for all
+ * controllers. The error is sent the same way as a
+ * {@link org.springframework.web.server.ResponseStatusException}, so the body
+ * keeps the usual error attributes.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@ControllerAdvice
+public class ApiExceptionHandler {
+
+	@ExceptionHandler(EntryNotFoundException.class)
+	public void entryNotFound(EntryNotFoundException e, HttpServletResponse response) throws IOException {
+		response.sendError(HttpStatus.NOT_FOUND.value(), e.getMessage());
+	}
+
+	@ExceptionHandler(EntryNotActiveException.class)
+	public void entryNotActive(EntryNotActiveException e, HttpServletResponse response) throws IOException {
+		response.sendError(HttpStatus.LOCKED.value(), e.getMessage());
+	}
+
+	@ExceptionHandler({ ConstraintViolationException.class, InconsistentDataException.class })
+	public void invalidEntry(RuntimeException e, HttpServletResponse response) throws IOException {
+		response.sendError(HttpStatus.NOT_ACCEPTABLE.value(), e.getMessage());
+	}
+
+	@ExceptionHandler(UnknownFieldException.class)
+	public void unknownField(UnknownFieldException e, HttpServletResponse response) throws IOException {
+		response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+	}
+}
@@ -1,7 +1,7 @@
 package org.cvs.application.api;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,18 +9,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
-import org.springframework.web.server.ResponseStatusException;
 
-import javax.validation.ConstraintViolationException;
+import java.util.List;
 
-import org.cvs.application.exceptions.EntryNotActiveException;
-import org.cvs.application.exceptions.EntryNotFoundException;
-import org.cvs.application.exceptions.InconsistentDataException;
 import org.cvs.application.services.ApplicationUserService;
 import org.cvs.application.services.PortfolioService;
+import org.cvs.data.dto.ApplicationUserSummary;
+import org.cvs.data.dto.BatchResult;
 import org.cvs.data.entities.ApplicationUser;
 import org.cvs.data.entities.Portfolio;
+import org.cvs.utils.FetchPlan;
 
 /**
  * 
@@ -33,7 +33,7 @@ import org.cvs.data.entities.Portfolio;
  */
 @Controller
 @RequestMapping(path = "/users")
-public class ApplicationUserController {
+public class ApplicationUserController extends FieldsetController<ApplicationUser> {
 
 	@Autowired
 	private ApplicationUserService userService;
@@ -41,6 +41,14 @@ public class ApplicationUserController {
 	@Autowired
 	private PortfolioService portfolioService;
 
+	/**
+	 * Constructor for this class.
+	 * 
+	 */
+	public ApplicationUserController() {
+		super(ApplicationUser.class);
+	}
+
 	/**
 	 * 
 	 * Adds a new application user via POST through URL: <code>/users</code>.
@@ -62,16 +70,8 @@ public class ApplicationUserController {
 	 */
 	@PostMapping(path = "")
 	public @ResponseBody ApplicationUser addNewApplicationUser(@RequestBody ApplicationUser user) {
-		try {
-			ApplicationUser newUser = userService.addUser(user);
-			return newUser;
-		} catch (ConstraintViolationException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, e.getMessage(), e);
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		}
+		ApplicationUser newUser = userService.addUser(user);
+		return newUser;
 	}
 
 	/**
@@ -92,16 +92,8 @@ public class ApplicationUserController {
 	@PostMapping(path = "/{userId}/portfolios/{portfolioId}")
 	public @ResponseBody Portfolio updatePortfolioWithUser(@PathVariable Long userId, @PathVariable Long portfolioId) {
 
-		try {
-			Portfolio updatedPortfolio = portfolioService.updatePortfolioWithUser(userId, portfolioId);
-			return updatedPortfolio;
-		} catch (ConstraintViolationException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, e.getMessage(), e);
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		}
+		Portfolio updatedPortfolio = portfolioService.updatePortfolioWithUser(userId, portfolioId);
+		return updatedPortfolio;
 	}
 
 	/**
@@ -118,19 +110,15 @@ public class ApplicationUserController {
 	 * 
 	 * @param userId the user ID as a request parameter to be used in the search
 	 *               query
+	 * @param fetch  the associations to be loaded, <code>MEMBERS</code> by default
 	 * 
 	 * @return an active application user if found
 	 */
 	@GetMapping(path = "/active/{userId}")
-	public @ResponseBody ApplicationUser getUser(@PathVariable Long userId) {
-		try {
-			ApplicationUser user = userService.getActiveUser(userId);
-			return user;
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		}
+	public @ResponseBody ApplicationUser getUser(@PathVariable Long userId,
+	        @RequestParam(defaultValue = "MEMBERS") FetchPlan fetch) {
+		ApplicationUser user = userService.getActiveUser(userId, fetch);
+		return user;
 	}
 
 	/**
@@ -151,12 +139,8 @@ public class ApplicationUserController {
 	 */
 	@DeleteMapping(path = "/{userId}")
 	public @ResponseBody String deleteUser(@PathVariable Long userId) {
-		try {
-			userService.deleteUser(userId);
-			return "Deleted";
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		}
+		userService.deleteUser(userId);
+		return "Deleted";
 	}
 
 	/**
@@ -178,27 +162,114 @@ public class ApplicationUserController {
 	@PostMapping(path = "/retire/{userId}")
 	public @ResponseBody String retireUser(@PathVariable Long userId) {
 
-		try {
-			userService.retireUser(userId);
-			return "Retired";
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		}
+		userService.retireUser(userId);
+		return "Retired";
 
 	}
 
 	/**
 	 * 
-	 * Fetches all active application users via GET through URL:
-	 * <code>/users/all</code>.
+	 * Fetches a page of active application users via GET through URL:
+	 * <code>/users</code>.
+	 * <p>
+	 * 
+	 * Entries are served as flat read models without associations.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /users?after=aWQ6MTIw&amp;limit=50
+	 * </code>
+	 * 
+	 * @param after the cursor from the <code>next</code> link of the previous page
+	 *              (optional)
+	 * @param limit the maximum number of entries to return (optional)
 	 * 
-	 * @return a list of all active application users in JSON or XML depending on
-	 *         client preferences
+	 * @return a page of active application users with a <code>Link</code> header to the
+	 *         next page if one may exist
 	 * 
 	 */
 	@GetMapping(path = "")
-	public @ResponseBody Iterable<ApplicationUser> getAllUsers() {
-		return userService.getUsers();
+	public ResponseEntity<List<ApplicationUserSummary>> getAllUsers(@RequestParam(required = false) String after,
+	        @RequestParam(required = false) Integer limit) {
+		int pageSize = KeysetPagination.pageSize(limit);
+		return KeysetPagination.readModelPage(
+		        userService.getUserSummariesAfter(KeysetPagination.cursor(after), pageSize), pageSize);
+	}
+
+	/**
+	 * 
+	 * Fetches a page of active application users with their associations via GET through
+	 * URL: <code>/users?fetch=...</code>.
+	 * <p>
+	 * 
+	 * Entries are served as entities, with the associations of the fetch plan
+	 * loaded.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /users?fetch=MEMBERS&amp;after=aWQ6MTIw&amp;limit=50
+	 * </code>
+	 * 
+	 * @param after the cursor from the <code>next</code> link of the previous page
+	 *              (optional)
+	 * @param limit the maximum number of entries to return (optional)
+	 * @param fetch the associations to be loaded
+	 * 
+	 * @return a page of active application users with a <code>Link</code> header to the
+	 *         next page if one may exist
+	 * 
+	 */
+	@GetMapping(path = "", params = { "fetch", "!ids" })
+	public ResponseEntity<List<ApplicationUser>> getAllUsersWithAssociations(
+	        @RequestParam(required = false) String after, @RequestParam(required = false) Integer limit,
+	        @RequestParam FetchPlan fetch) {
+		int pageSize = KeysetPagination.pageSize(limit);
+		return KeysetPagination.page(userService.getUsersAfter(KeysetPagination.cursor(after), pageSize, fetch),
+		        pageSize);
+	}
+
+	/**
+	 * 
+	 * Fetches several users by ID at once via GET through URL:
+	 * <code>/users?ids=...</code>.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /users?ids=1,2,3
+	 * </code>
+	 * 
+	 * @param ids   the IDs of the users to be fetched, at most 1000
+	 * @param fetch the associations to be loaded, <code>MEMBERS</code> by default
+	 * 
+	 * @return the active users found, with the IDs that were not found
+	 *         and the IDs of inactive users listed separately
+	 * 
+	 */
+	@GetMapping(path = "", params = "ids")
+	public @ResponseBody BatchResult<ApplicationUser> getUsersByIds(@RequestParam List<Long> ids,
+	        @RequestParam(defaultValue = "MEMBERS") FetchPlan fetch) {
+		return userService.getActiveUsers(BatchIds.distinct(ids), fetch);
+	}
+
+	/**
+	 * 
+	 * Fetches active application users for a specific portfolio via GET through
+	 * URL: <code>/users/portfolio/{portfolioId}</code>.
+	 * 
+	 * @param portfolioId the ID of the portfolio to filter application users for
+	 * 
+	 * @return a list of all active application users for a particular portfolio
+	 * 
+	 */
+	@GetMapping(path = "/portfolio/{portfolioId}")
+	public @ResponseBody Iterable<ApplicationUser> getUsers(@PathVariable Long portfolioId) {
+		return userService.getUsers(portfolioId);
 	}
 
 }
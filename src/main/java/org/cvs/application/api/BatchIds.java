@@ -0,0 +1,54 @@
+package org.cvs.application.api;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.cvs.utils.Lookup;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ *
+ * Helper for the <code>ids=1,2,3</code> batch fetch contract shared by all
+ * collection endpoints.
+ * <p>
+ * The response lists the entries found, and separately the IDs that were not
+ * found (<code>404</code> on the single lookup) or are not active
+ * (<code>423</code> on the single lookup), so one request replaces a round trip
+ * per ID.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+public final class BatchIds {
+
+	private BatchIds() {
+	}
+
+	/**
+	 * Resolves the IDs requested by the client.
+	 *
+	 * @param ids the requested IDs, possibly repeated
+	 *
+	 * @return the distinct IDs in the order requested
+	 */
+	public static Set<Long> distinct(List<Long> ids) {
+		Set<Long> distinct = new LinkedHashSet<>();
+		for (Long id : ids) {
+			if (id != null) {
+				distinct.add(id);
+			}
+		}
+
+		if (distinct.isEmpty()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No IDs requested");
+		}
+		if (distinct.size() > Lookup.MAX_PAGE_SIZE) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+			        "Too many IDs requested :: " + distinct.size() + ", at most " + Lookup.MAX_PAGE_SIZE);
+		}
+		return distinct;
+	}
+}
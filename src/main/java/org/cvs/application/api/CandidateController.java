@@ -1,27 +1,43 @@
 package org.cvs.application.api;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.server.ResponseStatusException;
 
-import javax.validation.ConstraintViolationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
-import org.cvs.application.exceptions.EntryNotActiveException;
-import org.cvs.application.exceptions.EntryNotFoundException;
-import org.cvs.application.exceptions.InconsistentDataException;
+import org.cvs.application.services.CandidateImportService;
 import org.cvs.application.services.CandidateService;
+import org.cvs.application.services.CvService;
 import org.cvs.application.services.PortfolioService;
+import org.cvs.application.services.RequestCoalescer;
+import org.cvs.data.dto.BatchResult;
+import org.cvs.data.dto.CandidateCv;
+import org.cvs.data.dto.CandidateSummary;
+import org.cvs.data.dto.ImportReport;
 import org.cvs.data.entities.Candidate;
 import org.cvs.data.entities.Portfolio;
 import org.cvs.data.entities.Skill;
+import org.cvs.utils.FetchPlan;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * 
@@ -33,7 +49,7 @@ import org.cvs.data.entities.Skill;
  */
 @Controller
 @RequestMapping(path = "/candidates")
-public class CandidateController {
+public class CandidateController extends FieldsetController<Candidate> {
 
 	@Autowired
 	private CandidateService candidateService;
@@ -41,6 +57,29 @@ public class CandidateController {
 	@Autowired
 	private PortfolioService portfolioService;
 
+	@Autowired
+	private CvService cvService;
+
+	@Autowired
+	private CandidateImportService candidateImportService;
+
+	@Autowired
+	private RequestCoalescer requestCoalescer;
+
+	@Autowired
+	private MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+
+	@Autowired
+	private MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
+
+	/**
+	 * Constructor for this class.
+	 * 
+	 */
+	public CandidateController() {
+		super(Candidate.class);
+	}
+
 	/**
 	 * 
 	 * Adds a new candidate to an optional portfolio via POST through URL:
@@ -78,17 +117,65 @@ public class CandidateController {
 	 */
 	@PostMapping(path = "")
 	public @ResponseBody Candidate addNewCandidate(@RequestBody Candidate candidate) {
+		Candidate newcandidate = candidateService.addCandidate(candidate);
+		return newcandidate;
+	}
+
+	/**
+	 * 
+	 * Imports candidates in bulk via POST through URL:
+	 * <code>/candidates/import</code>.
+	 * <p>
+	 * 
+	 * The body is newline-delimited JSON with one CV per line, in the same shape
+	 * as returned by <code>/candidates/{candidateId}/cv</code>. Example line:
+	 * 
+	 * <code> 
+	 * {"candidate": {"firstName": "Test", "lastName": "Candidate", ... , "portfolio": [{"id": 136}]},
+	 *  "skills": [{"description": "Java"}],
+	 *  "qualifications": [{"name": "BSc", ... , "qualificationType": {"id": 4}}],
+	 *  "workExperiences": [], "references": []}
+	 * </code>
+	 * 
+	 * @param ndjson the request body as a stream
+	 * 
+	 * @return a report of imported and rejected rows
+	 */
+	@PostMapping(path = "/import", consumes = { "application/x-ndjson", MediaType.TEXT_PLAIN_VALUE })
+	public @ResponseBody ImportReport importCandidates(InputStream ndjson) {
+		try {
+			return candidateImportService.importCandidates(ndjson);
+		} catch (IOException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * 
+	 * Imports candidates in bulk from binary documents via POST through URL:
+	 * <code>/candidates/import</code>.
+	 * <p>
+	 * 
+	 * The body is a sequence of CBOR or Smile documents, one CV per document, in
+	 * the same shape as the lines of the JSON import. Errors are reported by
+	 * document number.
+	 * 
+	 * @param documents   the request body as a stream
+	 * @param contentType the format of the documents
+	 * 
+	 * @return a report of imported and rejected documents
+	 */
+	@PostMapping(path = "/import", consumes = { MediaType.APPLICATION_CBOR_VALUE,
+	        BinaryFormatConfiguration.SMILE_VALUE })
+	public @ResponseBody ImportReport importBinaryCandidates(InputStream documents,
+	        @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType) {
+		ObjectMapper format = contentType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)
+		        ? cborHttpMessageConverter.getObjectMapper()
+		        : smileHttpMessageConverter.getObjectMapper();
 		try {
-			Candidate newcandidate = candidateService.addCandidate(candidate);
-			return newcandidate;
-		} catch (ConstraintViolationException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, e.getMessage(), e);
-		} catch (InconsistentDataException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, e.getMessage(), e);
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
+			return candidateImportService.importCandidates(documents, format);
+		} catch (IOException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
 		}
 	}
 
@@ -111,16 +198,8 @@ public class CandidateController {
 	public @ResponseBody Portfolio updatePortfolioWithCandidate(@PathVariable Long candidateId,
 	        @PathVariable Long portfolioId) {
 
-		try {
-			Portfolio updatedPortfolio = portfolioService.updatePortfolioWithCandidate(candidateId, portfolioId);
-			return updatedPortfolio;
-		} catch (ConstraintViolationException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, e.getMessage(), e);
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		}
+		Portfolio updatedPortfolio = portfolioService.updatePortfolioWithCandidate(candidateId, portfolioId);
+		return updatedPortfolio;
 	}
 
 	/**
@@ -137,19 +216,64 @@ public class CandidateController {
 	 * 
 	 * @param candidateId the candidate ID as a request parameter to be used in the
 	 *                    query
+	 * @param fetch       the associations to be loaded, <code>MEMBERS</code> by
+	 *                    default
 	 * 
 	 * @return an active candidate if found
 	 */
 	@GetMapping(path = "/active/{candidateId}")
-	public @ResponseBody Candidate getCandidate(@PathVariable Long candidateId) {
-		try {
-			Candidate candidate = candidateService.getActiveCandidate(candidateId);
-			return candidate;
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		}
+	public @ResponseBody Candidate getCandidate(@PathVariable Long candidateId,
+	        @RequestParam(defaultValue = "MEMBERS") FetchPlan fetch) {
+		Candidate candidate = candidateService.getActiveCandidate(candidateId, fetch);
+		return candidate;
+	}
+
+	/**
+	 * 
+	 * Fetches the full CV of an active candidate via GET through URL:
+	 * <code>/candidates/{candidateId}/cv</code>.
+	 * <p>
+	 * 
+	 * The CV is written from the JSON snapshot cached for the candidate.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /candidates/1/cv
+	 * </code>
+	 * 
+	 * @param candidateId the candidate ID as a request parameter to be used in the
+	 *                    query
+	 * 
+	 * @return the candidate with all active skills, qualifications, work
+	 *         experiences and references
+	 */
+	@GetMapping(path = "/{candidateId}/cv")
+	public ResponseEntity<byte[]> getCv(@PathVariable Long candidateId) {
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cvService.getCvSnapshot(candidateId));
+	}
+
+	/**
+	 * 
+	 * Fetches the full CV of an active candidate as CBOR or Smile via GET through
+	 * URL: <code>/candidates/{candidateId}/cv</code>, for clients that prefer
+	 * either to JSON.
+	 * <p>
+	 * 
+	 * The CV is written straight to the binary format by the negotiated
+	 * converter.
+	 * 
+	 * @param candidateId the candidate ID as a request parameter to be used in the
+	 *                    query
+	 * 
+	 * @return the candidate with all active skills, qualifications, work
+	 *         experiences and references
+	 */
+	@GetMapping(path = "/{candidateId}/cv", produces = { MediaType.APPLICATION_CBOR_VALUE,
+	        BinaryFormatConfiguration.SMILE_VALUE })
+	public @ResponseBody CandidateCv getBinaryCv(@PathVariable Long candidateId) {
+		return cvService.getCv(candidateId);
 	}
 
 	/**
@@ -170,12 +294,8 @@ public class CandidateController {
 	 */
 	@DeleteMapping(path = "/{candidateId}")
 	public @ResponseBody String deleteCandidate(@PathVariable Long candidateId) {
-		try {
-			candidateService.deleteCandidate(candidateId);
-			return "Deleted";
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		}
+		candidateService.deleteCandidate(candidateId);
+		return "Deleted";
 	}
 
 	/**
@@ -197,26 +317,99 @@ public class CandidateController {
 	@PostMapping(path = "/retire/{candidateId}")
 	public @ResponseBody String retireCandidate(@PathVariable Long candidateId) {
 
-		try {
-			candidateService.retireCandidate(candidateId);
-			return "Retired";
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		}
+		candidateService.retireCandidate(candidateId);
+		return "Retired";
 
 	}
 
 	/**
 	 * 
-	 * Fetches all active candidates via GET through URL:
-	 * <code>/candidates/all</code>.
+	 * Fetches a page of active candidates via GET through URL:
+	 * <code>/candidates</code>.
+	 * <p>
+	 * 
+	 * Entries are served as flat read models without associations.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /candidates?after=aWQ6MTIw&amp;limit=50
+	 * </code>
 	 * 
+	 * @param after the cursor from the <code>next</code> link of the previous page
+	 *              (optional)
+	 * @param limit the maximum number of entries to return (optional)
+	 * 
+	 * @return a page of active candidates with a <code>Link</code> header to the
+	 *         next page if one may exist
 	 * 
 	 */
 	@GetMapping(path = "")
-	public @ResponseBody Iterable<Candidate> getAllCandidates() {
-		// This returns a JSON or XML with the candidates
-		return candidateService.getCandidates();
+	public ResponseEntity<List<CandidateSummary>> getAllCandidates(@RequestParam(required = false) String after,
+	        @RequestParam(required = false) Integer limit) {
+		int pageSize = KeysetPagination.pageSize(limit);
+		return KeysetPagination.readModelPage(
+		        candidateService.getCandidateSummariesAfter(KeysetPagination.cursor(after), pageSize), pageSize);
+	}
+
+	/**
+	 * 
+	 * Fetches a page of active candidates with their associations via GET through
+	 * URL: <code>/candidates?fetch=...</code>.
+	 * <p>
+	 * 
+	 * Entries are served as entities, with the associations of the fetch plan
+	 * loaded.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /candidates?fetch=MEMBERS&amp;after=aWQ6MTIw&amp;limit=50
+	 * </code>
+	 * 
+	 * @param after the cursor from the <code>next</code> link of the previous page
+	 *              (optional)
+	 * @param limit the maximum number of entries to return (optional)
+	 * @param fetch the associations to be loaded
+	 * 
+	 * @return a page of active candidates with a <code>Link</code> header to the
+	 *         next page if one may exist
+	 * 
+	 */
+	@GetMapping(path = "", params = { "fetch", "!ids" })
+	public ResponseEntity<List<Candidate>> getAllCandidatesWithAssociations(
+	        @RequestParam(required = false) String after, @RequestParam(required = false) Integer limit,
+	        @RequestParam FetchPlan fetch) {
+		int pageSize = KeysetPagination.pageSize(limit);
+		return KeysetPagination.page(
+		        candidateService.getCandidatesAfter(KeysetPagination.cursor(after), pageSize, fetch), pageSize);
+	}
+
+	/**
+	 * 
+	 * Fetches several candidates by ID at once via GET through URL:
+	 * <code>/candidates?ids=...</code>.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /candidates?ids=1,2,3
+	 * </code>
+	 * 
+	 * @param ids   the IDs of the candidates to be fetched, at most 1000
+	 * @param fetch the associations to be loaded, <code>MEMBERS</code> by default
+	 * 
+	 * @return the active candidates found, with the IDs that were not found
+	 *         and the IDs of inactive candidates listed separately
+	 * 
+	 */
+	@GetMapping(path = "", params = "ids")
+	public @ResponseBody BatchResult<Candidate> getCandidatesByIds(@RequestParam List<Long> ids,
+	        @RequestParam(defaultValue = "MEMBERS") FetchPlan fetch) {
+		return candidateService.getActiveCandidates(BatchIds.distinct(ids), fetch);
 	}
 
 	/**
@@ -226,13 +419,15 @@ public class CandidateController {
 	 * 
 	 * @param portfolioId the ID of the portfolio to filter candidates for
 	 * 
-	 * @return a list of all active candidates entries for a particular portfolio
+	 * @return a list of all active candidates entries for a particular portfolio;
+	 *         concurrent identical requests share one load
 	 * 
 	 */
 	@GetMapping(path = "/portfolio/{portfolioId}")
 	public @ResponseBody Iterable<Candidate> getCandidates(@PathVariable Long portfolioId) {
 		// This returns a JSON or XML with the workExperiences
-		return candidateService.getCandidates(portfolioId);
+		return requestCoalescer.execute("getCandidates", () -> candidateService.getCandidates(portfolioId),
+		        portfolioId);
 	}
 
 }
@@ -0,0 +1,96 @@
+package org.cvs.application.api;
+
+import java.util.List;
+import java.util.Map;
+
+import org.cvs.application.services.FieldsetService;
+import org.cvs.data.entities.AbstractRetirableEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+/**
+ *
+ * Base class of the controllers whose entries can be fetched as sparse
+ * fieldsets, which adds the <code>fields=...</code> variants of their active
+ * and collection endpoints.
+ * <p>
+ * Only the selected columns are read from the database. The ID is always
+ * included.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ * @param <T> the type of entries served by the controller
+ */
+public abstract class FieldsetController<T extends AbstractRetirableEntity> {
+
+	@Autowired
+	private FieldsetService fieldsetService;
+
+	private final Class<T> type;
+
+	/**
+	 * Constructor for this class.
+	 *
+	 * @param type the type of entries served by the controller
+	 *
+	 */
+	protected FieldsetController(Class<T> type) {
+		this.type = type;
+	}
+
+	/**
+	 *
+	 * Fetches selected fields of an active entry via GET through URL:
+	 * <code>/{entries}/active/{id}?fields=...</code>.
+	 * <p>
+	 *
+	 * Example URL:
+	 *
+	 * <code>
+	 *  /skills/active/1?fields=description
+	 * </code>
+	 *
+	 * @param id     the entry ID to be used in the query
+	 * @param fields the names of the fields to be returned
+	 *
+	 * @return the selected fields of an active entry if found
+	 */
+	@GetMapping(path = "/active/{id}", params = "fields")
+	public @ResponseBody Map<String, Object> getActiveFields(@PathVariable Long id, @RequestParam List<String> fields) {
+		return fieldsetService.getActiveFields(type, fields, id);
+	}
+
+	/**
+	 *
+	 * Fetches selected fields of a page of active entries via GET through URL:
+	 * <code>/{entries}?fields=...</code>.
+	 * <p>
+	 *
+	 * Example URL:
+	 *
+	 * <code>
+	 *  /candidates?fields=firstName,lastName&amp;after=aWQ6MTIw&amp;limit=50
+	 * </code>
+	 *
+	 * @param after  the cursor from the <code>next</code> link of the previous page
+	 *               (optional)
+	 * @param limit  the maximum number of entries to return (optional)
+	 * @param fields the names of the fields to be returned
+	 *
+	 * @return the selected fields of a page of active entries with a
+	 *         <code>Link</code> header to the next page if one may exist
+	 *
+	 */
+	@GetMapping(path = "", params = { "fields", "!ids" })
+	public ResponseEntity<List<Map<String, Object>>> getAllFields(@RequestParam(required = false) String after,
+	        @RequestParam(required = false) Integer limit, @RequestParam List<String> fields) {
+		int pageSize = KeysetPagination.pageSize(limit);
+		return KeysetPagination.fieldsetPage(
+		        fieldsetService.getFieldsAfter(type, fields, KeysetPagination.cursor(after), pageSize), pageSize);
+	}
+}
@@ -0,0 +1,149 @@
+package org.cvs.application.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.cvs.data.dto.ReadModel;
+import org.cvs.data.entities.AbstractAuditedEntity;
+import org.cvs.utils.Lookup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ *
+ * Helper for the <code>after=&lt;cursor&gt;&amp;limit=n</code> keyset
+ * pagination contract shared by all collection endpoints.
+ * <p>
+ * A page is returned as a plain JSON array. When a further page may exist, a
+ * <code>Link</code> header with <code>rel="next"</code> points at it. Cursors
+ * are opaque to clients: they encode the sort key of the last entry on a page,
+ * currently its ID, so the ordering can change without changing the contract.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+public final class KeysetPagination {
+
+	private KeysetPagination() {
+	}
+
+	private static final String CURSOR_PREFIX = "id:";
+
+	/**
+	 * Resolves the cursor to start a page from.
+	 *
+	 * @param after the cursor from the <code>next</code> link of the previous
+	 *              page, if any
+	 *
+	 * @return the ID to be used in the query
+	 */
+	public static Long cursor(String after) {
+		if (after == null || after.isEmpty()) {
+			return Lookup.FIRST_PAGE_CURSOR;
+		}
+
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+			if (decoded.startsWith(CURSOR_PREFIX)) {
+				return Long.valueOf(decoded.substring(CURSOR_PREFIX.length()));
+			}
+		} catch (IllegalArgumentException e) {
+			// Not Base64, or not a number once decoded
+		}
+		throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor :: " + after);
+	}
+
+	/**
+	 * Encodes the cursor for the page following a given entry.
+	 *
+	 * @param id the ID of the last entry on a page
+	 *
+	 * @return the opaque cursor to be passed as <code>after</code>
+	 */
+	public static String token(Long id) {
+		return Base64.getUrlEncoder().withoutPadding()
+		        .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Resolves the page size requested by the client.
+	 *
+	 * @param limit the requested page size, if any
+	 *
+	 * @return the page size to be used in the query, capped at
+	 *         {@link Lookup#MAX_PAGE_SIZE}
+	 */
+	public static int pageSize(Integer limit) {
+		if (limit == null) {
+			return Lookup.DEFAULT_PAGE_SIZE;
+		}
+		if (limit < 1) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page size :: " + limit);
+		}
+		return Math.min(limit, Lookup.MAX_PAGE_SIZE);
+	}
+
+	/**
+	 * Wraps a page of entries in a response with a <code>next</code> link when
+	 * the page is full.
+	 *
+	 * @param page     the entries on the current page ordered by ID
+	 * @param pageSize the page size that was used in the query
+	 *
+	 * @return a response carrying the page and an optional <code>Link</code>
+	 *         header
+	 */
+	public static <T extends AbstractAuditedEntity> ResponseEntity<List<T>> page(List<T> page, int pageSize) {
+		return page(page, pageSize, AbstractAuditedEntity::getId);
+	}
+
+	/**
+	 * Wraps a page of read models in a response with a <code>next</code> link
+	 * when the page is full.
+	 *
+	 * @param page     the read models on the current page ordered by ID
+	 * @param pageSize the page size that was used in the query
+	 *
+	 * @return a response carrying the page and an optional <code>Link</code>
+	 *         header
+	 */
+	public static <T extends ReadModel> ResponseEntity<List<T>> readModelPage(List<T> page, int pageSize) {
+		return page(page, pageSize, ReadModel::getId);
+	}
+
+	/**
+	 * Wraps a page of sparse fieldsets in a response with a <code>next</code>
+	 * link when the page is full.
+	 *
+	 * @param page     the fieldsets on the current page ordered by ID, each
+	 *                 including the <code>id</code> field
+	 * @param pageSize the page size that was used in the query
+	 *
+	 * @return a response carrying the page and an optional <code>Link</code>
+	 *         header
+	 */
+	public static ResponseEntity<List<Map<String, Object>>> fieldsetPage(List<Map<String, Object>> page,
+	        int pageSize) {
+		return page(page, pageSize, row -> (Long) row.get("id"));
+	}
+
+	private static <T> ResponseEntity<List<T>> page(List<T> page, int pageSize, Function<T, Long> idOf) {
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+		if (page.size() == pageSize) {
+			String next = ServletUriComponentsBuilder.fromCurrentRequest()
+			        .replaceQueryParam("after", token(idOf.apply(page.get(page.size() - 1))))
+			        .replaceQueryParam("limit", pageSize).toUriString();
+			response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+		}
+
+		return response.body(page);
+	}
+}
@@ -0,0 +1,134 @@
+package org.cvs.application.api;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.cvs.utils.AdaptiveConcurrencyLimit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ *
+ * Sheds load with 503 once more requests are in flight than an
+ * {@link AdaptiveConcurrencyLimit} allows, so that a slow database makes
+ * requests fail fast instead of queueing on Tomcat threads.
+ * <p>
+ * Reads (<code>GET</code>, <code>HEAD</code>, <code>OPTIONS</code>) and writes
+ * have separate limits, so a backlog of slow writes cannot shut out reads. The
+ * filter runs ahead of the security chain, so shed requests cost nothing
+ * further. Logins, which have their own bounded executor, and actuator
+ * endpoints are not limited.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class LoadSheddingFilter extends OncePerRequestFilter implements MeterBinder {
+
+	private static final String READ = "read";
+
+	private static final String WRITE = "write";
+
+	private final boolean enabled;
+
+	private final long retryAfterSeconds;
+
+	private final AdaptiveConcurrencyLimit readLimit;
+
+	private final AdaptiveConcurrencyLimit writeLimit;
+
+	/**
+	 * Constructor for this class.
+	 *
+	 * @param enabled           whether load is shed at all
+	 * @param retryAfterSeconds the delay suggested to rejected clients
+	 * @param readInitial       the initial limit for reads
+	 * @param readMin           the lowest limit for reads
+	 * @param readMax           the highest limit for reads
+	 * @param writeInitial      the initial limit for writes
+	 * @param writeMin          the lowest limit for writes
+	 * @param writeMax          the highest limit for writes
+	 * @param tolerance         how many times the baseline latency is tolerated
+	 *                          before a limit is reduced
+	 *
+	 */
+	public LoadSheddingFilter(@Value("${cvs.concurrency.enabled:true}") boolean enabled,
+	        @Value("${cvs.concurrency.retry-after-seconds:1}") long retryAfterSeconds,
+	        @Value("${cvs.concurrency.read.initial-limit:100}") int readInitial,
+	        @Value("${cvs.concurrency.read.min-limit:10}") int readMin,
+	        @Value("${cvs.concurrency.read.max-limit:400}") int readMax,
+	        @Value("${cvs.concurrency.write.initial-limit:40}") int writeInitial,
+	        @Value("${cvs.concurrency.write.min-limit:5}") int writeMin,
+	        @Value("${cvs.concurrency.write.max-limit:150}") int writeMax,
+	        @Value("${cvs.concurrency.tolerance:2.0}") double tolerance) {
+		this.enabled = enabled;
+		this.retryAfterSeconds = retryAfterSeconds;
+		this.readLimit = new AdaptiveConcurrencyLimit(readInitial, readMin, readMax, tolerance);
+		this.writeLimit = new AdaptiveConcurrencyLimit(writeInitial, writeMin, writeMax, tolerance);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		return !enabled || path.startsWith("/users/login") || path.startsWith("/actuator");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+	        throws ServletException, IOException {
+		AdaptiveConcurrencyLimit limit = isRead(request) ? readLimit : writeLimit;
+
+		if (!limit.tryAcquire()) {
+			log.debug("Shedding " + request.getMethod() + " " + request.getRequestURI() + " at limit "
+			        + limit.getLimit());
+			response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server is overloaded");
+			return;
+		}
+
+		long start = System.nanoTime();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			limit.release(System.nanoTime() - start);
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		bind(registry, READ, readLimit);
+		bind(registry, WRITE, writeLimit);
+	}
+
+	private static boolean isRead(HttpServletRequest request) {
+		String method = request.getMethod();
+		return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+	}
+
+	private static void bind(MeterRegistry registry, String group, AdaptiveConcurrencyLimit limit) {
+		Gauge.builder("concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit).tag("group", group)
+		        .description("Current concurrency limit").register(registry);
+		Gauge.builder("concurrency.inflight", limit, AdaptiveConcurrencyLimit::getInFlight).tag("group", group)
+		        .description("Requests in flight").register(registry);
+		FunctionCounter.builder("concurrency.rejected", limit, AdaptiveConcurrencyLimit::getRejectedCount)
+		        .tag("group", group).description("Requests shed for exceeding the concurrency limit")
+		        .register(registry);
+	}
+}
@@ -1,7 +1,7 @@
 package org.cvs.application.api;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,23 +11,36 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
-import org.springframework.web.server.ResponseStatusException;
 
-import javax.validation.ConstraintViolationException;
+import java.util.List;
 
-import org.cvs.application.exceptions.EntryNotActiveException;
-import org.cvs.application.exceptions.EntryNotFoundException;
 import org.cvs.application.services.PortfolioService;
+import org.cvs.application.services.RequestCoalescer;
+import org.cvs.data.dto.BatchResult;
+import org.cvs.data.dto.LinkReport;
+import org.cvs.data.dto.PortfolioSummary;
 import org.cvs.data.entities.Candidate;
 import org.cvs.data.entities.Portfolio;
+import org.cvs.utils.FetchPlan;
 
 @Controller 
 @RequestMapping(path = "/portfolios") 
-public class PortfolioController {
+public class PortfolioController extends FieldsetController<Portfolio> {
 
 	@Autowired
 	private PortfolioService portfolioService;
 
+	@Autowired
+	private RequestCoalescer requestCoalescer;
+
+	/**
+	 * Constructor for this class.
+	 * 
+	 */
+	public PortfolioController() {
+		super(Portfolio.class);
+	}
+
 	/**
 	 * 
 	 * Adds a new portfolio to an optional application user via POST through URL:
@@ -51,16 +64,96 @@ public class PortfolioController {
 	@PostMapping(path = "")
 	public @ResponseBody Portfolio addNewPortfolio(@RequestBody Portfolio portfolio) {
 
-		try {
-			Portfolio newPortfolio = portfolioService.addPortfolio(portfolio);
-			return newPortfolio;
-		} catch (ConstraintViolationException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, e.getMessage(), e);
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		}
+		Portfolio newPortfolio = portfolioService.addPortfolio(portfolio);
+		return newPortfolio;
+	}
+
+	/**
+	 * 
+	 * Links candidates to a portfolio in bulk via POST through URL:
+	 * <code>/portfolios/{portfolioId}/candidates</code>.
+	 * <p>
+	 * 
+	 * Example payload:
+	 * 
+	 * <code> 
+	 *  [141, 142, 143]
+	 * </code>
+	 * 
+	 * @param portfolioId the ID of the portfolio
+	 * @param ids         the IDs of the candidates to be linked
+	 * 
+	 * @return a report of added, existing and rejected links
+	 */
+	@PostMapping(path = "/{portfolioId}/candidates")
+	public @ResponseBody LinkReport linkCandidates(@PathVariable Long portfolioId, @RequestBody List<Long> ids) {
+		return portfolioService.linkCandidates(portfolioId, ids);
+	}
+
+	/**
+	 * 
+	 * Unlinks candidates from a portfolio in bulk via DELETE through URL:
+	 * <code>/portfolios/{portfolioId}/candidates</code>.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /portfolios/1/candidates?ids=141,142,143
+	 * </code>
+	 * 
+	 * @param portfolioId the ID of the portfolio
+	 * @param ids         the IDs of the candidates to be unlinked
+	 * 
+	 * @return a report of removed and absent links
+	 */
+	@DeleteMapping(path = "/{portfolioId}/candidates")
+	public @ResponseBody LinkReport unlinkCandidates(@PathVariable Long portfolioId, @RequestParam List<Long> ids) {
+		return portfolioService.unlinkCandidates(portfolioId, ids);
+	}
+
+	/**
+	 * 
+	 * Links application users to a portfolio in bulk via POST through URL:
+	 * <code>/portfolios/{portfolioId}/users</code>.
+	 * <p>
+	 * 
+	 * Example payload:
+	 * 
+	 * <code> 
+	 *  [141, 142, 143]
+	 * </code>
+	 * 
+	 * @param portfolioId the ID of the portfolio
+	 * @param ids         the IDs of the application users to be linked
+	 * 
+	 * @return a report of added, existing and rejected links
+	 */
+	@PostMapping(path = "/{portfolioId}/users")
+	public @ResponseBody LinkReport linkUsers(@PathVariable Long portfolioId, @RequestBody List<Long> ids) {
+		return portfolioService.linkUsers(portfolioId, ids);
+	}
+
+	/**
+	 * 
+	 * Unlinks application users from a portfolio in bulk via DELETE through URL:
+	 * <code>/portfolios/{portfolioId}/users</code>.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /portfolios/1/users?ids=141,142,143
+	 * </code>
+	 * 
+	 * @param portfolioId the ID of the portfolio
+	 * @param ids         the IDs of the application users to be unlinked
+	 * 
+	 * @return a report of removed and absent links
+	 */
+	@DeleteMapping(path = "/{portfolioId}/users")
+	public @ResponseBody LinkReport unlinkUsers(@PathVariable Long portfolioId, @RequestParam List<Long> ids) {
+		return portfolioService.unlinkUsers(portfolioId, ids);
 	}
 
 	/**
@@ -77,19 +170,18 @@ public class PortfolioController {
 	 * 
 	 * @param portfolioId the portfolio ID as a request parameter to be used in the
 	 *                    query
+	 * @param fetch       the associations to be loaded, <code>MEMBERS</code> by
+	 *                    default
 	 * 
-	 * @return an active portfolio if found
+	 * @return an active portfolio if found; concurrent identical requests share
+	 *         one load
 	 */
 	@GetMapping(path = "/active/{portfolioId}")
-	public @ResponseBody Portfolio getPortfolio(@PathVariable Long portfolioId) {
-		try {
-			Portfolio portfolio = portfolioService.getActivePortfolio(portfolioId);
-			return portfolio;
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		}
+	public @ResponseBody Portfolio getPortfolio(@PathVariable Long portfolioId,
+	        @RequestParam(defaultValue = "MEMBERS") FetchPlan fetch) {
+		Portfolio portfolio = requestCoalescer.execute("getActivePortfolio",
+		        () -> portfolioService.getActivePortfolio(portfolioId, fetch), portfolioId, fetch);
+		return portfolio;
 	}
 
 	/**
@@ -110,14 +202,8 @@ public class PortfolioController {
 	 */
 	@GetMapping(path = "/name")
 	public @ResponseBody Portfolio getByPortfolioName(@RequestParam String name) {
-		try {
-			Portfolio portfolio = portfolioService.getByPortfolioName(name);
-			return portfolio;
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		}
+		Portfolio portfolio = portfolioService.getByPortfolioName(name);
+		return portfolio;
 	}
 
 	/**
@@ -140,12 +226,8 @@ public class PortfolioController {
 	 */
 	@DeleteMapping(path = "{portfolioId}")
 	public @ResponseBody String deletePortfolio(@PathVariable Long portfolioId) {
-		try {
-			portfolioService.deletePortfolio(portfolioId);
-			return "Deleted";
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		}
+		portfolioService.deletePortfolio(portfolioId);
+		return "Deleted";
 	}
 
 	/**
@@ -168,25 +250,99 @@ public class PortfolioController {
 	@PostMapping(path = "/retire/{portfolioId}")
 	public @ResponseBody String retirePortfolio(@PathVariable Long portfolioId) {
 
-		try {
-			portfolioService.retirePortfolio(portfolioId);
-			return "Retired";
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		}
+		portfolioService.retirePortfolio(portfolioId);
+		return "Retired";
 
 	}
 
 	/**
 	 * 
-	 * Fetches all active portfolios via GET through URL: <code>/portfolios</code>.
+	 * Fetches a page of active portfolios via GET through URL:
+	 * <code>/portfolios</code>.
+	 * <p>
 	 * 
+	 * Entries are served as flat read models without associations.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /portfolios?after=aWQ6MTIw&amp;limit=50
+	 * </code>
+	 * 
+	 * @param after the cursor from the <code>next</code> link of the previous page
+	 *              (optional)
+	 * @param limit the maximum number of entries to return (optional)
+	 * 
+	 * @return a page of active portfolios with a <code>Link</code> header to the
+	 *         next page if one may exist
 	 * 
 	 */
 	@GetMapping(path = "")
-	public @ResponseBody Iterable<Portfolio> getAllPortfolios() {
-		// This returns a JSON or XML with the portfolios
-		return portfolioService.getPortfolios();
+	public ResponseEntity<List<PortfolioSummary>> getAllPortfolios(@RequestParam(required = false) String after,
+	        @RequestParam(required = false) Integer limit) {
+		int pageSize = KeysetPagination.pageSize(limit);
+		return KeysetPagination.readModelPage(
+		        portfolioService.getPortfolioSummariesAfter(KeysetPagination.cursor(after), pageSize), pageSize);
+	}
+
+	/**
+	 * 
+	 * Fetches a page of active portfolios with their associations via GET through
+	 * URL: <code>/portfolios?fetch=...</code>.
+	 * <p>
+	 * 
+	 * Entries are served as entities, with the associations of the fetch plan
+	 * loaded.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /portfolios?fetch=MEMBERS&amp;after=aWQ6MTIw&amp;limit=50
+	 * </code>
+	 * 
+	 * @param after the cursor from the <code>next</code> link of the previous page
+	 *              (optional)
+	 * @param limit the maximum number of entries to return (optional)
+	 * @param fetch the associations to be loaded
+	 * 
+	 * @return a page of active portfolios with a <code>Link</code> header to the
+	 *         next page if one may exist
+	 * 
+	 */
+	@GetMapping(path = "", params = { "fetch", "!ids" })
+	public ResponseEntity<List<Portfolio>> getAllPortfoliosWithAssociations(
+	        @RequestParam(required = false) String after, @RequestParam(required = false) Integer limit,
+	        @RequestParam FetchPlan fetch) {
+		int pageSize = KeysetPagination.pageSize(limit);
+		return KeysetPagination.page(
+		        portfolioService.getPortfoliosAfter(KeysetPagination.cursor(after), pageSize, fetch), pageSize);
+	}
+
+	/**
+	 * 
+	 * Fetches several portfolios by ID at once via GET through URL:
+	 * <code>/portfolios?ids=...</code>.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /portfolios?ids=1,2,3
+	 * </code>
+	 * 
+	 * @param ids   the IDs of the portfolios to be fetched, at most 1000
+	 * @param fetch the associations to be loaded, <code>MEMBERS</code> by default
+	 * 
+	 * @return the active portfolios found, with the IDs that were not found
+	 *         and the IDs of inactive portfolios listed separately
+	 * 
+	 */
+	@GetMapping(path = "", params = "ids")
+	public @ResponseBody BatchResult<Portfolio> getPortfoliosByIds(@RequestParam List<Long> ids,
+	        @RequestParam(defaultValue = "MEMBERS") FetchPlan fetch) {
+		return portfolioService.getActivePortfolios(BatchIds.distinct(ids), fetch);
 	}
 
 	/**
@@ -1,7 +1,7 @@
 package org.cvs.application.api;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,24 +9,32 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
-import org.springframework.web.server.ResponseStatusException;
 
-import javax.validation.ConstraintViolationException;
+import java.util.List;
 
-import org.cvs.application.exceptions.EntryNotActiveException;
-import org.cvs.application.exceptions.EntryNotFoundException;
 import org.cvs.application.services.QualificationService;
+import org.cvs.data.dto.BatchResult;
+import org.cvs.data.dto.QualificationSummary;
 import org.cvs.data.entities.Qualification;
 import org.cvs.data.entities.Skill;
 
 @Controller 
 @RequestMapping(path = "/qualifications") 
-public class QualificationController {
+public class QualificationController extends FieldsetController<Qualification> {
 
 	@Autowired
 	private QualificationService qualificationService;
 
+	/**
+	 * Constructor for this class.
+	 * 
+	 */
+	public QualificationController() {
+		super(Qualification.class);
+	}
+
 	/**
 	 * 
 	 * Adds a new qualification to an existing candidate via POST through URL:
@@ -53,16 +61,8 @@ public class QualificationController {
 	 */
 	@PostMapping(path = "")
 	public @ResponseBody Qualification addNewApplicationQualification(@RequestBody Qualification qualification) {
-		try {
-			Qualification newqualification = qualificationService.addQualification(qualification);
-			return newqualification;
-		} catch (ConstraintViolationException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, e.getMessage(), e);
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		}
+		Qualification newqualification = qualificationService.addQualification(qualification);
+		return newqualification;
 	}
 
 	/**
@@ -81,16 +81,10 @@ public class QualificationController {
 	 * 
 	 * @return an active qualification if found
 	 */
-	@GetMapping(path = "/active")
+	@GetMapping(path = "/active/{qualificationId}")
 	public @ResponseBody Qualification getQualification(@PathVariable Long qualificationId) {
-		try {
-			Qualification qualification = qualificationService.getActiveQualification(qualificationId);
-			return qualification;
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		}
+		Qualification qualification = qualificationService.getActiveQualification(qualificationId);
+		return qualification;
 	}
 
 	/**
@@ -113,12 +107,8 @@ public class QualificationController {
 	 */
 	@DeleteMapping(path = "/{qualificationId}")
 	public @ResponseBody String deleteQualification(@PathVariable Long qualificationId) {
-		try {
-			qualificationService.deleteQualification(qualificationId);
-			return "Deleted";
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		}
+		qualificationService.deleteQualification(qualificationId);
+		return "Deleted";
 	}
 
 	/**
@@ -142,27 +132,60 @@ public class QualificationController {
 	@PostMapping(path = "/retire/{qualificationId}")
 	public @ResponseBody String retireQualification(@PathVariable Long qualificationId) {
 
-		try {
-			qualificationService.retireQualification(qualificationId);
-			return "Retired";
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		}
+		qualificationService.retireQualification(qualificationId);
+		return "Retired";
 
 	}
 
 	/**
 	 * 
-	 * Fetches all active qualifications via GET through URL:
+	 * Fetches a page of active qualifications via GET through URL:
 	 * <code>/qualifications</code>.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /qualifications?after=aWQ6MTIw&amp;limit=50
+	 * </code>
+	 * 
+	 * @param after the cursor from the <code>next</code> link of the previous page
+	 *              (optional)
+	 * @param limit the maximum number of entries to return (optional)
+	 * 
+	 * @return a page of active qualifications as flat read models, with a
+	 *         <code>Link</code> header to the next page if one may exist
 	 * 
-	 * @return a list of all active qualifications
-	 *
 	 */
 	@GetMapping(path = "")
-	public @ResponseBody Iterable<Qualification> getAllQualifications() {
-		// This returns a JSON or XML with the qualifications
-		return qualificationService.getQualifications();
+	public ResponseEntity<List<QualificationSummary>> getAllQualifications(@RequestParam(required = false) String after,
+	        @RequestParam(required = false) Integer limit) {
+		int pageSize = KeysetPagination.pageSize(limit);
+		return KeysetPagination.readModelPage(qualificationService.getQualificationSummariesAfter(KeysetPagination.cursor(after), pageSize),
+		        pageSize);
+	}
+
+	/**
+	 * 
+	 * Fetches several qualifications by ID at once via GET through URL:
+	 * <code>/qualifications?ids=...</code>.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /qualifications?ids=1,2,3
+	 * </code>
+	 * 
+	 * @param ids the IDs of the qualifications to be fetched, at most 1000
+	 * 
+	 * @return the active qualifications found, with the IDs that were not found
+	 *         and the IDs of inactive qualifications listed separately
+	 * 
+	 */
+	@GetMapping(path = "", params = "ids")
+	public @ResponseBody BatchResult<Qualification> getQualificationsByIds(@RequestParam List<Long> ids) {
+		return qualificationService.getActiveQualifications(BatchIds.distinct(ids));
 	}
 
 	/**
@@ -1,7 +1,7 @@
 package org.cvs.application.api;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,23 +9,30 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
-import org.springframework.web.server.ResponseStatusException;
 
-import javax.validation.ConstraintViolationException;
+import java.util.List;
 
-import org.cvs.application.exceptions.EntryNotActiveException;
-import org.cvs.application.exceptions.EntryNotFoundException;
 import org.cvs.application.services.QualificationTypeService;
+import org.cvs.data.dto.BatchResult;
 import org.cvs.data.entities.QualificationType;
 
 @Controller
 @RequestMapping(path = "/qualifications/types")
-public class QualificationTypeController {
+public class QualificationTypeController extends FieldsetController<QualificationType> {
 
 	@Autowired
 	private QualificationTypeService qualificationTypeService;
 
+	/**
+	 * Constructor for this class.
+	 * 
+	 */
+	public QualificationTypeController() {
+		super(QualificationType.class);
+	}
+
 	/**
 	 * 
 	 * Adds a new qualification types candidate via POST through URL:
@@ -48,16 +55,8 @@ public class QualificationTypeController {
 	@PostMapping(path = "")
 	public @ResponseBody QualificationType addNewApplicationQualificationType(
 	        @RequestBody QualificationType qualificationType) {
-		try {
-			QualificationType newqualificationType = qualificationTypeService.addQualificationType(qualificationType);
-			return newqualificationType;
-		} catch (ConstraintViolationException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, e.getMessage(), e);
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		}
+		QualificationType newqualificationType = qualificationTypeService.addQualificationType(qualificationType);
+		return newqualificationType;
 	}
 
 	/**
@@ -79,15 +78,9 @@ public class QualificationTypeController {
 	 */
 	@GetMapping(path = "/active/{qualificationTypeId}")
 	public @ResponseBody QualificationType getQualificationType(@PathVariable Long qualificationTypeId) {
-		try {
-			QualificationType qualificationType = qualificationTypeService
-			        .getActiveQualificationType(qualificationTypeId);
-			return qualificationType;
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		}
+		QualificationType qualificationType = qualificationTypeService
+		        .getActiveQualificationType(qualificationTypeId);
+		return qualificationType;
 	}
 
 	/**
@@ -110,12 +103,8 @@ public class QualificationTypeController {
 	 */
 	@DeleteMapping(path = "/{qualificationTypeId}")
 	public @ResponseBody String deleteQualificationType(@PathVariable Long qualificationTypeId) {
-		try {
-			qualificationTypeService.deleteQualificationType(qualificationTypeId);
-			return "Deleted";
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		}
+		qualificationTypeService.deleteQualificationType(qualificationTypeId);
+		return "Deleted";
 	}
 
 	/**
@@ -138,27 +127,58 @@ public class QualificationTypeController {
 	@PostMapping(path = "/retire/{qualificationTypeId}")
 	public @ResponseBody String retireQualificationType(@PathVariable Long qualificationTypeId) {
 
-		try {
-			qualificationTypeService.retireQualificationType(qualificationTypeId);
-			return "Retired";
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		}
+		qualificationTypeService.retireQualificationType(qualificationTypeId);
+		return "Retired";
 
 	}
 
 	/**
 	 * 
-	 * Fetches all active qualification types via GET through URL:
-	 * <code>/qualifications</code>.
+	 * Fetches a page of active qualification types via GET through URL:
+	 * <code>/qualifications/types</code>.
+	 * <p>
+	 * 
+	 * Example URL:
 	 * 
-	 * @return a list of all active qualification types in JSON or XML depending on
-	 *         client preferences
+	 * <code> 
+	 *  /qualifications/types?after=aWQ6MTIw&amp;limit=50
+	 * </code>
+	 * 
+	 * @param after the cursor from the <code>next</code> link of the previous page
+	 *              (optional)
+	 * @param limit the maximum number of entries to return (optional)
+	 * 
+	 * @return a page of active qualification types with a <code>Link</code> header to the
+	 *         next page if one may exist
 	 * 
 	 */
 	@GetMapping(path = "")
-	public @ResponseBody Iterable<QualificationType> getAllQualificationTypes() {
-		// This returns a JSON or XML with the qualificationTypes
-		return qualificationTypeService.getQualificationTypes();
+	public ResponseEntity<List<QualificationType>> getAllQualificationTypes(@RequestParam(required = false) String after,
+	        @RequestParam(required = false) Integer limit) {
+		int pageSize = KeysetPagination.pageSize(limit);
+		return KeysetPagination.page(qualificationTypeService.getQualificationTypesAfter(KeysetPagination.cursor(after), pageSize), pageSize);
+	}
+
+	/**
+	 * 
+	 * Fetches several qualification types by ID at once via GET through URL:
+	 * <code>/qualifications/types?ids=...</code>.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /qualifications/types?ids=1,2,3
+	 * </code>
+	 * 
+	 * @param ids the IDs of the qualification types to be fetched, at most 1000
+	 * 
+	 * @return the active qualification types found, with the IDs that were not found
+	 *         and the IDs of inactive qualification types listed separately
+	 * 
+	 */
+	@GetMapping(path = "", params = "ids")
+	public @ResponseBody BatchResult<QualificationType> getQualificationTypesByIds(@RequestParam List<Long> ids) {
+		return qualificationTypeService.getActiveQualificationTypes(BatchIds.distinct(ids));
 	}
 }
@@ -1,7 +1,7 @@
 package org.cvs.application.api;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,24 +9,31 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
-import org.springframework.web.server.ResponseStatusException;
 
-import javax.validation.ConstraintViolationException;
+import java.util.List;
 
-import org.cvs.application.exceptions.EntryNotActiveException;
-import org.cvs.application.exceptions.EntryNotFoundException;
 import org.cvs.application.services.ReferenceService;
+import org.cvs.data.dto.BatchResult;
 import org.cvs.data.entities.Reference;
 import org.cvs.data.entities.Skill;
 
 @Controller
 @RequestMapping(path = "/references")
-public class ReferenceController {
+public class ReferenceController extends FieldsetController<Reference> {
 
 	@Autowired
 	private ReferenceService referenceService;
 
+	/**
+	 * Constructor for this class.
+	 * 
+	 */
+	public ReferenceController() {
+		super(Reference.class);
+	}
+
 	/**
 	 * 
 	 * Adds a new reference to an existing candidate via POST through URL:
@@ -58,16 +65,8 @@ public class ReferenceController {
 	 */
 	@PostMapping(path = "")
 	public @ResponseBody Reference addNewApplicationReference(@RequestBody Reference reference) {
-		try {
-			Reference newreference = referenceService.addReference(reference);
-			return newreference;
-		} catch (ConstraintViolationException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, e.getMessage(), e);
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		}
+		Reference newreference = referenceService.addReference(reference);
+		return newreference;
 	}
 
 	/**
@@ -89,14 +88,8 @@ public class ReferenceController {
 	 */
 	@GetMapping(path = "/active/{referenceId}")
 	public @ResponseBody Reference getReference(@PathVariable Long referenceId) {
-		try {
-			Reference reference = referenceService.getActiveReference(referenceId);
-			return reference;
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		}
+		Reference reference = referenceService.getActiveReference(referenceId);
+		return reference;
 	}
 
 	/**
@@ -119,12 +112,8 @@ public class ReferenceController {
 	 */
 	@DeleteMapping(path = "/{referenceId}")
 	public @ResponseBody String deleteReference(@PathVariable Long referenceId) {
-		try {
-			referenceService.deleteReference(referenceId);
-			return "Deleted";
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		}
+		referenceService.deleteReference(referenceId);
+		return "Deleted";
 	}
 
 	/**
@@ -145,28 +134,59 @@ public class ReferenceController {
 	 */
 	@PostMapping(path = "/retire/{referenceId}")
 	public @ResponseBody String retireReference(@PathVariable Long referenceId) {
-		try {
-			referenceService.retireReference(referenceId);
-			return "Retired";
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		}
+		referenceService.retireReference(referenceId);
+		return "Retired";
 
 	}
 
 	/**
 	 * 
-	 * Fetches all active qualification types via GET through URL:
+	 * Fetches a page of active references via GET through URL:
 	 * <code>/references</code>.
+	 * <p>
 	 * 
-	 * @return a list of all active qualification types in JSON or XML depending on
-	 *         client preferences
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /references?after=aWQ6MTIw&amp;limit=50
+	 * </code>
+	 * 
+	 * @param after the cursor from the <code>next</code> link of the previous page
+	 *              (optional)
+	 * @param limit the maximum number of entries to return (optional)
+	 * 
+	 * @return a page of active references with a <code>Link</code> header to the
+	 *         next page if one may exist
 	 * 
 	 */
 	@GetMapping(path = "")
-	public @ResponseBody Iterable<Reference> getAllReferences() {
-		// This returns a JSON or XML with the references
-		return referenceService.getReferences();
+	public ResponseEntity<List<Reference>> getAllReferences(@RequestParam(required = false) String after,
+	        @RequestParam(required = false) Integer limit) {
+		int pageSize = KeysetPagination.pageSize(limit);
+		return KeysetPagination.page(referenceService.getReferencesAfter(KeysetPagination.cursor(after), pageSize), pageSize);
+	}
+
+	/**
+	 * 
+	 * Fetches several references by ID at once via GET through URL:
+	 * <code>/references?ids=...</code>.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /references?ids=1,2,3
+	 * </code>
+	 * 
+	 * @param ids the IDs of the references to be fetched, at most 1000
+	 * 
+	 * @return the active references found, with the IDs that were not found
+	 *         and the IDs of inactive references listed separately
+	 * 
+	 */
+	@GetMapping(path = "", params = "ids")
+	public @ResponseBody BatchResult<Reference> getReferencesByIds(@RequestParam List<Long> ids) {
+		return referenceService.getActiveReferences(BatchIds.distinct(ids));
 	}
 
 	/**
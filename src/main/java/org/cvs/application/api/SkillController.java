@@ -1,7 +1,7 @@
 package org.cvs.application.api;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,24 +9,31 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
-import org.springframework.web.server.ResponseStatusException;
 
-import javax.validation.ConstraintViolationException;
+import java.util.List;
 
-import org.cvs.application.exceptions.EntryNotActiveException;
-import org.cvs.application.exceptions.EntryNotFoundException;
 import org.cvs.application.services.SkillService;
+import org.cvs.data.dto.BatchResult;
 import org.cvs.data.entities.Skill;
 import org.cvs.data.entities.WorkExperience;
 
 @Controller
 @RequestMapping(path = "/skills")
-public class SkillController {
+public class SkillController extends FieldsetController<Skill> {
 
 	@Autowired
 	private SkillService skillService;
 
+	/**
+	 * Constructor for this class.
+	 * 
+	 */
+	public SkillController() {
+		super(Skill.class);
+	}
+
 	/**
 	 * 
 	 * Adds a new skill to an existing candidate via POST through URL:
@@ -48,16 +55,8 @@ public class SkillController {
 	 */
 	@PostMapping(path = "")
 	public @ResponseBody Skill addNewApplicationSkill(@RequestBody Skill skill) {
-		try {
-			Skill newskill = skillService.addSkill(skill);
-			return newskill;
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		} catch (ConstraintViolationException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, e.getMessage(), e);
-		}
+		Skill newskill = skillService.addSkill(skill);
+		return newskill;
 	}
 
 	/**
@@ -78,14 +77,8 @@ public class SkillController {
 	 */
 	@GetMapping(path = "/active/{skillId}")
 	public @ResponseBody Skill getSkill(@PathVariable Long skillId) {
-		try {
-			Skill skill = skillService.getActiveSkill(skillId);
-			return skill;
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		}
+		Skill skill = skillService.getActiveSkill(skillId);
+		return skill;
 	}
 
 	/**
@@ -107,12 +100,8 @@ public class SkillController {
 	 */
 	@DeleteMapping(path = "/{skillId}")
 	public @ResponseBody String deleteSkill(@PathVariable Long skillId) {
-		try {
-			skillService.deleteSkill(skillId);
-			return "Deleted";
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		}
+		skillService.deleteSkill(skillId);
+		return "Deleted";
 	}
 
 	/**
@@ -133,26 +122,59 @@ public class SkillController {
 	@PostMapping(path = "/retire/{skillId}")
 	public @ResponseBody String retireSkill(@PathVariable Long skillId) {
 
-		try {
-			skillService.retireSkill(skillId);
-			return "Retired";
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		}
+		skillService.retireSkill(skillId);
+		return "Retired";
 
 	}
 
 	/**
 	 * 
-	 * Fetches all active skills via GET through URL: <code>/skills</code>.
+	 * Fetches a page of active skills via GET through URL:
+	 * <code>/skills</code>.
+	 * <p>
+	 * 
+	 * Example URL:
 	 * 
-	 * @return a list of all active skill entries in JSON or XML
+	 * <code> 
+	 *  /skills?after=aWQ6MTIw&amp;limit=50
+	 * </code>
+	 * 
+	 * @param after the cursor from the <code>next</code> link of the previous page
+	 *              (optional)
+	 * @param limit the maximum number of entries to return (optional)
+	 * 
+	 * @return a page of active skills with a <code>Link</code> header to the
+	 *         next page if one may exist
 	 * 
 	 */
 	@GetMapping(path = "")
-	public @ResponseBody Iterable<Skill> getAllSkills() {
-		// This returns a JSON or XML with the skills
-		return skillService.getSkills();
+	public ResponseEntity<List<Skill>> getAllSkills(@RequestParam(required = false) String after,
+	        @RequestParam(required = false) Integer limit) {
+		int pageSize = KeysetPagination.pageSize(limit);
+		return KeysetPagination.page(skillService.getSkillsAfter(KeysetPagination.cursor(after), pageSize), pageSize);
+	}
+
+	/**
+	 * 
+	 * Fetches several skills by ID at once via GET through URL:
+	 * <code>/skills?ids=...</code>.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /skills?ids=1,2,3
+	 * </code>
+	 * 
+	 * @param ids the IDs of the skills to be fetched, at most 1000
+	 * 
+	 * @return the active skills found, with the IDs that were not found
+	 *         and the IDs of inactive skills listed separately
+	 * 
+	 */
+	@GetMapping(path = "", params = "ids")
+	public @ResponseBody BatchResult<Skill> getSkillsByIds(@RequestParam List<Long> ids) {
+		return skillService.getActiveSkills(BatchIds.distinct(ids));
 	}
 
 	/**
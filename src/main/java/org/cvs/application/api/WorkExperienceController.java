@@ -1,7 +1,7 @@
 package org.cvs.application.api;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,24 +9,31 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
-import org.springframework.web.server.ResponseStatusException;
 
-import javax.validation.ConstraintViolationException;
+import java.util.List;
 
-import org.cvs.application.exceptions.EntryNotActiveException;
-import org.cvs.application.exceptions.EntryNotFoundException;
-import org.cvs.application.exceptions.InconsistentDataException;
 import org.cvs.application.services.WorkExperienceService;
+import org.cvs.data.dto.BatchResult;
+import org.cvs.data.dto.WorkExperienceSummary;
 import org.cvs.data.entities.WorkExperience;
 
 @Controller
 @RequestMapping(path = "/experiences")
-public class WorkExperienceController {
+public class WorkExperienceController extends FieldsetController<WorkExperience> {
 
 	@Autowired
 	private WorkExperienceService workExperienceService;
 
+	/**
+	 * Constructor for this class.
+	 * 
+	 */
+	public WorkExperienceController() {
+		super(WorkExperience.class);
+	}
+
 	/**
 	 * 
 	 * Adds a new work experience entry to an existing candidate via POST through
@@ -53,18 +60,8 @@ public class WorkExperienceController {
 	 */
 	@PostMapping(path = "")
 	public @ResponseBody WorkExperience addNewApplicationWorkExperience(@RequestBody WorkExperience workExperience) {
-		try {
-			WorkExperience newworkExperience = workExperienceService.addWorkExperience(workExperience);
-			return newworkExperience;
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		} catch (InconsistentDataException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, e.getMessage(), e);
-		} catch (ConstraintViolationException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, e.getMessage(), e);
-		}
+		WorkExperience newworkExperience = workExperienceService.addWorkExperience(workExperience);
+		return newworkExperience;
 	}
 
 	/**
@@ -86,14 +83,8 @@ public class WorkExperienceController {
 	 */
 	@GetMapping(path = "/active/{workExperienceId}")
 	public @ResponseBody WorkExperience getWorkExperience(@PathVariable Long workExperienceId) {
-		try {
-			WorkExperience workExperience = workExperienceService.getActiveWorkExperience(workExperienceId);
-			return workExperience;
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		} catch (EntryNotActiveException e) {
-			throw new ResponseStatusException(HttpStatus.LOCKED, e.getMessage(), e);
-		}
+		WorkExperience workExperience = workExperienceService.getActiveWorkExperience(workExperienceId);
+		return workExperience;
 	}
 
 	/**
@@ -116,12 +107,8 @@ public class WorkExperienceController {
 	 */
 	@DeleteMapping(path = "/{workExperienceId}")
 	public @ResponseBody String deleteWorkExperience(@PathVariable Long workExperienceId) {
-		try {
-			workExperienceService.deleteWorkExperience(workExperienceId);
-			return "Deleted";
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		}
+		workExperienceService.deleteWorkExperience(workExperienceId);
+		return "Deleted";
 	}
 
 	/**
@@ -144,27 +131,60 @@ public class WorkExperienceController {
 	@PostMapping(path = "/retire/{workExperienceId}")
 	public @ResponseBody String retireWorkExperience(@PathVariable Long workExperienceId) {
 
-		try {
-			workExperienceService.retireWorkExperience(workExperienceId);
-			return "Retired";
-		} catch (EntryNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
-		}
+		workExperienceService.retireWorkExperience(workExperienceId);
+		return "Retired";
 
 	}
 
 	/**
 	 * 
-	 * Fetches all active work experience entries via GET through URL:
+	 * Fetches a page of active work experiences via GET through URL:
 	 * <code>/experiences</code>.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /experiences?after=aWQ6MTIw&amp;limit=50
+	 * </code>
 	 * 
-	 * @return a list of all active work experience entries in JSON or XML
+	 * @param after the cursor from the <code>next</code> link of the previous page
+	 *              (optional)
+	 * @param limit the maximum number of entries to return (optional)
+	 * 
+	 * @return a page of active work experiences as flat read models, with a
+	 *         <code>Link</code> header to the next page if one may exist
 	 * 
 	 */
 	@GetMapping(path = "")
-	public @ResponseBody Iterable<WorkExperience> getAllWorkExperiences() {
-		// This returns a JSON or XML with the workExperiences
-		return workExperienceService.getWorkExperiences();
+	public ResponseEntity<List<WorkExperienceSummary>> getAllWorkExperiences(@RequestParam(required = false) String after,
+	        @RequestParam(required = false) Integer limit) {
+		int pageSize = KeysetPagination.pageSize(limit);
+		return KeysetPagination.readModelPage(workExperienceService.getWorkExperienceSummariesAfter(KeysetPagination.cursor(after), pageSize),
+		        pageSize);
+	}
+
+	/**
+	 * 
+	 * Fetches several work experiences by ID at once via GET through URL:
+	 * <code>/experiences?ids=...</code>.
+	 * <p>
+	 * 
+	 * Example URL:
+	 * 
+	 * <code> 
+	 *  /experiences?ids=1,2,3
+	 * </code>
+	 * 
+	 * @param ids the IDs of the work experiences to be fetched, at most 1000
+	 * 
+	 * @return the active work experiences found, with the IDs that were not found
+	 *         and the IDs of inactive work experiences listed separately
+	 * 
+	 */
+	@GetMapping(path = "", params = "ids")
+	public @ResponseBody BatchResult<WorkExperience> getWorkExperiencesByIds(@RequestParam List<Long> ids) {
+		return workExperienceService.getActiveWorkExperiences(BatchIds.distinct(ids));
 	}
 
 	/**
@@ -0,0 +1,36 @@
+package org.cvs.application.exceptions;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * 
+ * Supports rejecting logins when the password verification capacity of the
+ * application is exhausted.
+ * 
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@SuppressWarnings("serial")
+public class LoginCapacityExceededException extends AuthenticationServiceException {
+
+	private final long retryAfterSeconds;
+
+	/**
+	 * Constructor for this class.
+	 *
+	 * @param message           the error message
+	 * @param retryAfterSeconds the number of seconds after which the client may
+	 *                          try again
+	 * 
+	 */
+	public LoginCapacityExceededException(String message, long retryAfterSeconds) {
+		super("Login capacity exceeded :: " + message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+
+}
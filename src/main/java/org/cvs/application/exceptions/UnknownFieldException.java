@@ -0,0 +1,25 @@
+package org.cvs.application.exceptions;
+
+/**
+ * 
+ * Supports throwing of errors that arise from requesting fields an entry does
+ * not have or does not expose.
+ * 
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@SuppressWarnings("serial")
+public class UnknownFieldException extends RuntimeException {
+
+	/**
+	 * Constructor for this class.
+	 *
+	 * @param message the error message
+	 * 
+	 */
+	public UnknownFieldException(String message) {
+		super("Unknown field for :: " + message);
+	}
+
+}
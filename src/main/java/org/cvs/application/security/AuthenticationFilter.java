@@ -1,21 +1,22 @@
 package org.cvs.application.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import org.cvs.application.exceptions.LoginCapacityExceededException;
 import org.cvs.data.entities.ApplicationUser;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Date;
 
 /**
  * 
@@ -28,6 +29,7 @@ import java.util.Date;
  */
 public class AuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 	private AuthenticationManager authenticationManager;
+	private JwtTokenService tokenService;
 
 	/**
 	 * Constructor for this {@link AuthenticationFilter} that also filters
@@ -36,10 +38,13 @@ public class AuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 	 *
 	 * @param authenticationManager the {@link AuthenticationManager} for this
 	 *                              application
+	 * @param tokenService          the {@link JwtTokenService} that issues
+	 *                              tokens
 	 * 
 	 */
-	public AuthenticationFilter(AuthenticationManager authenticationManager) {
+	public AuthenticationFilter(AuthenticationManager authenticationManager, JwtTokenService tokenService) {
 		this.authenticationManager = authenticationManager;
+		this.tokenService = tokenService;
 
 		setFilterProcessesUrl("/users/login");
 	}
@@ -76,9 +81,30 @@ public class AuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 	 */
 	protected void successfulAuthentication(HttpServletRequest request, HttpServletResponse response,
 	        FilterChain filterChain, Authentication authentication) {
-		String token = Jwts.builder().setSubject(((User) authentication.getPrincipal()).getUsername())
-		        .setExpiration(new Date(System.currentTimeMillis() + 864_000_000))
-		        .signWith(SignatureAlgorithm.HS512, "SecretKeyToGenJWTs".getBytes()).compact();
+		String token = tokenService.createToken(((User) authentication.getPrincipal()).getUsername());
 		response.addHeader("Authorization", "Bearer " + token);
 	}
+
+	/**
+	 * Responds with 503 and a <code>Retry-After</code> header when a login was
+	 * turned away for lack of password verification capacity; other failures
+	 * are handled as before.
+	 *
+	 * @param request  the HttpServletRequest object
+	 * @param response the HttpServletResponse object
+	 * @param failed   the reason authentication failed
+	 * 
+	 */
+	@Override
+	protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response,
+	        AuthenticationException failed) throws IOException, ServletException {
+		if (failed instanceof LoginCapacityExceededException) {
+			SecurityContextHolder.clearContext();
+			response.setHeader(HttpHeaders.RETRY_AFTER,
+			        String.valueOf(((LoginCapacityExceededException) failed).getRetryAfterSeconds()));
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, failed.getMessage());
+			return;
+		}
+		super.unsuccessfulAuthentication(request, response, failed);
+	}
 }
@@ -1,6 +1,5 @@
 package org.cvs.application.security;
 
-import io.jsonwebtoken.Jwts;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,15 +21,20 @@ import java.util.ArrayList;
  *
  */
 public class AuthorizationFilter extends BasicAuthenticationFilter {
+	private JwtTokenService tokenService;
+
 	/**
 	 * Constructor for this class.
 	 *
 	 * @param authenticationManager the {@link AuthenticationManager} for this
 	 *                              application
+	 * @param tokenService          the {@link JwtTokenService} that verifies
+	 *                              tokens
 	 * 
 	 */
-	public AuthorizationFilter(AuthenticationManager authenticationManager) {
+	public AuthorizationFilter(AuthenticationManager authenticationManager, JwtTokenService tokenService) {
 		super(authenticationManager);
+		this.tokenService = tokenService;
 	}
 
 	/**
@@ -65,8 +69,7 @@ public class AuthorizationFilter extends BasicAuthenticationFilter {
 	private UsernamePasswordAuthenticationToken getAuthentication(HttpServletRequest request) {
 		String token = request.getHeader("Authorization");
 		if (token != null) {
-			String user = Jwts.parser().setSigningKey("SecretKeyToGenJWTs".getBytes())
-			        .parseClaimsJws(token.replace("Bearer", "")).getBody().getSubject();
+			String user = tokenService.getSubject(token.substring("Bearer".length()).trim());
 
 			if (user != null) {
 				return new UsernamePasswordAuthenticationToken(user, null, new ArrayList<>());
@@ -0,0 +1,151 @@
+package org.cvs.application.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+
+import org.cvs.utils.LruCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Clock;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.DefaultClock;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ *
+ * Issues and verifies the JWTs used by {@link AuthenticationFilter} and
+ * {@link AuthorizationFilter}.
+ * <p>
+ * The signing key and parser are built once. Verified tokens are cached by
+ * the SHA-256 digest of the whole token, so a token whose header, claims or
+ * signature differ in any way is verified afresh. A cached token is only
+ * trusted until its own expiry time.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Component
+public class JwtTokenService implements MeterBinder {
+
+	private static final String CACHE_NAME = "jwt";
+
+	private static final long TOKEN_LIFETIME_MS = 864_000_000;
+
+	private static final byte[] SIGNING_KEY = "SecretKeyToGenJWTs".getBytes();
+
+	private final JwtParser parser;
+
+	private final Clock clock;
+
+	private final LruCache<String, VerifiedToken> verifiedTokens;
+
+	/**
+	 * Constructor for this class.
+	 *
+	 * @param maxEntries the maximum number of verified tokens to hold
+	 *
+	 */
+	@Autowired
+	public JwtTokenService(@Value("${cvs.security.token-cache.max-entries:10000}") int maxEntries) {
+		this(maxEntries, Jwts.parser().setSigningKey(SIGNING_KEY), DefaultClock.INSTANCE);
+	}
+
+	/**
+	 * Constructor for this class with the parser and the clock given, so that
+	 * the cache can be observed and expiry reached without waiting.
+	 *
+	 * @param maxEntries the maximum number of verified tokens to hold
+	 * @param parser     the parser holding the signing key
+	 * @param clock      the clock expiry times are compared with
+	 *
+	 */
+	JwtTokenService(int maxEntries, JwtParser parser, Clock clock) {
+		this.parser = parser;
+		this.clock = clock;
+		this.verifiedTokens = new LruCache<>(maxEntries);
+	}
+
+	/**
+	 * Creates a signed token for a user.
+	 *
+	 * @param username the name of the authenticated user
+	 *
+	 * @return the compact token
+	 */
+	public String createToken(String username) {
+		return Jwts.builder().setSubject(username)
+		        .setExpiration(new Date(clock.now().getTime() + TOKEN_LIFETIME_MS))
+		        .signWith(SignatureAlgorithm.HS512, SIGNING_KEY).compact();
+	}
+
+	/**
+	 * Verifies a token and returns its subject. Tokens seen before are looked up
+	 * instead of being parsed and verified again.
+	 *
+	 * @param token the compact token
+	 *
+	 * @return the subject of the token, or <code>null</code> if it has none
+	 */
+	public String getSubject(String token) {
+		String key = digest(token);
+
+		VerifiedToken verified = verifiedTokens.get(key);
+		if (verified != null) {
+			if (clock.now().getTime() < verified.expiresAt) {
+				return verified.subject;
+			}
+			// Expired; the parser reports it as before
+			verifiedTokens.remove(key);
+		}
+
+		Claims claims = parser.parseClaimsJws(token).getBody();
+		if (claims.getSubject() != null && claims.getExpiration() != null) {
+			verifiedTokens.put(key, new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime()));
+		}
+		return claims.getSubject();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("cache.gets", verifiedTokens, LruCache::getHitCount).tag("cache", CACHE_NAME)
+		        .tag("result", "hit").description("Verified token cache hits").register(registry);
+		FunctionCounter.builder("cache.gets", verifiedTokens, LruCache::getMissCount).tag("cache", CACHE_NAME)
+		        .tag("result", "miss").description("Verified token cache misses").register(registry);
+		FunctionCounter.builder("cache.evictions", verifiedTokens, LruCache::getEvictionCount)
+		        .tag("cache", CACHE_NAME).description("Verified tokens evicted to stay within the size limit")
+		        .register(registry);
+		Gauge.builder("cache.size", verifiedTokens, LruCache::size).tag("cache", CACHE_NAME)
+		        .description("Number of cached verified tokens").register(registry);
+	}
+
+	private static String digest(String token) {
+		try {
+			MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+			return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private static final class VerifiedToken {
+		private final String subject;
+		private final long expiresAt;
+
+		private VerifiedToken(String subject, long expiresAt) {
+			this.subject = subject;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package org.cvs.application.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.cvs.application.exceptions.LoginCapacityExceededException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ *
+ * Runs password verification for logins on a dedicated pool sized to the
+ * number of processors, so that hashing during a login storm cannot take CPU
+ * time from the rest of the API.
+ * <p>
+ * The request thread waits for its verification but does no hashing itself.
+ * Once the queue is full further logins are rejected at once with a
+ * {@link LoginCapacityExceededException} rather than queued.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Component
+public class PasswordVerificationExecutor implements MeterBinder, DisposableBean {
+
+	private final ThreadPoolExecutor executor;
+
+	private final long timeoutMs;
+
+	private final long retryAfterSeconds;
+
+	private final AtomicLong rejected = new AtomicLong();
+	private final AtomicLong verifications = new AtomicLong();
+	private final AtomicLong verificationNanos = new AtomicLong();
+
+	/**
+	 * Constructor for this class.
+	 *
+	 * @param threads           the number of verification threads, or 0 for one
+	 *                          per processor
+	 * @param queueCapacity     the number of verifications that may wait for a
+	 *                          thread
+	 * @param timeoutMs         how long a login waits for its verification
+	 * @param retryAfterSeconds the delay suggested to rejected clients
+	 *
+	 */
+	public PasswordVerificationExecutor(@Value("${cvs.security.login.threads:0}") int threads,
+	        @Value("${cvs.security.login.queue-capacity:64}") int queueCapacity,
+	        @Value("${cvs.security.login.timeout-ms:5000}") long timeoutMs,
+	        @Value("${cvs.security.login.retry-after-seconds:1}") long retryAfterSeconds) {
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		AtomicInteger threadCount = new AtomicInteger();
+
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+		        new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+			        Thread thread = new Thread(runnable, "password-verify-" + threadCount.incrementAndGet());
+			        thread.setDaemon(true);
+			        return thread;
+		        }, new ThreadPoolExecutor.AbortPolicy());
+		this.timeoutMs = timeoutMs;
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	/**
+	 * Wraps a password encoder so that its verifications run on this executor.
+	 * Encoding is left on the calling thread.
+	 *
+	 * @param delegate the encoder doing the hashing
+	 *
+	 * @return the offloading encoder
+	 */
+	public PasswordEncoder offload(PasswordEncoder delegate) {
+		return new PasswordEncoder() {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				return delegate.encode(rawPassword);
+			}
+
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				return verify(delegate, rawPassword, encodedPassword);
+			}
+
+			@Override
+			public boolean upgradeEncoding(String encodedPassword) {
+				return delegate.upgradeEncoding(encodedPassword);
+			}
+		};
+	}
+
+	/**
+	 * Verifies a password on this executor and waits for the result.
+	 *
+	 * @param encoder         the encoder doing the hashing
+	 * @param rawPassword     the password supplied by the user
+	 * @param encodedPassword the stored password hash
+	 *
+	 * @return <code>true</code> if the password matches
+	 */
+	public boolean verify(PasswordEncoder encoder, CharSequence rawPassword, String encodedPassword) {
+		Future<Boolean> result;
+		try {
+			result = executor.submit(() -> {
+				long start = System.nanoTime();
+				try {
+					return encoder.matches(rawPassword, encodedPassword);
+				} finally {
+					verificationNanos.addAndGet(System.nanoTime() - start);
+					verifications.incrementAndGet();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			rejected.incrementAndGet();
+			throw new LoginCapacityExceededException("verification queue is full", retryAfterSeconds);
+		}
+
+		try {
+			return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			result.cancel(true);
+			rejected.incrementAndGet();
+			throw new LoginCapacityExceededException("verification timed out", retryAfterSeconds);
+		} catch (InterruptedException e) {
+			result.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new LoginCapacityExceededException("verification interrupted", retryAfterSeconds);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Password verification failed", e.getCause());
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("login.executor.queued", executor, e -> e.getQueue().size())
+		        .description("Password verifications waiting for a thread").register(registry);
+		Gauge.builder("login.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+		        .description("Password verifications in progress").register(registry);
+		FunctionCounter.builder("login.executor.rejected", rejected, AtomicLong::get)
+		        .description("Logins rejected for lack of verification capacity").register(registry);
+		FunctionTimer
+		        .builder("login.password.verification", this, e -> e.verifications.get(),
+		                e -> e.verificationNanos.get(), TimeUnit.NANOSECONDS)
+		        .description("Time spent hashing passwords for logins").register(registry);
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+}
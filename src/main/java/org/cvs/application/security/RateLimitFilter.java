@@ -0,0 +1,74 @@
+package org.cvs.application.security;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.cvs.utils.TokenBucket;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ *
+ * Limits the request rate of each principal authenticated by the
+ * {@link AuthorizationFilter}, using the buckets of a {@link RateLimiter}.
+ * <p>
+ * Limited responses carry the <code>RateLimit-Limit</code>,
+ * <code>RateLimit-Remaining</code> and <code>RateLimit-Reset</code> headers.
+ * Requests over the limit are answered with 429 and a
+ * <code>Retry-After</code> header. Unauthenticated requests, such as login and
+ * registration, pass through untouched.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+	private RateLimiter rateLimiter;
+
+	/**
+	 * Constructor for this class.
+	 *
+	 * @param rateLimiter the {@link RateLimiter} holding the buckets
+	 *
+	 */
+	public RateLimitFilter(RateLimiter rateLimiter) {
+		this.rateLimiter = rateLimiter;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+	        throws ServletException, IOException {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (!rateLimiter.isEnabled() || authentication == null || authentication.getName() == null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		TokenBucket.Probe probe = rateLimiter.tryAcquire(authentication.getName(), rateLimiter.routeGroup(path));
+
+		response.setHeader("RateLimit-Limit", String.valueOf(probe.getLimit()));
+		response.setHeader("RateLimit-Remaining", String.valueOf(probe.getRemaining()));
+		response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(probe.getResetNanos())));
+
+		if (!probe.isConsumed()) {
+			response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(toSeconds(probe.getRetryAfterNanos())));
+			response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Rate limit exceeded");
+			return;
+		}
+
+		filterChain.doFilter(request, response);
+	}
+
+	private static long toSeconds(long nanos) {
+		return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+	}
+}
@@ -0,0 +1,192 @@
+package org.cvs.application.security;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.cvs.utils.TokenBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ *
+ * Keeps a {@link TokenBucket} per authenticated principal and route group.
+ * <p>
+ * A route group is the first segment of the request path, such as
+ * <code>candidates</code>, if it is listed in
+ * <code>cvs.rate-limit.groups</code>; every other path shares the
+ * <code>default</code> group. Each group may set its own capacity and refill
+ * rate and falls back to the default limits otherwise.
+ * <p>
+ * Buckets live in a concurrent map, so principals only contend when they hash
+ * to the same bin. Once the map grows past <code>cvs.rate-limit.max-buckets</code>
+ * one request sweeps it while the others carry on: full buckets are dropped
+ * first, as a principal starts afresh with a full bucket anyway, and then the
+ * buckets used longest ago, until a tenth of the room is free again.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Component
+public class RateLimiter implements MeterBinder {
+
+	static final String DEFAULT_GROUP = "default";
+
+	private final boolean enabled;
+
+	private final Map<String, Limit> limits;
+
+	private final int maxBuckets;
+
+	private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+	private final AtomicBoolean evicting = new AtomicBoolean();
+
+	private final AtomicLong permitted = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * Constructor for this class.
+	 *
+	 * @param enabled                whether requests are limited at all
+	 * @param groups                 the route groups with limits of their own
+	 * @param defaultCapacity        the burst size of the default group
+	 * @param defaultRefillPerSecond the sustained rate of the default group
+	 * @param maxBuckets             the maximum number of buckets held
+	 * @param environment            supplies the limits of each route group
+	 *
+	 */
+	public RateLimiter(@Value("${cvs.rate-limit.enabled:true}") boolean enabled,
+	        @Value("${cvs.rate-limit.groups:}") String[] groups,
+	        @Value("${cvs.rate-limit.default.capacity:100}") long defaultCapacity,
+	        @Value("${cvs.rate-limit.default.refill-per-second:50}") double defaultRefillPerSecond,
+	        @Value("${cvs.rate-limit.max-buckets:100000}") int maxBuckets, Environment environment) {
+		this.enabled = enabled;
+
+		Map<String, Limit> groupLimits = new HashMap<>();
+		groupLimits.put(DEFAULT_GROUP, new Limit(defaultCapacity, defaultRefillPerSecond));
+		Arrays.stream(groups).map(String::trim).filter(g -> !g.isEmpty()).forEach(group -> groupLimits.put(group,
+		        new Limit(environment.getProperty("cvs.rate-limit." + group + ".capacity", Long.class, defaultCapacity),
+		                environment.getProperty("cvs.rate-limit." + group + ".refill-per-second", Double.class,
+		                        defaultRefillPerSecond))));
+		this.limits = Collections.unmodifiableMap(groupLimits);
+
+		if (maxBuckets < 1) {
+			throw new IllegalArgumentException("Maximum number of buckets should be at least 1 :: " + maxBuckets);
+		}
+		this.maxBuckets = maxBuckets;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Returns the route group of a request path.
+	 *
+	 * @param path the request path without the context path
+	 *
+	 * @return the group name, or <code>default</code> if the path has no group of
+	 *         its own
+	 */
+	public String routeGroup(String path) {
+		String trimmed = path.startsWith("/") ? path.substring(1) : path;
+		int end = trimmed.indexOf('/');
+		String segment = end < 0 ? trimmed : trimmed.substring(0, end);
+		return limits.containsKey(segment) ? segment : DEFAULT_GROUP;
+	}
+
+	/**
+	 * Takes a token from the bucket of a principal for a route group.
+	 *
+	 * @param principal the name of the authenticated principal
+	 * @param group     the route group of the request
+	 *
+	 * @return the outcome, used for the response headers
+	 */
+	public TokenBucket.Probe tryAcquire(String principal, String group) {
+		Limit limit = limits.getOrDefault(group, limits.get(DEFAULT_GROUP));
+		String key = group + ":" + principal;
+
+		TokenBucket bucket = buckets.get(key);
+		boolean added = bucket == null;
+		if (added) {
+			bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(limit.capacity, limit.refillPerSecond));
+		}
+
+		TokenBucket.Probe probe = bucket.tryConsume();
+		(probe.isConsumed() ? permitted : rejected).incrementAndGet();
+
+		// Swept once the token is taken, so that the new bucket is not full
+		if (added && buckets.size() > maxBuckets) {
+			evictBuckets();
+		}
+		return probe;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("ratelimit.requests", permitted, AtomicLong::get).tag("result", "permitted")
+		        .description("Requests within their principal's rate limit").register(registry);
+		FunctionCounter.builder("ratelimit.requests", rejected, AtomicLong::get).tag("result", "rejected")
+		        .description("Requests rejected for exceeding their principal's rate limit").register(registry);
+		FunctionCounter.builder("ratelimit.evictions", evictions, AtomicLong::get)
+		        .description("Rate limit buckets dropped to stay within the size limit").register(registry);
+		Gauge.builder("ratelimit.buckets", buckets, Map::size).description("Number of rate limit buckets held")
+		        .register(registry);
+	}
+
+	/**
+	 * Shrinks the map of buckets below its limit. Only one thread sweeps at a
+	 * time; the others do not wait for it.
+	 */
+	private void evictBuckets() {
+		if (!evicting.compareAndSet(false, true)) {
+			return;
+		}
+
+		try {
+			int target = maxBuckets - maxBuckets / 10;
+			int before = buckets.size();
+
+			buckets.values().removeIf(TokenBucket::isFull);
+
+			int excess = buckets.size() - target;
+			if (excess > 0) {
+				List<String> leastRecentlyUsed = buckets.entrySet().stream()
+				        .sorted(Comparator.comparingLong(e -> e.getValue().getLastConsumedNanos())).limit(excess)
+				        .map(Map.Entry::getKey).collect(Collectors.toList());
+				leastRecentlyUsed.forEach(buckets::remove);
+			}
+
+			evictions.addAndGet(Math.max(0, before - buckets.size()));
+		} finally {
+			evicting.set(false);
+		}
+	}
+
+	private static final class Limit {
+		private final long capacity;
+		private final double refillPerSecond;
+
+		private Limit(long capacity, double refillPerSecond) {
+			this.capacity = capacity;
+			this.refillPerSecond = refillPerSecond;
+		}
+	}
+}
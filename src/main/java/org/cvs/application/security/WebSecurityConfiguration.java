@@ -25,27 +25,41 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 public class WebSecurityConfiguration extends WebSecurityConfigurerAdapter {
 	private BCryptPasswordEncoder bCryptPasswordEncoder;
 	private UserDetailsService userDetailsService;
+	private JwtTokenService tokenService;
+	private PasswordVerificationExecutor passwordVerificationExecutor;
+	private RateLimiter rateLimiter;
 
 	private static final String[] AUTH_WHITELIST = { "/v1/samples", "/demo-resources", "/demo-resources/**" };
 
 	/**
 	 * Constructor for this class.
 	 *
-	 * @param userDetailsService    the {@link UserDetailsService} for this
-	 *                              application
-	 * @param bCryptPasswordEncoder the {@link BCryptPasswordEncoder} for this
-	 *                              application
+	 * @param userDetailsService           the {@link UserDetailsService} for this
+	 *                                     application
+	 * @param bCryptPasswordEncoder        the {@link BCryptPasswordEncoder} for
+	 *                                     this application
+	 * @param tokenService                 the {@link JwtTokenService} for this
+	 *                                     application
+	 * @param passwordVerificationExecutor the executor that verifies login
+	 *                                     passwords
+	 * @param rateLimiter                  the {@link RateLimiter} for this
+	 *                                     application
 	 * 
 	 */
 	public WebSecurityConfiguration(UserDetailsService userDetailsService,
-	        BCryptPasswordEncoder bCryptPasswordEncoder) {
+	        BCryptPasswordEncoder bCryptPasswordEncoder, JwtTokenService tokenService,
+	        PasswordVerificationExecutor passwordVerificationExecutor, RateLimiter rateLimiter) {
 		this.bCryptPasswordEncoder = bCryptPasswordEncoder;
 		this.userDetailsService = userDetailsService;
+		this.tokenService = tokenService;
+		this.passwordVerificationExecutor = passwordVerificationExecutor;
+		this.rateLimiter = rateLimiter;
 	}
 
 	/**
 	 * Configures HTTP security whilst allowing default URL white list and
 	 * <code>/users</> (registration endpoint) for public user registration.
+	 * Authenticated requests are rate limited per principal.
 	 *
 	 * @param httpSecurity the HttpSecurity object for this application
 	 * 
@@ -53,20 +67,23 @@ public class WebSecurityConfiguration extends WebSecurityConfigurerAdapter {
 	protected void configure(HttpSecurity httpSecurity) throws Exception {
 		httpSecurity.cors().and().csrf().disable().authorizeRequests().antMatchers(AUTH_WHITELIST).permitAll()
 		        .antMatchers(HttpMethod.POST, "/users").permitAll().anyRequest().authenticated().and()
-		        .addFilter(new AuthenticationFilter(authenticationManager()))
-		        .addFilter(new AuthorizationFilter(authenticationManager())).sessionManagement()
+		        .addFilter(new AuthenticationFilter(authenticationManager(), tokenService))
+		        .addFilter(new AuthorizationFilter(authenticationManager(), tokenService))
+		        .addFilterAfter(new RateLimitFilter(rateLimiter), AuthorizationFilter.class).sessionManagement()
 		        .sessionCreationPolicy(SessionCreationPolicy.STATELESS);
 	}
 
 	/**
-	 * Configures context for authentication manager
+	 * Configures context for authentication manager. Password checks run on the
+	 * {@link PasswordVerificationExecutor} rather than the request thread.
 	 *
 	 * @param authenticationManagerBuilder the authentication manager builder for
 	 *                                     this application
 	 * 
 	 */
 	public void configure(AuthenticationManagerBuilder authenticationManagerBuilder) throws Exception {
-		authenticationManagerBuilder.userDetailsService(userDetailsService).passwordEncoder(bCryptPasswordEncoder);
+		authenticationManagerBuilder.userDetailsService(userDetailsService)
+		        .passwordEncoder(passwordVerificationExecutor.offload(bCryptPasswordEncoder));
 	}
 
 	@Bean
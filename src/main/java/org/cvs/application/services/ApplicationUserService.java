@@ -1,10 +1,14 @@
 package org.cvs.application.services;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.ApplicationUserSummary;
+import org.cvs.data.dto.BatchResult;
 import org.cvs.data.entities.ApplicationUser;
+import org.cvs.utils.FetchPlan;
 import org.springframework.stereotype.Service;
 
 /**
@@ -91,4 +95,62 @@ public interface ApplicationUserService {
 	 * @return list of active application users from the database
 	 */
 	public List<ApplicationUser> getUsers(Long portfolioId);
+
+	/**
+	 * Fetches a page of active {@link ApplicationUser} instances whose IDs follow a given
+	 * cursor, ordered by ID.
+	 *
+	 * @param afterId the ID of the last application user on the previous page
+	 * @param limit   the maximum number of application user instances to return
+	 * 
+	 * @return list of active application user instances
+	 */
+	public List<ApplicationUser> getUsersAfter(Long afterId, int limit);
+
+	/**
+	 * Fetches an active {@link ApplicationUser} instance together with the
+	 * associations named by a fetch plan.
+	 *
+	 * @param userId ID to be used as the search key
+	 * @param plan   the associations to be loaded
+	 * 
+	 * @return an active user instance if found
+	 */
+	public ApplicationUser getActiveUser(Long userId, FetchPlan plan)
+	        throws EntryNotFoundException, EntryNotActiveException;
+
+	/**
+	 * Fetches a page of active {@link ApplicationUser} instances whose IDs follow a
+	 * given cursor, together with the associations named by a fetch plan.
+	 *
+	 * @param afterId the ID of the last user on the previous page
+	 * @param limit   the maximum number of user instances to return
+	 * @param plan    the associations to be loaded
+	 * 
+	 * @return list of active user instances
+	 */
+	public List<ApplicationUser> getUsersAfter(Long afterId, int limit, FetchPlan plan);
+
+	/**
+	 * Fetches a page of active user read models whose IDs follow a given
+	 * cursor, ordered by ID.
+	 *
+	 * @param afterId the ID of the last user on the previous page
+	 * @param limit   the maximum number of read models to return
+	 * 
+	 * @return list of active user read models
+	 */
+	public List<ApplicationUserSummary> getUserSummariesAfter(Long afterId, int limit);
+
+	/**
+	 * Fetches the active {@link ApplicationUser} instances with the given IDs in a single
+	 * query, together with the associations named by a fetch plan.
+	 *
+	 * @param userIds the distinct IDs to be used as search keys
+	 * @param plan    the associations to be loaded
+	 * 
+	 * @return the users found in the order requested, and the IDs that were not
+	 *         found or are not active
+	 */
+	public BatchResult<ApplicationUser> getActiveUsers(Collection<Long> userIds, FetchPlan plan);
 }
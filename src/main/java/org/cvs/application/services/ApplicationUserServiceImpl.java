@@ -1,12 +1,14 @@
 package org.cvs.application.services;
 
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Validator;
@@ -14,34 +16,53 @@ import javax.validation.Validator;
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
 import org.cvs.application.exceptions.InconsistentDataException;
+import org.cvs.data.dto.ApplicationUserSummary;
+import org.cvs.data.dto.BatchResult;
 import org.cvs.data.entities.ApplicationUser;
-import org.cvs.data.entities.Portfolio;
 import org.cvs.data.repositories.ApplicationUserRepository;
+import org.cvs.data.routing.PrimaryScope;
+import org.cvs.utils.FetchPlan;
 import org.cvs.utils.Lookup;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 public class ApplicationUserServiceImpl implements ApplicationUserService, UserDetailsService {
 
+	private static final String USERNAME_INDEX = "application_user_username_active_idx";
+
 	@Autowired
 	private ApplicationUserRepository userRepository;
 
 	@Autowired
 	private Validator validator;
 
+	@Autowired
+	private CvSnapshotCache cvSnapshotCache;
+
 	@Autowired
 	private PasswordEncoder passwordEncoder;
 
+	@Autowired
+	private UserCredentialsCache userCredentialsCache;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	@Override
+	@Transactional
 	public ApplicationUser addUser(ApplicationUser user) {
 		ApplicationUser greenUser = new ApplicationUser();
 
@@ -61,46 +82,42 @@ public class ApplicationUserServiceImpl implements ApplicationUserService, UserD
 			throw new ConstraintViolationException("Validation error: " + sb.toString(), violations);
 		}
 
-		ApplicationUser userByName = userRepository.findAllByUsername(greenUser.getUsername()).stream()
-		        .filter(p -> p.getVoided() != Lookup.VOIDED).findFirst().orElse(null);
-
-		if (userByName != null) {
-			throw new InconsistentDataException("User name already in use - " + greenUser.getUsername());
-		}
-
 		greenUser.setPassword(passwordEncoder.encode(greenUser.getPassword()));
 		greenUser.setVoided(Lookup.NOT_VOIDED);
 		greenUser.setRetired(Lookup.NOT_RETIRED);
 
+		// The unique index on usernames rejects duplicates; flushing surfaces it here
 		ApplicationUser newUser = userRepository.save(greenUser);
+		try {
+			entityManager.flush();
+		} catch (PersistenceException ex) {
+			if (violatesUsernameIndex(ex)) {
+				throw new InconsistentDataException("User name already in use - " + greenUser.getUsername());
+			}
+			throw ex;
+		}
 		return newUser;
 	}
 
 	@Override
 	public List<ApplicationUser> getUsers() {
-		List<ApplicationUser> users = userRepository.findAll().stream()
-		        .filter(p -> p.getVoided() != Lookup.VOIDED && p.getRetired() != Lookup.RETIRED)
-		        .collect(Collectors.toList());
-		users.sort(Comparator.comparing(ApplicationUser::getId));
-		return users;
+		return userRepository.findAllActive();
+	}
+
+	@Override
+	public List<ApplicationUser> getUsersAfter(Long afterId, int limit) {
+		return userRepository.findActiveAfter(afterId, PageRequest.of(0, limit));
 	}
 
 	@Override
 	public List<ApplicationUser> getUsers(Long portfolioId) {
-		List<ApplicationUser> users = userRepository.findAll().stream()
-		        .filter(p -> p.getVoided() != Lookup.VOIDED && p.getRetired() != Lookup.RETIRED
-		                && (p.getPortfolio().stream().filter(q -> q.getId().intValue() == portfolioId).findFirst()
-		                        .orElse(new Portfolio()).getId().longValue() == portfolioId))
-		        .collect(Collectors.toList());
-		users.sort(Comparator.comparing(ApplicationUser::getId));
-		return users;
+		return userRepository.findAllActiveByPortfolioId(portfolioId);
 	}
 
 	@Override
 	public ApplicationUser getByUsername(String username) throws EntryNotFoundException {
 
-		Optional<ApplicationUser> user = userRepository
-		        .findByUsernameAndActiveFlags(username, Lookup.NOT_VOIDED, Lookup.NOT_RETIRED).stream().findFirst();
+		Optional<ApplicationUser> user = userRepository.findActiveByUsername(username);
 		return user.orElseThrow(() -> new EntryNotFoundException("Invalid operation for [USER]." + username));
 	}
 
@@ -132,12 +149,15 @@ public class ApplicationUserServiceImpl implements ApplicationUserService, UserD
 	}
 
 	@Override
+	@Transactional
 	public void deleteUser(Long userId) throws EntryNotFoundException {
 		ApplicationUser user = userRepository.findById(userId).orElse(null);
 		if (user != null && user.getVoided() != Lookup.VOIDED) {
 			user.setVoided(Lookup.VOIDED);
 			user.setVoidedReason("System operation - voided");
 			userRepository.save(user);
+			userCredentialsCache.evict(user.getUsername());
+			cvSnapshotCache.evictAll();
 			log.info("Deleted user with ID: " + userId);
 		} else {
 			throw new EntryNotFoundException("Invalid operation for [USER]." + userId);
@@ -145,12 +165,15 @@ public class ApplicationUserServiceImpl implements ApplicationUserService, UserD
 	}
 
 	@Override
+	@Transactional
 	public void retireUser(Long userId) throws EntryNotFoundException {
 		ApplicationUser user = userRepository.findById(userId).orElse(null);
 		if (user != null && user.getRetired() != Lookup.RETIRED) {
 			user.setRetired(Lookup.RETIRED);
 			user.setRetiredReason("System operation - retired");
 			userRepository.save(user);
+			userCredentialsCache.evict(user.getUsername());
+			cvSnapshotCache.evictAll();
 			log.info("Retired user with ID: " + userId);
 		} else {
 			throw new EntryNotFoundException("Invalid operation for [USER]." + userId);
@@ -159,14 +182,58 @@ public class ApplicationUserServiceImpl implements ApplicationUserService, UserD
 
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-		ApplicationUser user = userRepository.findAllByUsername(username).stream()
-		        .filter(u -> u.getVoided() != Lookup.VOIDED && u.getRetired() != Lookup.RETIRED).findFirst()
-		        .orElse(null);
+		String password = userCredentialsCache.getPassword(username);
+		if (password != null) {
+			return new User(username, password, Collections.emptyList());
+		}
+
+		long generation = userCredentialsCache.generation();
+
+		// Read from the primary, as a lagging replica could cache an old password
+		ApplicationUser user = PrimaryScope.run(() -> userRepository.findActiveByUsername(username)).orElse(null);
 
 		if (user == null) {
 			throw new UsernameNotFoundException(username);
 		}
 
+		// A user read inside a writing transaction may be rolled back
+		if (!TransactionSynchronizationManager.isActualTransactionActive()
+		        || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			userCredentialsCache.put(user.getUsername(), user.getPassword(), generation);
+		}
+
 		return new User(user.getUsername(), user.getPassword(), Collections.emptyList());
 	}
+
+	@Override
+	public ApplicationUser getActiveUser(Long userId, FetchPlan plan)
+	        throws EntryNotActiveException, EntryNotFoundException {
+		ApplicationUser user = getActiveUser(userId);
+		FetchPlans.users(Collections.singletonList(user), plan);
+		return user;
+	}
+
+	@Override
+	public List<ApplicationUser> getUsersAfter(Long afterId, int limit, FetchPlan plan) {
+		List<ApplicationUser> users = getUsersAfter(afterId, limit);
+		FetchPlans.users(users, plan);
+		return users;
+	}
+
+	@Override
+	public List<ApplicationUserSummary> getUserSummariesAfter(Long afterId, int limit) {
+		return userRepository.findActiveSummariesAfter(afterId, PageRequest.of(0, limit));
+	}
+
+	@Override
+	public BatchResult<ApplicationUser> getActiveUsers(Collection<Long> userIds, FetchPlan plan) {
+		BatchResult<ApplicationUser> users = BatchLookups.lookup(userIds, userRepository::findNotVoidedIn);
+		FetchPlans.users(users.getFound(), plan);
+		return users;
+	}
+
+	private static boolean violatesUsernameIndex(PersistenceException ex) {
+		return ex.getCause() instanceof org.hibernate.exception.ConstraintViolationException && USERNAME_INDEX
+		        .equals(((org.hibernate.exception.ConstraintViolationException) ex.getCause()).getConstraintName());
+	}
 }
@@ -0,0 +1,69 @@
+package org.cvs.application.services;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.cvs.data.dto.BatchResult;
+import org.cvs.data.entities.AbstractRetirableEntity;
+import org.cvs.utils.Lookup;
+
+/**
+ *
+ * Sorts entities loaded for a batch of IDs into a {@link BatchResult}, using
+ * the same rules as the single <code>getActive*</code> lookups: missing and
+ * voided entries are not found, retired entries are inactive.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+final class BatchLookups {
+
+	private BatchLookups() {
+	}
+
+	/**
+	 * Loads the entities with the given IDs and sorts them by state.
+	 *
+	 * @param ids    the distinct IDs requested
+	 * @param loader loads the entities with the given IDs in one query
+	 *
+	 * @return the found, not found and inactive entries in the order requested
+	 */
+	static <T extends AbstractRetirableEntity> BatchResult<T> lookup(Collection<Long> ids,
+	        Function<Collection<Long>, List<T>> loader) {
+		return classify(ids, ids.isEmpty() ? Collections.<T>emptyList() : loader.apply(ids));
+	}
+
+	/**
+	 * Sorts entities already loaded for the given IDs by state.
+	 *
+	 * @param ids      the distinct IDs requested
+	 * @param entities the entities loaded for the IDs
+	 *
+	 * @return the found, not found and inactive entries in the order requested
+	 */
+	static <T extends AbstractRetirableEntity> BatchResult<T> classify(Collection<Long> ids, List<T> entities) {
+		Map<Long, T> byId = new HashMap<>();
+		for (T entity : entities) {
+			byId.put(entity.getId(), entity);
+		}
+
+		BatchResult<T> result = new BatchResult<>();
+		for (Long id : ids) {
+			T entity = byId.get(id);
+			if (entity == null || entity.getVoided() == Lookup.VOIDED) {
+				result.addNotFound(id);
+			} else if (entity.getRetired() == Lookup.RETIRED) {
+				result.addInactive(id);
+			} else {
+				result.addFound(entity);
+			}
+		}
+		return result;
+	}
+}
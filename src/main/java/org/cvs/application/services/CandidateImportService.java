@@ -0,0 +1,46 @@
+package org.cvs.application.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.cvs.data.dto.CandidateCv;
+import org.cvs.data.dto.ImportReport;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ *
+ * Provides bulk loading of candidates together with their CV entries.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Service
+public interface CandidateImportService {
+
+	/**
+	 * Imports candidates from newline-delimited JSON, one {@link CandidateCv}
+	 * document per line. Rows are validated and persisted in chunks; a rejected
+	 * row does not stop the rest of the import.
+	 *
+	 * @param ndjson the UTF-8 encoded input stream
+	 *
+	 * @return a report of imported and rejected rows
+	 */
+	public ImportReport importCandidates(InputStream ndjson) throws IOException;
+
+	/**
+	 * Imports candidates from a stream of binary documents, such as CBOR or
+	 * Smile, one {@link CandidateCv} per document. Rows are handled as for
+	 * newline-delimited JSON, with document numbers reported in place of line
+	 * numbers.
+	 *
+	 * @param documents the input stream of concatenated documents
+	 * @param format    the mapper for the binary format of the documents
+	 *
+	 * @return a report of imported and rejected rows
+	 */
+	public ImportReport importCandidates(InputStream documents, ObjectMapper format) throws IOException;
+}
@@ -0,0 +1,424 @@
+package org.cvs.application.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import javax.validation.ConstraintViolationException;
+
+import org.cvs.application.exceptions.InconsistentDataException;
+import org.cvs.data.dto.CandidateCv;
+import org.cvs.data.dto.ImportReport;
+import org.cvs.data.entities.Candidate;
+import org.cvs.data.entities.Portfolio;
+import org.cvs.data.entities.Qualification;
+import org.cvs.data.entities.QualificationType;
+import org.cvs.data.entities.Reference;
+import org.cvs.data.entities.Skill;
+import org.cvs.data.entities.WorkExperience;
+import org.cvs.data.repositories.PortfolioRepository;
+import org.cvs.utils.Lookup;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class CandidateImportServiceImpl implements CandidateImportService {
+
+	@Autowired
+	private PortfolioRepository portfolioRepository;
+
+	@Autowired
+	private QualificationTypeService qualificationTypeService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private GreenEntries greenEntries;
+
+	@Autowired
+	@Qualifier("importExecutor")
+	private Executor importExecutor;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Value("${cvs.import.chunk-size:1000}")
+	private int chunkSize;
+
+	@Value("${cvs.import.batch-size:50}")
+	private int batchSize;
+
+	@Value("${cvs.import.max-reported-errors:1000}")
+	private int maxReportedErrors;
+
+	@Override
+	public ImportReport importCandidates(InputStream ndjson) throws IOException {
+		ImportReport report = new ImportReport();
+		ObjectReader reader = objectMapper.readerFor(CandidateCv.class);
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+		long start = System.currentTimeMillis();
+
+		try (BufferedReader lines = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+			List<Row> chunk = new ArrayList<>(chunkSize);
+			long lineNumber = 0;
+			String line;
+
+			while ((line = lines.readLine()) != null) {
+				lineNumber++;
+				if (line.trim().isEmpty()) {
+					continue;
+				}
+
+				chunk.add(new Row(lineNumber, line));
+				if (chunk.size() == chunkSize) {
+					importChunk(chunk, reader, transactionTemplate, report);
+					chunk = new ArrayList<>(chunkSize);
+				}
+			}
+
+			if (!chunk.isEmpty()) {
+				importChunk(chunk, reader, transactionTemplate, report);
+			}
+		}
+
+		log.info("Imported " + report.getImported() + " of " + report.getReceived() + " candidates in "
+		        + (System.currentTimeMillis() - start) + " ms");
+
+		return report;
+	}
+
+	@Override
+	public ImportReport importCandidates(InputStream documents, ObjectMapper format) throws IOException {
+		ImportReport report = new ImportReport();
+		ObjectReader reader = format.readerFor(CandidateCv.class);
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+		long start = System.currentTimeMillis();
+
+		// Documents are only split into trees here and bound in parallel, as lines are
+		try (MappingIterator<JsonNode> trees = format.readerFor(JsonNode.class).readValues(documents)) {
+			List<Row> chunk = new ArrayList<>(chunkSize);
+			long documentNumber = 0;
+
+			while (trees.hasNextValue()) {
+				documentNumber++;
+				chunk.add(new Row(documentNumber, trees.nextValue()));
+				if (chunk.size() == chunkSize) {
+					importChunk(chunk, reader, transactionTemplate, report);
+					chunk = new ArrayList<>(chunkSize);
+				}
+			}
+
+			if (!chunk.isEmpty()) {
+				importChunk(chunk, reader, transactionTemplate, report);
+			}
+		}
+
+		log.info("Imported " + report.getImported() + " of " + report.getReceived() + " candidates in "
+		        + (System.currentTimeMillis() - start) + " ms");
+
+		return report;
+	}
+
+	private void importChunk(List<Row> chunk, ObjectReader reader, TransactionTemplate transactionTemplate,
+	        ImportReport report) {
+		report.addReceived(chunk.size());
+
+		// Parsing and bean validation are CPU bound and independent per row
+		CompletableFuture.allOf(chunk.stream()
+		        .map(row -> CompletableFuture.runAsync(() -> prepare(row, reader), importExecutor))
+		        .toArray(CompletableFuture[]::new)).join();
+
+		checkPortfolios(chunk);
+		checkQualificationTypes(chunk);
+
+		List<Row> valid = new ArrayList<>(chunk.size());
+		for (Row row : chunk) {
+			if (row.error == null) {
+				valid.add(row);
+			} else {
+				report.addError(row.line, row.error, maxReportedErrors);
+			}
+		}
+
+		if (valid.isEmpty()) {
+			return;
+		}
+
+		try {
+			transactionTemplate.executeWithoutResult(status -> persist(valid));
+			report.addImported(valid.size());
+		} catch (DataAccessException | TransactionException | PersistenceException e) {
+			log.warn("Chunk ending at line " + chunk.get(chunk.size() - 1).line + " failed, retrying row by row", e);
+
+			// Isolate the offending rows so that the rest of the chunk still goes in
+			for (Row row : valid) {
+				try {
+					transactionTemplate.executeWithoutResult(status -> persist(Collections.singletonList(row)));
+					report.addImported(1);
+				} catch (DataAccessException | TransactionException | PersistenceException ex) {
+					report.addError(row.line, NestedExceptionUtils.getMostSpecificCause(ex).getMessage(),
+					        maxReportedErrors);
+				}
+			}
+		}
+	}
+
+	private void prepare(Row row, ObjectReader reader) {
+		CandidateCv cv;
+		try {
+			cv = row.json != null ? reader.<CandidateCv>readValue(row.json)
+			        : reader.<CandidateCv>readValue(row.document);
+		} catch (JsonProcessingException e) {
+			row.error = "Malformed row :: " + e.getOriginalMessage();
+			return;
+		} catch (IOException e) {
+			row.error = "Malformed row :: " + e.getMessage();
+			return;
+		}
+
+		if (cv.getCandidate() == null) {
+			row.error = "Unable to find CANDIDATE entry";
+			return;
+		}
+
+		// Entries are copied and validated as by the add* service methods; the
+		// first rejection is reported for the row
+		try {
+			Candidate candidate = cv.getCandidate();
+			row.candidate = accept("CANDIDATE", () -> greenEntries.candidate(candidate));
+
+			for (Portfolio portfolio : candidate.getPortfolio() == null ? Collections.<Portfolio>emptySet()
+			        : candidate.getPortfolio()) {
+				if (portfolio.getId() == null) {
+					throw new RejectedEntryException("Unable to find existing PORTFOLIO reference");
+				}
+				row.portfolioIds.add(portfolio.getId());
+			}
+
+			for (Skill skill : nullToEmpty(cv.getSkills())) {
+				row.skills.add(accept("SKILL", () -> greenEntries.skill(skill)));
+			}
+
+			for (Qualification qualification : nullToEmpty(cv.getQualifications())) {
+				Qualification greenQualification = accept("QUALIFICATION",
+				        () -> greenEntries.qualification(qualification));
+
+				if (qualification.getQualificationType() == null
+				        || qualification.getQualificationType().getId() == null) {
+					throw new RejectedEntryException("Unable to find existing QUALIFICATION_TYPE reference");
+				}
+
+				// Only the ID is kept so that a reference can be attached on persist
+				greenQualification.setQualificationType(new QualificationType());
+				greenQualification.getQualificationType().setId(qualification.getQualificationType().getId());
+				row.qualifications.add(greenQualification);
+			}
+
+			for (WorkExperience workExperience : nullToEmpty(cv.getWorkExperiences())) {
+				row.workExperiences.add(accept("WORK_EXPERIENCE", () -> greenEntries.workExperience(workExperience)));
+			}
+
+			for (Reference reference : nullToEmpty(cv.getReferences())) {
+				row.references.add(accept("REFERENCE", () -> greenEntries.reference(reference)));
+			}
+		} catch (RejectedEntryException e) {
+			row.error = e.getMessage();
+		}
+	}
+
+	/**
+	 * Checks all qualification type references of a chunk against the shared
+	 * snapshot at once. It runs on the importing thread, so that types added in
+	 * its own transaction are seen.
+	 */
+	private void checkQualificationTypes(List<Row> chunk) {
+		Set<Long> qualificationTypeIds = chunk.stream().filter(row -> row.error == null)
+		        .flatMap(row -> row.qualifications.stream()).map(p -> p.getQualificationType().getId())
+		        .collect(Collectors.toSet());
+
+		if (qualificationTypeIds.isEmpty()) {
+			return;
+		}
+
+		Set<Long> activeQualificationTypeIds = qualificationTypeService
+		        .getActiveQualificationTypes(qualificationTypeIds).getFound().stream().map(QualificationType::getId)
+		        .collect(Collectors.toSet());
+
+		for (Row row : chunk) {
+			if (row.error != null) {
+				continue;
+			}
+			for (Qualification qualification : row.qualifications) {
+				Long qualificationTypeId = qualification.getQualificationType().getId();
+				if (!activeQualificationTypeIds.contains(qualificationTypeId)) {
+					row.error = "Unable to find active [QUALIFICATION_TYPE] " + qualificationTypeId;
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks all portfolio references of a chunk with a single query.
+	 */
+	private void checkPortfolios(List<Row> chunk) {
+		Set<Long> portfolioIds = chunk.stream().filter(row -> row.error == null)
+		        .flatMap(row -> row.portfolioIds.stream()).collect(Collectors.toSet());
+
+		if (portfolioIds.isEmpty()) {
+			return;
+		}
+
+		Set<Long> activePortfolioIds = new HashSet<>();
+		for (Portfolio portfolio : portfolioRepository.findAllById(portfolioIds)) {
+			if (portfolio.getVoided() != Lookup.VOIDED && portfolio.getRetired() != Lookup.RETIRED) {
+				activePortfolioIds.add(portfolio.getId());
+			}
+		}
+
+		for (Row row : chunk) {
+			if (row.error != null) {
+				continue;
+			}
+			for (Long portfolioId : row.portfolioIds) {
+				if (!activePortfolioIds.contains(portfolioId)) {
+					row.error = "Unable to find active [PORTFOLIO] " + portfolioId;
+					break;
+				}
+			}
+		}
+	}
+
+	private void persist(List<Row> rows) {
+		entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+
+		for (Row row : rows) {
+			// IDs are reset so that a chunk can be retried after a rollback
+			Candidate candidate = row.candidate;
+			candidate.setId(null);
+			candidate.setPortfolio(new HashSet<>());
+			for (Long portfolioId : row.portfolioIds) {
+				candidate.getPortfolio().add(entityManager.getReference(Portfolio.class, portfolioId));
+			}
+			entityManager.persist(candidate);
+
+			for (Skill skill : row.skills) {
+				skill.setId(null);
+				skill.setCandidate(candidate);
+				entityManager.persist(skill);
+			}
+
+			for (Qualification qualification : row.qualifications) {
+				qualification.setId(null);
+				qualification.setCandidate(candidate);
+				qualification.setQualificationType(entityManager.getReference(QualificationType.class,
+				        qualification.getQualificationType().getId()));
+				entityManager.persist(qualification);
+			}
+
+			for (WorkExperience workExperience : row.workExperiences) {
+				workExperience.setId(null);
+				workExperience.setCandidate(candidate);
+				entityManager.persist(workExperience);
+			}
+
+			for (Reference reference : row.references) {
+				reference.setId(null);
+				reference.setCandidate(candidate);
+				entityManager.persist(reference);
+			}
+		}
+
+		// Send the remaining batches and keep the persistence context small
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	private static <T> T accept(String entityName, Supplier<T> green) {
+		try {
+			return green.get();
+		} catch (ConstraintViolationException | InconsistentDataException e) {
+			throw new RejectedEntryException("[" + entityName + "] " + e.getMessage());
+		}
+	}
+
+	private static <T> List<T> nullToEmpty(List<T> entries) {
+		return entries == null ? Collections.emptyList() : entries;
+	}
+
+	/**
+	 * Rejects a row with the message of the first invalid entry.
+	 */
+	@SuppressWarnings("serial")
+	private static final class RejectedEntryException extends RuntimeException {
+		private RejectedEntryException(String message) {
+			super(message, null, false, false);
+		}
+	}
+
+	/**
+	 * A single input line or document and the entities prepared from it.
+	 */
+	private static final class Row {
+		private final long line;
+		private final String json;
+		private final JsonNode document;
+		private String error;
+
+		private Candidate candidate;
+		private final List<Long> portfolioIds = new ArrayList<>();
+		private final List<Skill> skills = new ArrayList<>();
+		private final List<Qualification> qualifications = new ArrayList<>();
+		private final List<WorkExperience> workExperiences = new ArrayList<>();
+		private final List<Reference> references = new ArrayList<>();
+
+		private Row(long line, String json) {
+			this.line = line;
+			this.json = json;
+			this.document = null;
+		}
+
+		private Row(long line, JsonNode document) {
+			this.line = line;
+			this.json = null;
+			this.document = document;
+		}
+	}
+}
@@ -1,10 +1,14 @@
 package org.cvs.application.services;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.BatchResult;
+import org.cvs.data.dto.CandidateSummary;
 import org.cvs.data.entities.Candidate;
+import org.cvs.utils.FetchPlan;
 import org.springframework.stereotype.Service;
 
 /**
@@ -36,6 +40,17 @@ public interface CandidateService {
 	 */
 	public Candidate getActiveCandidate(Long candidateId) throws EntryNotFoundException, EntryNotActiveException;
 
+	/**
+	 * Returns an unloaded reference to a given {@link Candidate} instance if found
+	 * and active, to be set on associations of new CV entries.
+	 *
+	 * @param candidateId an identifier to be used in the search criteria
+	 * 
+	 * @return a candidate reference if found
+	 */
+	public Candidate getActiveCandidateReference(Long candidateId)
+	        throws EntryNotFoundException, EntryNotActiveException;
+
 	/**
 	 * Marks a given {@link Candidate} instance as deleted in the database.
 	 *
@@ -70,4 +85,62 @@ public interface CandidateService {
 	 * @return list of active candidate instances
 	 */
 	public List<Candidate> getCandidates(Long portfolioId);
+
+	/**
+	 * Fetches a page of active {@link Candidate} instances whose IDs follow a given
+	 * cursor, ordered by ID.
+	 *
+	 * @param afterId the ID of the last candidate on the previous page
+	 * @param limit   the maximum number of candidate instances to return
+	 * 
+	 * @return list of active candidate instances
+	 */
+	public List<Candidate> getCandidatesAfter(Long afterId, int limit);
+
+	/**
+	 * Fetches an active {@link Candidate} instance together with the associations
+	 * named by a fetch plan.
+	 *
+	 * @param candidateId ID to be used as the search key
+	 * @param plan        the associations to be loaded
+	 * 
+	 * @return an active candidate instance if found
+	 */
+	public Candidate getActiveCandidate(Long candidateId, FetchPlan plan)
+	        throws EntryNotFoundException, EntryNotActiveException;
+
+	/**
+	 * Fetches a page of active {@link Candidate} instances whose IDs follow a given
+	 * cursor, together with the associations named by a fetch plan.
+	 *
+	 * @param afterId the ID of the last candidate on the previous page
+	 * @param limit   the maximum number of candidate instances to return
+	 * @param plan    the associations to be loaded
+	 * 
+	 * @return list of active candidate instances
+	 */
+	public List<Candidate> getCandidatesAfter(Long afterId, int limit, FetchPlan plan);
+
+	/**
+	 * Fetches a page of active candidate read models whose IDs follow a given
+	 * cursor, ordered by ID.
+	 *
+	 * @param afterId the ID of the last candidate on the previous page
+	 * @param limit   the maximum number of read models to return
+	 * 
+	 * @return list of active candidate read models
+	 */
+	public List<CandidateSummary> getCandidateSummariesAfter(Long afterId, int limit);
+
+	/**
+	 * Fetches the active {@link Candidate} instances with the given IDs in a single
+	 * query, together with the associations named by a fetch plan.
+	 *
+	 * @param candidateIds the distinct IDs to be used as search keys
+	 * @param plan         the associations to be loaded
+	 * 
+	 * @return the candidates found in the order requested, and the IDs that were not
+	 *         found or are not active
+	 */
+	public BatchResult<Candidate> getActiveCandidates(Collection<Long> candidateIds, FetchPlan plan);
 }
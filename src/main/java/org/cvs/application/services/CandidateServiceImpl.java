@@ -1,28 +1,30 @@
 package org.cvs.application.services;
 
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
-import javax.validation.ConstraintViolation;
-import javax.validation.ConstraintViolationException;
-import javax.validation.Validator;
-
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.BatchResult;
+import org.cvs.data.dto.CandidateSummary;
 import org.cvs.data.entities.Candidate;
 import org.cvs.data.entities.Portfolio;
 import org.cvs.data.repositories.CandidateRepository;
 import org.cvs.data.repositories.PortfolioRepository;
+import org.cvs.utils.FetchPlan;
 import org.cvs.utils.Lookup;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 public class CandidateServiceImpl implements CandidateService {
 
 	@Autowired
@@ -32,43 +34,16 @@ public class CandidateServiceImpl implements CandidateService {
 	private CandidateRepository candidateRepository;
 
 	@Autowired
-	private Validator validator;
+	private GreenEntries greenEntries;
+
+	@Autowired
+	private CvSnapshotCache cvSnapshotCache;
 
 	@Override
+	@Transactional
 	public Candidate addCandidate(Candidate candidate) {
-		Candidate greenCandidate = new Candidate();
-
-		// Extract all fields to safely add to DB
-		greenCandidate.setAddressLine1(candidate.getAddressLine1());
-		greenCandidate.setAddressLine2(candidate.getAddressLine2());
-		greenCandidate.setAddressLine3(candidate.getAddressLine3());
-		greenCandidate.setCountry(candidate.getCountry());
-		greenCandidate.setPostcode(candidate.getPostcode());
-
-		greenCandidate.setGender(candidate.getGender());
-		greenCandidate.setDateOfBirth(candidate.getDateOfBirth());
-		greenCandidate.setEmail(candidate.getEmail());
-		greenCandidate.setPreferredContactNumber(candidate.getPreferredContactNumber());
-		greenCandidate.setAlternativeContactNumber(candidate.getAlternativeContactNumber());
-
-		greenCandidate.setFirstName(candidate.getFirstName());
-		greenCandidate.setMiddleName(candidate.getMiddleName());
-		greenCandidate.setLastName(candidate.getLastName());
-		greenCandidate.setTitle(candidate.getTitle());
-
-		greenCandidate.setVoided(Lookup.NOT_VOIDED);
-		greenCandidate.setRetired(Lookup.NOT_RETIRED);
-
-		// Validate using Bean constraints
-		Set<ConstraintViolation<Candidate>> violations = validator.validate(greenCandidate);
-		if (!violations.isEmpty()) {
-			StringBuilder sb = new StringBuilder();
-			for (ConstraintViolation<Candidate> constraintViolation : violations) {
-				sb.append(" -> " + constraintViolation.getMessage());
-			}
-
-			throw new ConstraintViolationException("Validation error: " + sb.toString(), violations);
-		}
+		// Extract and validate the fields a client may set
+		Candidate greenCandidate = greenEntries.candidate(candidate);
 
 		List<Portfolio> portfolios = candidate.getPortfolio().stream().collect(Collectors.toList());
 
@@ -97,23 +72,17 @@ public class CandidateServiceImpl implements CandidateService {
 	@Override
 	public List<Candidate> getCandidates() {
 
-		List<Candidate> candidates = candidateRepository.findAll().stream()
-		        .filter(p -> p.getVoided() != Lookup.VOIDED && p.getRetired() != Lookup.RETIRED)
-		        .collect(Collectors.toList());
-		candidates.sort(Comparator.comparing(Candidate::getId));
-		return candidates;
+		return candidateRepository.findAllActive();
 	}
 
 	@Override
-	public List<Candidate> getCandidates(Long portfolioId) {
+	public List<Candidate> getCandidatesAfter(Long afterId, int limit) {
+		return candidateRepository.findActiveAfter(afterId, PageRequest.of(0, limit));
+	}
 
-		List<Candidate> candidates = candidateRepository.findAll().stream()
-		        .filter(p -> p.getVoided() != Lookup.VOIDED && p.getRetired() != Lookup.RETIRED
-		                && (p.getPortfolio().stream().filter(q -> q.getId().longValue() == portfolioId).findFirst()
-		                        .orElse(new Portfolio()).getId().longValue() == portfolioId))
-		        .collect(Collectors.toList());
-		candidates.sort(Comparator.comparing(Candidate::getId));
-		return candidates;
+	@Override
+	public List<Candidate> getCandidates(Long portfolioId) {
+		return candidateRepository.findAllActiveByPortfolioId(portfolioId);
 	}
 
 	@Override
@@ -131,12 +100,26 @@ public class CandidateServiceImpl implements CandidateService {
 	}
 
 	@Override
+	public Candidate getActiveCandidateReference(Long candidateId)
+	        throws EntryNotActiveException, EntryNotFoundException {
+		if (candidateRepository.existsActiveById(candidateId)) {
+			return candidateRepository.getOne(candidateId);
+		}
+
+		// Load the candidate only to report why it cannot be used
+		getActiveCandidate(candidateId);
+		return candidateRepository.getOne(candidateId);
+	}
+
+	@Override
+	@Transactional
 	public void deleteCandidate(Long candidateId) throws EntryNotFoundException {
 		Candidate candidate = candidateRepository.findById(candidateId).orElse(null);
 		if (candidate != null && candidate.getVoided() != Lookup.VOIDED) {
 			candidate.setVoided(Lookup.VOIDED);
 			candidate.setVoidedReason("System operation - voided");
 			candidateRepository.save(candidate);
+			cvSnapshotCache.evict(candidateId);
 			log.info("Deleted candidate with ID: " + candidateId);
 		} else {
 			throw new EntryNotFoundException("Invalid operation for [CANDIDATE]." + candidateId);
@@ -144,15 +127,44 @@ public class CandidateServiceImpl implements CandidateService {
 	}
 
 	@Override
+	@Transactional
 	public void retireCandidate(Long candidateId) throws EntryNotFoundException {
 		Candidate candidate = candidateRepository.findById(candidateId).orElse(null);
 		if (candidate != null && candidate.getRetired() != Lookup.RETIRED) {
 			candidate.setRetired(Lookup.RETIRED);
 			candidate.setRetiredReason("System operation - retired");
 			candidateRepository.save(candidate);
+			cvSnapshotCache.evict(candidateId);
 			log.info("Retired candidate with ID: " + candidateId);
 		} else {
 			throw new EntryNotFoundException("Invalid operation for [CANDIDATE]." + candidateId);
 		}
 	}
+
+	@Override
+	public Candidate getActiveCandidate(Long candidateId, FetchPlan plan)
+	        throws EntryNotActiveException, EntryNotFoundException {
+		Candidate candidate = getActiveCandidate(candidateId);
+		FetchPlans.candidates(Collections.singletonList(candidate), plan);
+		return candidate;
+	}
+
+	@Override
+	public List<Candidate> getCandidatesAfter(Long afterId, int limit, FetchPlan plan) {
+		List<Candidate> candidates = getCandidatesAfter(afterId, limit);
+		FetchPlans.candidates(candidates, plan);
+		return candidates;
+	}
+
+	@Override
+	public List<CandidateSummary> getCandidateSummariesAfter(Long afterId, int limit) {
+		return candidateRepository.findActiveSummariesAfter(afterId, PageRequest.of(0, limit));
+	}
+
+	@Override
+	public BatchResult<Candidate> getActiveCandidates(Collection<Long> candidateIds, FetchPlan plan) {
+		BatchResult<Candidate> candidates = BatchLookups.lookup(candidateIds, candidateRepository::findNotVoidedIn);
+		FetchPlans.candidates(candidates.getFound(), plan);
+		return candidates;
+	}
 }
@@ -0,0 +1,39 @@
+package org.cvs.application.services;
+
+import org.cvs.application.exceptions.EntryNotActiveException;
+import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.CandidateCv;
+import org.cvs.data.entities.Candidate;
+import org.springframework.stereotype.Service;
+
+/**
+ *
+ * Provides read operations that assemble a full CV for a candidate.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Service
+public interface CvService {
+
+	/**
+	 * Fetches an active {@link Candidate} together with all of its active skills,
+	 * qualifications, work experiences and references.
+	 *
+	 * @param candidateId ID to be used as a key field during search
+	 *
+	 * @return the full CV of the candidate
+	 */
+	public CandidateCv getCv(Long candidateId) throws EntryNotFoundException, EntryNotActiveException;
+
+	/**
+	 * Fetches the full CV of an active {@link Candidate} as pre-rendered JSON,
+	 * served from the CV snapshot cache where possible.
+	 *
+	 * @param candidateId ID to be used as a key field during search
+	 *
+	 * @return the full CV of the candidate as UTF-8 encoded JSON
+	 */
+	public byte[] getCvSnapshot(Long candidateId) throws EntryNotFoundException, EntryNotActiveException;
+}
@@ -0,0 +1,122 @@
+package org.cvs.application.services;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.cvs.application.exceptions.EntryNotActiveException;
+import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.CandidateCv;
+import org.cvs.data.entities.Candidate;
+import org.cvs.data.entities.Qualification;
+import org.cvs.data.entities.Reference;
+import org.cvs.data.entities.Skill;
+import org.cvs.data.entities.WorkExperience;
+import org.cvs.data.routing.PrimaryScope;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class CvServiceImpl implements CvService {
+
+	@Autowired
+	private CandidateService candidateService;
+
+	@Autowired
+	private SkillService skillService;
+
+	@Autowired
+	private QualificationService qualificationService;
+
+	@Autowired
+	private WorkExperienceService workExperienceService;
+
+	@Autowired
+	private ReferenceService referenceService;
+
+	@Autowired
+	@Qualifier("cvExecutor")
+	private Executor cvExecutor;
+
+	@Autowired
+	private CvSnapshotCache cvSnapshotCache;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Override
+	public CandidateCv getCv(Long candidateId) throws EntryNotFoundException, EntryNotActiveException {
+		Candidate candidate = candidateService.getActiveCandidate(candidateId);
+
+		// Rows written by an open transaction are only visible on its own connection;
+		// read-only callers can still fan out, each query on its own connection
+		Executor executor = TransactionSynchronizationManager.isActualTransactionActive()
+		        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Runnable::run : cvExecutor;
+
+		CompletableFuture<List<Skill>> skills = fetch(() -> skillService.getSkills(candidateId), executor);
+		CompletableFuture<List<Qualification>> qualifications = fetch(
+		        () -> qualificationService.getQualifications(candidateId), executor);
+		CompletableFuture<List<WorkExperience>> workExperiences = fetch(
+		        () -> workExperienceService.getWorkExperiences(candidateId), executor);
+		CompletableFuture<List<Reference>> references = fetch(() -> referenceService.getReferences(candidateId),
+		        executor);
+
+		try {
+			CompletableFuture.allOf(skills, qualifications, workExperiences, references).join();
+		} catch (CompletionException e) {
+			log.error("Failed to assemble CV for candidate with ID: " + candidateId, e.getCause());
+
+			// Callers see the exception of the failed query, as without the fan-out
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+
+		return new CandidateCv(candidate, skills.join(), qualifications.join(), workExperiences.join(),
+		        references.join());
+	}
+
+	@Override
+	public byte[] getCvSnapshot(Long candidateId) throws EntryNotFoundException, EntryNotActiveException {
+		byte[] snapshot = cvSnapshotCache.get(candidateId);
+		if (snapshot != null) {
+			return snapshot;
+		}
+
+		long generation = cvSnapshotCache.generation();
+
+		try {
+			// Read from the primary, as a lagging replica could cache a stale CV
+			snapshot = objectMapper.writeValueAsBytes(PrimaryScope.run(() -> getCv(candidateId)));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Unable to render CV for [CANDIDATE]." + candidateId, e);
+		}
+
+		// A CV read inside a writing transaction may include rows that are later
+		// rolled back
+		if (!TransactionSynchronizationManager.isActualTransactionActive()
+		        || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			cvSnapshotCache.put(candidateId, snapshot, generation);
+		}
+
+		return snapshot;
+	}
+
+	private <T> CompletableFuture<List<T>> fetch(Supplier<List<T>> query, Executor executor) {
+		return CompletableFuture.supplyAsync(PrimaryScope.propagate(query), executor);
+	}
+}
@@ -0,0 +1,141 @@
+package org.cvs.application.services;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.cvs.utils.LruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ *
+ * Holds pre-rendered JSON snapshots of candidate CVs keyed by candidate ID.
+ * <p>
+ * Every invalidation bumps a generation counter. A snapshot is only stored if
+ * no invalidation happened while it was being built, so a slow reader can
+ * never put back a CV that a concurrent write has already made stale.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Component
+public class CvSnapshotCache implements MeterBinder {
+
+	private static final String CACHE_NAME = "cv";
+
+	private final LruCache<Long, byte[]> snapshots;
+
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * Constructor for this class.
+	 *
+	 * @param maxEntries the maximum number of CV snapshots to hold
+	 *
+	 */
+	public CvSnapshotCache(@Value("${cvs.cv.cache.max-entries:10000}") int maxEntries) {
+		this.snapshots = new LruCache<>(maxEntries);
+	}
+
+	/**
+	 * Returns the current generation, to be read before a snapshot is built.
+	 *
+	 * @param
+	 *
+	 * @return the current generation of the cache
+	 */
+	public long generation() {
+		return generation.get();
+	}
+
+	/**
+	 * Returns the snapshot cached for a candidate.
+	 *
+	 * @param candidateId the ID of the candidate
+	 *
+	 * @return the JSON snapshot, or <code>null</code> if there is none
+	 */
+	public byte[] get(Long candidateId) {
+		return snapshots.get(candidateId);
+	}
+
+	/**
+	 * Caches a snapshot unless the cache has been invalidated since the given
+	 * generation was read.
+	 *
+	 * @param candidateId the ID of the candidate
+	 * @param snapshot    the JSON snapshot of the CV
+	 * @param builtFrom   the generation read before the snapshot was built
+	 *
+	 */
+	public synchronized void put(Long candidateId, byte[] snapshot, long builtFrom) {
+		if (generation.get() == builtFrom) {
+			snapshots.put(candidateId, snapshot);
+		}
+	}
+
+	/**
+	 * Invalidates the snapshot of a candidate. If called within a transaction,
+	 * the snapshot is invalidated again once the transaction commits.
+	 *
+	 * @param candidateId the ID of the candidate whose CV has changed
+	 *
+	 */
+	public void evict(Long candidateId) {
+		remove(candidateId);
+		afterCommit(() -> remove(candidateId));
+	}
+
+	/**
+	 * Invalidates all snapshots, for changes that may affect any CV. If called
+	 * within a transaction, the snapshots are invalidated again once the
+	 * transaction commits.
+	 *
+	 * @param
+	 *
+	 */
+	public void evictAll() {
+		removeAll();
+		afterCommit(this::removeAll);
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("cache.gets", snapshots, LruCache::getHitCount).tag("cache", CACHE_NAME)
+		        .tag("result", "hit").description("CV snapshot cache hits").register(registry);
+		FunctionCounter.builder("cache.gets", snapshots, LruCache::getMissCount).tag("cache", CACHE_NAME)
+		        .tag("result", "miss").description("CV snapshot cache misses").register(registry);
+		FunctionCounter.builder("cache.evictions", snapshots, LruCache::getEvictionCount).tag("cache", CACHE_NAME)
+		        .description("CV snapshots evicted to stay within the size limit").register(registry);
+		Gauge.builder("cache.size", snapshots, LruCache::size).tag("cache", CACHE_NAME)
+		        .description("Number of cached CV snapshots").register(registry);
+	}
+
+	private synchronized void remove(Long candidateId) {
+		generation.incrementAndGet();
+		snapshots.remove(candidateId);
+	}
+
+	private synchronized void removeAll() {
+		generation.incrementAndGet();
+		snapshots.clear();
+	}
+
+	private void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package org.cvs.application.services;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+import org.cvs.data.entities.ApplicationUser;
+import org.cvs.data.entities.Candidate;
+import org.cvs.data.entities.Portfolio;
+import org.cvs.utils.FetchPlan;
+import org.hibernate.Hibernate;
+
+/**
+ *
+ * Loads the associations named by a {@link FetchPlan} for entities read in the
+ * current persistence context.
+ * <p>
+ * The many-to-many collections are batch fetched, so initialising a collection
+ * loads the same collection for a page of entities at once. Each level of a
+ * plan costs one query per collection role rather than one per entity.
+ * Collections already fetched with their owners, as for portfolios read by ID,
+ * are left as they are. Pages are not read with fetch joins since Hibernate
+ * applies page limits in memory when a collection is joined.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+final class FetchPlans {
+
+	private FetchPlans() {
+	}
+
+	/**
+	 * Loads the members of the given portfolios according to a plan.
+	 *
+	 * @param portfolios the portfolios read in the current persistence context
+	 * @param plan       the fetch plan to apply
+	 *
+	 */
+	static void portfolios(Collection<Portfolio> portfolios, FetchPlan plan) {
+		if (plan == FetchPlan.SUMMARY || portfolios.isEmpty()) {
+			return;
+		}
+
+		portfolios.forEach(p -> {
+			Hibernate.initialize(p.getApplicationUser());
+			Hibernate.initialize(p.getCandidate());
+		});
+
+		users(portfolios.stream().flatMap(p -> p.getApplicationUser().stream()).distinct()
+		        .collect(Collectors.toList()), plan.next());
+		candidates(portfolios.stream().flatMap(p -> p.getCandidate().stream()).distinct()
+		        .collect(Collectors.toList()), plan.next());
+	}
+
+	/**
+	 * Loads the portfolios of the given candidates according to a plan.
+	 *
+	 * @param candidates the candidates read in the current persistence context
+	 * @param plan       the fetch plan to apply
+	 *
+	 */
+	static void candidates(Collection<Candidate> candidates, FetchPlan plan) {
+		if (plan == FetchPlan.SUMMARY || candidates.isEmpty()) {
+			return;
+		}
+
+		candidates.forEach(c -> Hibernate.initialize(c.getPortfolio()));
+
+		portfolios(candidates.stream().flatMap(c -> c.getPortfolio().stream()).distinct()
+		        .collect(Collectors.toList()), plan.next());
+	}
+
+	/**
+	 * Loads the portfolios of the given users according to a plan.
+	 *
+	 * @param users the users read in the current persistence context
+	 * @param plan  the fetch plan to apply
+	 *
+	 */
+	static void users(Collection<ApplicationUser> users, FetchPlan plan) {
+		if (plan == FetchPlan.SUMMARY || users.isEmpty()) {
+			return;
+		}
+
+		users.forEach(u -> Hibernate.initialize(u.getPortfolio()));
+
+		portfolios(users.stream().flatMap(u -> u.getPortfolio().stream()).distinct().collect(Collectors.toList()),
+		        plan.next());
+	}
+
+}
@@ -0,0 +1,52 @@
+package org.cvs.application.services;
+
+import java.util.List;
+import java.util.Map;
+
+import org.cvs.application.exceptions.EntryNotActiveException;
+import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.application.exceptions.UnknownFieldException;
+import org.cvs.data.entities.AbstractRetirableEntity;
+import org.springframework.stereotype.Service;
+
+/**
+ * 
+ * Provides sparse fieldset reads, which select only the requested columns of
+ * an entity instead of loading the entity.
+ * <p>
+ * Any basic field of an entity may be requested; associations are not. The ID
+ * is always returned, as it is needed as the keyset cursor.
+ * 
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Service
+public interface FieldsetService {
+
+	/**
+	 * Fetches the requested fields of a page of active entities whose IDs follow
+	 * a given cursor, ordered by ID.
+	 *
+	 * @param type    the entity type to be read
+	 * @param fields  the names of the fields to be selected
+	 * @param afterId the ID of the last entity on the previous page
+	 * @param limit   the maximum number of entities to return
+	 * 
+	 * @return the selected fields of each entity, keyed by field name
+	 */
+	public <T extends AbstractRetirableEntity> List<Map<String, Object>> getFieldsAfter(Class<T> type,
+	        List<String> fields, Long afterId, int limit) throws UnknownFieldException;
+
+	/**
+	 * Fetches the requested fields of a given active entity.
+	 *
+	 * @param type   the entity type to be read
+	 * @param fields the names of the fields to be selected
+	 * @param id     ID to be used as a key field during search
+	 * 
+	 * @return the selected fields of the entity, keyed by field name
+	 */
+	public <T extends AbstractRetirableEntity> Map<String, Object> getActiveFields(Class<T> type, List<String> fields,
+	        Long id) throws UnknownFieldException, EntryNotFoundException, EntryNotActiveException;
+}
@@ -0,0 +1,149 @@
+package org.cvs.application.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
+
+import org.cvs.application.exceptions.EntryNotActiveException;
+import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.application.exceptions.UnknownFieldException;
+import org.cvs.data.entities.AbstractRetirableEntity;
+import org.cvs.utils.Lookup;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional(readOnly = true)
+public class FieldsetServiceImpl implements FieldsetService {
+
+	private static final String ID = "id";
+
+	private static final String VOIDED = "voided";
+
+	private static final String RETIRED = "retired";
+
+	/**
+	 * Fields that are never returned, even when requested.
+	 */
+	private static final Set<String> HIDDEN_FIELDS = Collections.singleton("password");
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private final Map<Class<?>, Set<String>> selectableFields = new ConcurrentHashMap<>();
+
+	@Override
+	public <T extends AbstractRetirableEntity> List<Map<String, Object>> getFieldsAfter(Class<T> type,
+	        List<String> fields, Long afterId, int limit) throws UnknownFieldException {
+		Set<String> selected = select(type, fields);
+
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<T> root = query.from(type);
+		query.multiselect(selections(root, selected));
+		query.where(cb.equal(root.get(VOIDED), Lookup.NOT_VOIDED), cb.equal(root.get(RETIRED), Lookup.NOT_RETIRED),
+		        cb.greaterThan(root.<Long>get(ID), afterId));
+		query.orderBy(cb.asc(root.get(ID)));
+
+		return entityManager.createQuery(query).setMaxResults(limit).getResultList().stream()
+		        .map(tuple -> row(tuple, selected)).collect(Collectors.toList());
+	}
+
+	@Override
+	public <T extends AbstractRetirableEntity> Map<String, Object> getActiveFields(Class<T> type, List<String> fields,
+	        Long id) throws UnknownFieldException, EntryNotFoundException, EntryNotActiveException {
+		Set<String> selected = select(type, fields);
+
+		// The flags are read along with the fields to tell missing and inactive entries apart
+		Set<String> loaded = new LinkedHashSet<>(selected);
+		loaded.add(VOIDED);
+		loaded.add(RETIRED);
+
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<T> root = query.from(type);
+		query.multiselect(selections(root, loaded));
+		query.where(cb.equal(root.get(ID), id));
+
+		List<Tuple> rows = entityManager.createQuery(query).getResultList();
+		if (rows.isEmpty() || flag(rows.get(0), VOIDED) == Lookup.VOIDED) {
+			throw new EntryNotFoundException("Invalid operation for [" + label(type) + "]." + id);
+		}
+		if (flag(rows.get(0), RETIRED) == Lookup.RETIRED) {
+			throw new EntryNotActiveException("Invalid operation for [" + label(type) + "]." + id);
+		}
+		return row(rows.get(0), selected);
+	}
+
+	private Set<String> select(Class<?> type, List<String> fields) {
+		Set<String> selectable = selectableFields.computeIfAbsent(type, this::loadSelectableFields);
+
+		Set<String> selected = new LinkedHashSet<>();
+		selected.add(ID);
+		List<String> unknown = new ArrayList<>();
+		for (String field : fields) {
+			String name = field.trim();
+			if (name.isEmpty()) {
+				continue;
+			}
+			if (selectable.contains(name)) {
+				selected.add(name);
+			} else {
+				unknown.add(name);
+			}
+		}
+
+		if (!unknown.isEmpty()) {
+			throw new UnknownFieldException(
+			        "[" + label(type) + "]." + String.join(",", unknown) + ", expected any of " + selectable);
+		}
+		return selected;
+	}
+
+	private Set<String> loadSelectableFields(Class<?> type) {
+		return entityManager.getMetamodel().entity(type).getSingularAttributes().stream()
+		        .filter(attribute -> attribute.getPersistentAttributeType() == PersistentAttributeType.BASIC)
+		        .map(attribute -> attribute.getName()).filter(name -> !HIDDEN_FIELDS.contains(name))
+		        .collect(Collectors.toCollection(TreeSet::new));
+	}
+
+	private static List<Selection<?>> selections(Root<?> root, Set<String> fields) {
+		List<Selection<?>> selections = new ArrayList<>();
+		for (String field : fields) {
+			selections.add(root.get(field).alias(field));
+		}
+		return selections;
+	}
+
+	private static Map<String, Object> row(Tuple tuple, Set<String> fields) {
+		Map<String, Object> row = new LinkedHashMap<>();
+		for (String field : fields) {
+			row.put(field, tuple.get(field));
+		}
+		return row;
+	}
+
+	private static int flag(Tuple tuple, String name) {
+		return ((Number) tuple.get(name)).intValue();
+	}
+
+	private static String label(Class<?> type) {
+		return type.getSimpleName().replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase();
+	}
+}
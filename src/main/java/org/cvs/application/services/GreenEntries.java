@@ -0,0 +1,188 @@
+package org.cvs.application.services;
+
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+
+import org.cvs.application.exceptions.InconsistentDataException;
+import org.cvs.data.entities.Candidate;
+import org.cvs.data.entities.Qualification;
+import org.cvs.data.entities.Reference;
+import org.cvs.data.entities.Skill;
+import org.cvs.data.entities.WorkExperience;
+import org.cvs.utils.Lookup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ *
+ * Builds the "green" copy of an entry received from a client: only the fields
+ * a client may set are extracted, the entry is made active and it is validated
+ * using its Bean constraints. References to other entries are left to the
+ * caller.
+ * <p>
+ * Shared by the <code>add*</code> service methods and the candidate import, so
+ * that both accept exactly the same entries.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Component
+class GreenEntries {
+
+	@Autowired
+	private Validator validator;
+
+	/**
+	 * @param candidate the candidate received
+	 *
+	 * @return a valid, active copy without portfolios
+	 *
+	 * @throws ConstraintViolationException if the copy is not valid
+	 */
+	Candidate candidate(Candidate candidate) {
+		Candidate greenCandidate = new Candidate();
+
+		// Extract all fields to safely add to DB
+		greenCandidate.setAddressLine1(candidate.getAddressLine1());
+		greenCandidate.setAddressLine2(candidate.getAddressLine2());
+		greenCandidate.setAddressLine3(candidate.getAddressLine3());
+		greenCandidate.setCountry(candidate.getCountry());
+		greenCandidate.setPostcode(candidate.getPostcode());
+
+		greenCandidate.setGender(candidate.getGender());
+		greenCandidate.setDateOfBirth(candidate.getDateOfBirth());
+		greenCandidate.setEmail(candidate.getEmail());
+		greenCandidate.setPreferredContactNumber(candidate.getPreferredContactNumber());
+		greenCandidate.setAlternativeContactNumber(candidate.getAlternativeContactNumber());
+
+		greenCandidate.setFirstName(candidate.getFirstName());
+		greenCandidate.setMiddleName(candidate.getMiddleName());
+		greenCandidate.setLastName(candidate.getLastName());
+		greenCandidate.setTitle(candidate.getTitle());
+
+		greenCandidate.setVoided(Lookup.NOT_VOIDED);
+		greenCandidate.setRetired(Lookup.NOT_RETIRED);
+
+		return validate(greenCandidate);
+	}
+
+	/**
+	 * @param skill the skill received
+	 *
+	 * @return a valid, active copy without candidate
+	 *
+	 * @throws ConstraintViolationException if the copy is not valid
+	 */
+	Skill skill(Skill skill) {
+		Skill greenSkill = new Skill();
+
+		// Extract all fields to safely add to DB
+		greenSkill.setDescription(skill.getDescription());
+
+		greenSkill.setVoided(Lookup.NOT_VOIDED);
+		greenSkill.setRetired(Lookup.NOT_RETIRED);
+
+		return validate(greenSkill);
+	}
+
+	/**
+	 * @param qualification the qualification received
+	 *
+	 * @return a valid, active copy without candidate and qualification type
+	 *
+	 * @throws ConstraintViolationException if the copy is not valid
+	 */
+	Qualification qualification(Qualification qualification) {
+		Qualification greenQualification = new Qualification();
+
+		// Extract all fields to safely add to DB
+		greenQualification.setName(qualification.getName());
+		greenQualification.setInstitution(qualification.getInstitution());
+		greenQualification.setCountry(qualification.getCountry());
+		greenQualification.setDateObtained(qualification.getDateObtained());
+
+		greenQualification.setVoided(Lookup.NOT_VOIDED);
+		greenQualification.setRetired(Lookup.NOT_RETIRED);
+
+		return validate(greenQualification);
+	}
+
+	/**
+	 * @param workExperience the work experience received
+	 *
+	 * @return a valid, active copy without candidate
+	 *
+	 * @throws ConstraintViolationException if the copy is not valid
+	 * @throws InconsistentDataException    if it does not end after it starts
+	 */
+	WorkExperience workExperience(WorkExperience workExperience) {
+		WorkExperience greenWorkExperience = new WorkExperience();
+
+		// Extract all fields to safely add to DB
+		greenWorkExperience.setOrganisation(workExperience.getOrganisation());
+		greenWorkExperience.setPosition(workExperience.getPosition());
+		greenWorkExperience.setCountry(workExperience.getCountry());
+
+		greenWorkExperience.setStartDate(workExperience.getStartDate());
+		greenWorkExperience.setEndDate(workExperience.getEndDate());
+
+		greenWorkExperience.setVoided(Lookup.NOT_VOIDED);
+		greenWorkExperience.setRetired(Lookup.NOT_RETIRED);
+
+		validate(greenWorkExperience);
+
+		if (!greenWorkExperience.getEndDate().isAfter(greenWorkExperience.getStartDate())) {
+			throw new InconsistentDataException("End Date should be after Start Date ");
+		}
+
+		return greenWorkExperience;
+	}
+
+	/**
+	 * @param reference the reference received
+	 *
+	 * @return a valid, active copy without candidate
+	 *
+	 * @throws ConstraintViolationException if the copy is not valid
+	 */
+	Reference reference(Reference reference) {
+		Reference greenReference = new Reference();
+
+		// Extract all fields to safely add to DB
+		greenReference.setName(reference.getName());
+		greenReference.setInstitution(reference.getInstitution());
+		greenReference.setJobTitle(reference.getJobTitle());
+
+		greenReference.setAddressLine1(reference.getAddressLine1());
+		greenReference.setAddressLine2(reference.getAddressLine2());
+		greenReference.setAddressLine3(reference.getAddressLine3());
+		greenReference.setPostcode(reference.getPostcode());
+		greenReference.setCountry(reference.getCountry());
+
+		greenReference.setContactNumber(reference.getContactNumber());
+		greenReference.setEmail(reference.getEmail());
+
+		greenReference.setVoided(Lookup.NOT_VOIDED);
+		greenReference.setRetired(Lookup.NOT_RETIRED);
+
+		return validate(greenReference);
+	}
+
+	private <T> T validate(T entry) {
+		// Validate using Bean constraints
+		Set<ConstraintViolation<T>> violations = validator.validate(entry);
+		if (!violations.isEmpty()) {
+			StringBuilder sb = new StringBuilder();
+			for (ConstraintViolation<T> constraintViolation : violations) {
+				sb.append(" -> " + constraintViolation.getMessage());
+			}
+
+			throw new ConstraintViolationException("Validation error: " + sb.toString(), violations);
+		}
+		return entry;
+	}
+}
@@ -1,11 +1,16 @@
 package org.cvs.application.services;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
 import org.cvs.application.exceptions.InconsistentDataException;
+import org.cvs.data.dto.BatchResult;
+import org.cvs.data.dto.LinkReport;
+import org.cvs.data.dto.PortfolioSummary;
 import org.cvs.data.entities.Portfolio;
+import org.cvs.utils.FetchPlan;
 import org.springframework.stereotype.Service;
 
 /**
@@ -106,4 +111,109 @@ public interface PortfolioService {
 	 * @return a list of portfolio instances
 	 */
 	public List<Portfolio> getPortfolios(Long userId);
+
+	/**
+	 * Fetches a page of active {@link Portfolio} instances whose IDs follow a given
+	 * cursor, ordered by ID.
+	 *
+	 * @param afterId the ID of the last portfolio on the previous page
+	 * @param limit   the maximum number of portfolio instances to return
+	 * 
+	 * @return list of active portfolio instances
+	 */
+	public List<Portfolio> getPortfoliosAfter(Long afterId, int limit);
+
+	/**
+	 * Links candidates to a {@link Portfolio} in bulk. IDs that do not refer to
+	 * active candidates are reported as rejected.
+	 *
+	 * @param portfolioId  the ID of an active portfolio
+	 * @param candidateIds the IDs of the candidates to be linked
+	 * 
+	 * @return a report of added, existing and rejected links
+	 */
+	public LinkReport linkCandidates(Long portfolioId, List<Long> candidateIds)
+	        throws EntryNotFoundException, EntryNotActiveException;
+
+	/**
+	 * Removes the links between candidates and a {@link Portfolio} in bulk.
+	 *
+	 * @param portfolioId  the ID of an active portfolio
+	 * @param candidateIds the IDs of the candidates to be unlinked
+	 * 
+	 * @return a report of removed and absent links
+	 */
+	public LinkReport unlinkCandidates(Long portfolioId, List<Long> candidateIds)
+	        throws EntryNotFoundException, EntryNotActiveException;
+
+	/**
+	 * Links application users to a {@link Portfolio} in bulk. IDs that do not
+	 * refer to active users are reported as rejected.
+	 *
+	 * @param portfolioId the ID of an active portfolio
+	 * @param userIds     the IDs of the users to be linked
+	 * 
+	 * @return a report of added, existing and rejected links
+	 */
+	public LinkReport linkUsers(Long portfolioId, List<Long> userIds)
+	        throws EntryNotFoundException, EntryNotActiveException;
+
+	/**
+	 * Removes the links between application users and a {@link Portfolio} in
+	 * bulk.
+	 *
+	 * @param portfolioId the ID of an active portfolio
+	 * @param userIds     the IDs of the users to be unlinked
+	 * 
+	 * @return a report of removed and absent links
+	 */
+	public LinkReport unlinkUsers(Long portfolioId, List<Long> userIds)
+	        throws EntryNotFoundException, EntryNotActiveException;
+
+	/**
+	 * Fetches an active {@link Portfolio} instance together with the associations
+	 * named by a fetch plan.
+	 *
+	 * @param portfolioId ID to be used as the search key
+	 * @param plan        the associations to be loaded
+	 * 
+	 * @return an active portfolio instance if found
+	 */
+	public Portfolio getActivePortfolio(Long portfolioId, FetchPlan plan)
+	        throws EntryNotFoundException, EntryNotActiveException;
+
+	/**
+	 * Fetches a page of active {@link Portfolio} instances whose IDs follow a given
+	 * cursor, together with the associations named by a fetch plan.
+	 *
+	 * @param afterId the ID of the last portfolio on the previous page
+	 * @param limit   the maximum number of portfolio instances to return
+	 * @param plan    the associations to be loaded
+	 * 
+	 * @return list of active portfolio instances
+	 */
+	public List<Portfolio> getPortfoliosAfter(Long afterId, int limit, FetchPlan plan);
+
+	/**
+	 * Fetches a page of active portfolio read models whose IDs follow a given
+	 * cursor, ordered by ID.
+	 *
+	 * @param afterId the ID of the last portfolio on the previous page
+	 * @param limit   the maximum number of read models to return
+	 * 
+	 * @return list of active portfolio read models
+	 */
+	public List<PortfolioSummary> getPortfolioSummariesAfter(Long afterId, int limit);
+
+	/**
+	 * Fetches the active {@link Portfolio} instances with the given IDs in a single
+	 * query, together with the associations named by a fetch plan.
+	 *
+	 * @param portfolioIds the distinct IDs to be used as search keys
+	 * @param plan         the associations to be loaded
+	 * 
+	 * @return the portfolios found in the order requested, and the IDs that were not
+	 *         found or are not active
+	 */
+	public BatchResult<Portfolio> getActivePortfolios(Collection<Long> portfolioIds, FetchPlan plan);
 }
@@ -1,9 +1,15 @@
 package org.cvs.application.services;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.validation.ConstraintViolation;
@@ -12,22 +18,31 @@ import javax.validation.Validator;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.BatchResult;
+import org.cvs.data.dto.LinkReport;
+import org.cvs.data.dto.PortfolioSummary;
 import org.cvs.data.entities.ApplicationUser;
 import org.cvs.data.entities.Candidate;
 import org.cvs.data.entities.Portfolio;
 import org.cvs.data.repositories.ApplicationUserRepository;
 import org.cvs.data.repositories.CandidateRepository;
 import org.cvs.data.repositories.PortfolioRepository;
+import org.cvs.utils.FetchPlan;
 import org.cvs.utils.Lookup;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 public class PortfolioServiceImpl implements PortfolioService {
 
+	private static final int LINK_BLOCK_SIZE = 1000;
+
 	@Autowired
 	private ApplicationUserService userService;
 
@@ -46,7 +61,11 @@ public class PortfolioServiceImpl implements PortfolioService {
 	@Autowired
 	private Validator validator;
 
+	@Autowired
+	private CvSnapshotCache cvSnapshotCache;
+
 	@Override
+	@Transactional
 	public Portfolio addPortfolio(Portfolio portfolio) {
 
 		Portfolio greenPortfolio = new Portfolio();
@@ -73,50 +92,28 @@ public class PortfolioServiceImpl implements PortfolioService {
 		// Save bare portfolio record
 		Portfolio newPortfolio = portfolioRepository.save(greenPortfolio);
 
-		// Safely add relationships with (an) existing user(s)
-		for (ApplicationUser user : users) {
-			try {
-				ApplicationUser existingUser = userService.getActiveUser(user.getId());
-				if (existingUser != null) {
-					log.info(
-					        "Found user : " + existingUser.getId() + ", created on : " + existingUser.getCreatedDate());
-					existingUser.getPortfolio().add(greenPortfolio);
-					userRepository.save(existingUser);
-					log.info("added portfolio to user");
-				}
-			} catch (EntryNotFoundException e) {
-				log.info("Skipping non-existent user entry for User ID " + user.getId());
-			} catch (EntryNotActiveException e) {
-				log.info("Skipping inactive user entry for User ID " + user.getId());
-			}
-
+		// Safely add relationships with existing users and candidates; inactive or
+		// unknown entries are skipped
+		LinkReport userLinks = linkUsers(newPortfolio.getId(),
+		        users.stream().map(ApplicationUser::getId).collect(Collectors.toList()));
+		if (!userLinks.getRejected().isEmpty()) {
+			log.info("Skipping inactive or non-existent user entries for User IDs " + userLinks.getRejected());
 		}
 
-		// Safely add relationships with (an) existing candidate(s)
-		for (Candidate candidate : candidates) {
-			try {
-				Candidate existingCandidate = candidateService.getActiveCandidate(candidate.getId());
-				if (existingCandidate != null) {
-					log.info("Found candidate : " + existingCandidate.getId() + ", created on : "
-					        + existingCandidate.getCreatedDate());
-					existingCandidate.getPortfolio().add(greenPortfolio);
-					candidateRepository.save(existingCandidate);
-					log.info("added portfolio to candidate");
-				}
-			} catch (EntryNotFoundException e) {
-				log.info("Skipping non-existent candidate entry for Candidate ID " + candidate.getId());
-			} catch (EntryNotActiveException e) {
-				log.info("Skipping inactive candidate entry for Candidate ID " + candidate.getId());
-			}
-
+		LinkReport candidateLinks = linkCandidates(newPortfolio.getId(),
+		        candidates.stream().map(Candidate::getId).collect(Collectors.toList()));
+		if (!candidateLinks.getRejected().isEmpty()) {
+			log.info("Skipping inactive or non-existent candidate entries for Candidate IDs "
+			        + candidateLinks.getRejected());
 		}
 
-		newPortfolio = getActivePortfolio(newPortfolio.getId());
+		newPortfolio = getActivePortfolio(newPortfolio.getId(), FetchPlan.MEMBERS);
 
 		return newPortfolio;
 	}
 
 	@Override
+	@Transactional
 	public Portfolio updatePortfolioWithUser(Long userId, Long portfolioId)
 	        throws EntryNotFoundException, EntryNotActiveException {
 		ApplicationUser user;
@@ -129,14 +126,11 @@ public class PortfolioServiceImpl implements PortfolioService {
 			throw new EntryNotActiveException(ex.getMessage());
 		}
 
-		Portfolio existingPortfolio, updatedPortfolio;
+		Portfolio updatedPortfolio;
 
 		try {
-			existingPortfolio = getActivePortfolio(portfolioId);
-			user.getPortfolio().add(existingPortfolio); // Add user to portfolio from the main side of the
-			                                            // many-to-many relationship
-			user = userRepository.save(user);
-			updatedPortfolio = getActivePortfolio(existingPortfolio.getId());
+			linkUsers(portfolioId, Collections.singletonList(user.getId()));
+			updatedPortfolio = getActivePortfolio(portfolioId, FetchPlan.MEMBERS);
 		} catch (EntryNotFoundException ex) {
 			throw new EntryNotFoundException(ex.getMessage());
 		} catch (EntryNotActiveException ex) {
@@ -147,6 +141,7 @@ public class PortfolioServiceImpl implements PortfolioService {
 	}
 
 	@Override
+	@Transactional
 	public Portfolio updatePortfolioWithCandidate(Long candidateId, Long portfolioId)
 	        throws EntryNotFoundException, EntryNotActiveException {
 		Candidate candidate;
@@ -159,14 +154,11 @@ public class PortfolioServiceImpl implements PortfolioService {
 			throw new EntryNotActiveException(ex.getMessage());
 		}
 
-		Portfolio existingPortfolio, updatedPortfolio;
+		Portfolio updatedPortfolio;
 
 		try {
-			existingPortfolio = getActivePortfolio(portfolioId);
-			candidate.getPortfolio().add(existingPortfolio); // Add candidate to portfolio from the main side of the
-			                                                 // relationship
-			candidate = candidateRepository.save(candidate);
-			updatedPortfolio = getActivePortfolio(existingPortfolio.getId());
+			linkCandidates(portfolioId, Collections.singletonList(candidate.getId()));
+			updatedPortfolio = getActivePortfolio(portfolioId, FetchPlan.MEMBERS);
 		} catch (EntryNotFoundException ex) {
 			throw new EntryNotFoundException(ex.getMessage());
 		} catch (EntryNotActiveException ex) {
@@ -179,37 +171,25 @@ public class PortfolioServiceImpl implements PortfolioService {
 	@Override
 	public List<Portfolio> getPortfolios() {
 
-		List<Portfolio> portfolios = portfolioRepository.findAll().stream()
-		        .filter(p -> p.getVoided() != Lookup.VOIDED && p.getRetired() != Lookup.RETIRED)
-		        .collect(Collectors.toList());
+		List<Portfolio> portfolios = portfolioRepository.findAllActive();
 
-		// Remove deleted records
-		portfolios.stream().forEach(p -> p.setApplicationUser(p.getApplicationUser().stream()
-		        .filter(u -> u.getVoided() == Lookup.NOT_VOIDED).collect(Collectors.toSet())));
+		return portfolios;
+	}
 
-		portfolios.stream().forEach(p -> p.setCandidate(
-		        p.getCandidate().stream().filter(c -> c.getVoided() == Lookup.NOT_VOIDED).collect(Collectors.toSet())));
+	@Override
+	public List<Portfolio> getPortfoliosAfter(Long afterId, int limit) {
+		List<Portfolio> portfolios = portfolioRepository.findActiveAfter(afterId, PageRequest.of(0, limit));
 
-		portfolios.sort(Comparator.comparing(Portfolio::getId));
 		return portfolios;
 	}
 
 	@Override
 	public List<Portfolio> getPortfolios(Long userId) {
 
-		List<Portfolio> portfolios = userService.getActiveUser(userId).getPortfolio().stream()
-		        .filter(p -> p.getVoided() != Lookup.VOIDED && p.getRetired() != Lookup.RETIRED)
-		        .collect(Collectors.toList());
-
-		// Remove deleted records
-		portfolios.stream().forEach(p -> p.setApplicationUser(p.getApplicationUser().stream()
-		        .filter(u -> u.getVoided() == Lookup.NOT_VOIDED).collect(Collectors.toSet())));
-
-		portfolios.stream().forEach(p -> p.setCandidate(
-		        p.getCandidate().stream().filter(c -> c.getVoided() == Lookup.NOT_VOIDED).collect(Collectors.toSet())));
+		// Only checks that the user is active; its portfolio set is not loaded
+		userService.getActiveUser(userId);
 
-		portfolios.sort(Comparator.comparing(Portfolio::getId));
-		return portfolios;
+		return portfolioRepository.findActiveByUserId(userId);
 	}
 
 	@Override
@@ -224,13 +204,21 @@ public class PortfolioServiceImpl implements PortfolioService {
 
 	@Override
 	public Portfolio getActivePortfolio(Long portfolioId) throws EntryNotActiveException, EntryNotFoundException {
-		Portfolio portfolio = portfolioRepository.findById(portfolioId).orElse(null);
+		return requireActive(portfolioRepository.findById(portfolioId).orElse(null), portfolioId);
+	}
+
+	/**
+	 * Returns a loaded portfolio if it is active, or reports why it cannot be
+	 * used.
+	 *
+	 * @param portfolio   the portfolio loaded for the ID, or null if none exists
+	 * @param portfolioId the ID of the portfolio
+	 * 
+	 * @return the active portfolio
+	 */
+	private Portfolio requireActive(Portfolio portfolio, Long portfolioId)
+	        throws EntryNotActiveException, EntryNotFoundException {
 		if (portfolio != null && portfolio.getVoided() != Lookup.VOIDED && portfolio.getRetired() != Lookup.RETIRED) {
-			// Remove deleted references
-			portfolio.setApplicationUser(portfolio.getApplicationUser().stream()
-			        .filter(u -> u.getVoided() == Lookup.NOT_VOIDED).collect(Collectors.toSet()));
-			portfolio.setCandidate(portfolio.getCandidate().stream().filter(c -> c.getVoided() == Lookup.NOT_VOIDED)
-			        .collect(Collectors.toSet()));
 			return portfolio;
 		} else {
 			if (portfolio == null || portfolio.getVoided() == Lookup.VOIDED) {
@@ -242,12 +230,14 @@ public class PortfolioServiceImpl implements PortfolioService {
 	}
 
 	@Override
+	@Transactional
 	public void deletePortfolio(Long portfolioId) throws EntryNotFoundException {
 		Portfolio portfolio = portfolioRepository.findById(portfolioId).orElse(null);
 		if (portfolio != null && portfolio.getVoided() != Lookup.VOIDED) {
 			portfolio.setVoided(Lookup.VOIDED);
 			portfolio.setVoidedReason("System operation - voided");
 			portfolioRepository.save(portfolio);
+			cvSnapshotCache.evictAll();
 			log.info("Deleted portfolio with ID: " + portfolioId);
 		} else {
 			throw new EntryNotFoundException("Invalid operation for [PORTFOLIO]." + portfolioId);
@@ -255,15 +245,139 @@ public class PortfolioServiceImpl implements PortfolioService {
 	}
 
 	@Override
+	@Transactional
 	public void retirePortfolio(Long portfolioId) throws EntryNotFoundException {
 		Portfolio portfolio = portfolioRepository.findById(portfolioId).orElse(null);
 		if (portfolio != null && portfolio.getRetired() != Lookup.RETIRED) {
 			portfolio.setRetired(Lookup.RETIRED);
 			portfolio.setRetiredReason("System operation - retired");
 			portfolioRepository.save(portfolio);
+			cvSnapshotCache.evictAll();
 			log.info("Retired portfolio with ID: " + portfolioId);
 		} else {
 			throw new EntryNotFoundException("Invalid operation for [PORTFOLIO]." + portfolioId);
 		}
 	}
+
+	@Override
+	@Transactional
+	public LinkReport linkCandidates(Long portfolioId, List<Long> candidateIds)
+	        throws EntryNotFoundException, EntryNotActiveException {
+		checkActivePortfolio(portfolioId);
+		return applyLinks(portfolioId, candidateIds, candidateRepository::findActiveIdsIn,
+		        portfolioRepository::linkCandidates);
+	}
+
+	@Override
+	@Transactional
+	public LinkReport unlinkCandidates(Long portfolioId, List<Long> candidateIds)
+	        throws EntryNotFoundException, EntryNotActiveException {
+		checkActivePortfolio(portfolioId);
+		// Links to inactive candidates may still be removed
+		return applyLinks(portfolioId, candidateIds, ArrayList::new, portfolioRepository::unlinkCandidates);
+	}
+
+	@Override
+	@Transactional
+	public LinkReport linkUsers(Long portfolioId, List<Long> userIds)
+	        throws EntryNotFoundException, EntryNotActiveException {
+		checkActivePortfolio(portfolioId);
+		return applyLinks(portfolioId, userIds, userRepository::findActiveIdsIn, portfolioRepository::linkUsers);
+	}
+
+	@Override
+	@Transactional
+	public LinkReport unlinkUsers(Long portfolioId, List<Long> userIds)
+	        throws EntryNotFoundException, EntryNotActiveException {
+		checkActivePortfolio(portfolioId);
+		// Links to inactive users may still be removed
+		return applyLinks(portfolioId, userIds, ArrayList::new, portfolioRepository::unlinkUsers);
+	}
+
+	/**
+	 * Checks that a portfolio is active without loading it or its members.
+	 *
+	 * @param portfolioId the ID of the portfolio
+	 * 
+	 */
+	private void checkActivePortfolio(Long portfolioId) throws EntryNotFoundException, EntryNotActiveException {
+		if (!portfolioRepository.existsActiveById(portfolioId)) {
+			// Load the portfolio only to report why it cannot be used
+			getActivePortfolio(portfolioId);
+		}
+	}
+
+	/**
+	 * Writes or removes join rows for blocks of IDs. Each block costs one query to
+	 * find the accepted IDs and one statement to change the links.
+	 *
+	 * @param portfolioId the ID of the portfolio
+	 * @param ids         the requested IDs
+	 * @param accept      returns the IDs in a block that may be linked
+	 * @param write       changes the links for the accepted IDs and returns the
+	 *                    number of rows affected
+	 * 
+	 * @return a report of the changes
+	 */
+	private LinkReport applyLinks(Long portfolioId, List<Long> ids, Function<List<Long>, List<Long>> accept,
+	        BiFunction<Long, Collection<Long>, Integer> write) {
+		LinkReport report = new LinkReport(portfolioId);
+		if (ids == null || ids.isEmpty()) {
+			return report;
+		}
+
+		List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+		for (int from = 0; from < distinctIds.size(); from += LINK_BLOCK_SIZE) {
+			List<Long> block = distinctIds.subList(from, Math.min(from + LINK_BLOCK_SIZE, distinctIds.size()));
+
+			Set<Long> accepted = new HashSet<>(accept.apply(block));
+			report.addRejected(block.stream().filter(id -> !accepted.contains(id)).collect(Collectors.toList()));
+
+			int changed = accepted.isEmpty() ? 0 : write.apply(portfolioId, accepted);
+			report.addBlock(block.size(), accepted.size(), changed);
+		}
+
+		if (report.getChanged() > 0) {
+			cvSnapshotCache.evictAll();
+		}
+
+		log.info("Updated links for portfolio with ID: " + portfolioId + " -> " + report);
+		return report;
+	}
+
+	@Override
+	public Portfolio getActivePortfolio(Long portfolioId, FetchPlan plan)
+	        throws EntryNotActiveException, EntryNotFoundException {
+		if (plan == FetchPlan.SUMMARY) {
+			return getActivePortfolio(portfolioId);
+		}
+
+		// The members are read in the same query as the portfolio
+		Portfolio portfolio = requireActive(portfolioRepository.findWithMembersById(portfolioId).orElse(null),
+		        portfolioId);
+		FetchPlans.portfolios(Collections.singletonList(portfolio), plan);
+		return portfolio;
+	}
+
+	@Override
+	public List<Portfolio> getPortfoliosAfter(Long afterId, int limit, FetchPlan plan) {
+		List<Portfolio> portfolios = getPortfoliosAfter(afterId, limit);
+		FetchPlans.portfolios(portfolios, plan);
+		return portfolios;
+	}
+
+	@Override
+	public List<PortfolioSummary> getPortfolioSummariesAfter(Long afterId, int limit) {
+		return portfolioRepository.findActiveSummariesAfter(afterId, PageRequest.of(0, limit));
+	}
+
+	@Override
+	public BatchResult<Portfolio> getActivePortfolios(Collection<Long> portfolioIds, FetchPlan plan) {
+		Function<Collection<Long>, List<Portfolio>> loader = plan == FetchPlan.SUMMARY
+		        ? portfolioRepository::findNotVoidedIn
+		        : portfolioRepository::findNotVoidedWithMembersIn;
+		BatchResult<Portfolio> portfolios = BatchLookups.lookup(portfolioIds, loader);
+		FetchPlans.portfolios(portfolios.getFound(), plan);
+		return portfolios;
+	}
 }
@@ -1,9 +1,12 @@
 package org.cvs.application.services;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.BatchResult;
+import org.cvs.data.dto.QualificationSummary;
 import org.cvs.data.entities.Qualification;
 import org.cvs.data.entities.Candidate;
 import org.springframework.stereotype.Service;
@@ -76,4 +79,37 @@ public interface QualificationService {
 	 * @return a list of active qualification instances
 	 */
 	public List<Qualification> getQualifications(Long candidateId);
+
+	/**
+	 * Fetches a page of active {@link Qualification} instances whose IDs follow a given
+	 * cursor, ordered by ID.
+	 *
+	 * @param afterId the ID of the last qualification on the previous page
+	 * @param limit   the maximum number of qualification instances to return
+	 * 
+	 * @return list of active qualification instances
+	 */
+	public List<Qualification> getQualificationsAfter(Long afterId, int limit);
+
+	/**
+	 * Fetches a page of active qualification read models whose IDs follow a given
+	 * cursor, ordered by ID.
+	 *
+	 * @param afterId the ID of the last qualification on the previous page
+	 * @param limit   the maximum number of read models to return
+	 * 
+	 * @return list of active qualification read models
+	 */
+	public List<QualificationSummary> getQualificationSummariesAfter(Long afterId, int limit);
+
+	/**
+	 * Fetches the active {@link Qualification} instances with the given IDs in a single
+	 * query.
+	 *
+	 * @param qualificationIds the distinct IDs to be used as search keys
+	 * 
+	 * @return the qualifications found in the order requested, and the IDs that were not
+	 *         found or are not active
+	 */
+	public BatchResult<Qualification> getActiveQualifications(Collection<Long> qualificationIds);
 }
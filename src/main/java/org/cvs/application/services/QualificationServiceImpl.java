@@ -1,28 +1,28 @@
 package org.cvs.application.services;
 
-import java.util.Comparator;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
-
-import javax.validation.ConstraintViolation;
-import javax.validation.ConstraintViolationException;
-import javax.validation.Validator;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.BatchResult;
+import org.cvs.data.dto.QualificationSummary;
 import org.cvs.data.entities.Candidate;
 import org.cvs.data.entities.Qualification;
 import org.cvs.data.entities.QualificationType;
 import org.cvs.data.repositories.QualificationRepository;
+import org.cvs.data.repositories.QualificationTypeRepository;
 import org.cvs.utils.Lookup;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 public class QualificationServiceImpl implements QualificationService {
 
 	@Autowired
@@ -35,33 +35,21 @@ public class QualificationServiceImpl implements QualificationService {
 	private QualificationTypeService qualificationTypeService;
 
 	@Autowired
-	private Validator validator;
+	private QualificationTypeRepository qualificationTypeRepository;
+
+	@Autowired
+	private GreenEntries greenEntries;
+
+	@Autowired
+	private CvSnapshotCache cvSnapshotCache;
 
 	@Override
+	@Transactional
 	public Qualification addQualification(Qualification qualification)
 	        throws EntryNotFoundException, EntryNotActiveException {
 
-		Qualification greenQualification = new Qualification();
-
-		// Extract all fields to safely add to DB
-		greenQualification.setName(qualification.getName());
-		greenQualification.setInstitution(qualification.getInstitution());
-		greenQualification.setCountry(qualification.getCountry());
-		greenQualification.setDateObtained(qualification.getDateObtained());
-
-		greenQualification.setVoided(Lookup.NOT_VOIDED);
-		greenQualification.setRetired(Lookup.NOT_RETIRED);
-
-		// Validate using Bean constraints
-		Set<ConstraintViolation<Qualification>> violations = validator.validate(greenQualification);
-		if (!violations.isEmpty()) {
-			StringBuilder sb = new StringBuilder();
-			for (ConstraintViolation<Qualification> constraintViolation : violations) {
-				sb.append(" -> " + constraintViolation.getMessage());
-			}
-
-			throw new ConstraintViolationException("Validation error: " + sb.toString(), violations);
-		}
+		// Extract and validate the fields a client may set
+		Qualification greenQualification = greenEntries.qualification(qualification);
 
 		// Only proceed to search for qualification and candidate if we have references
 		if (qualification.getQualificationType() == null || qualification.getCandidate() == null
@@ -70,13 +58,12 @@ public class QualificationServiceImpl implements QualificationService {
 			throw new EntryNotFoundException("Unable to find existing CANDIDATE or QUALIFICATION_TYPE references");
 		}
 
-		Qualification newQualification = new Qualification();
-
-		// Get reference entities
-		Candidate existingCandidate = new Candidate();
-		QualificationType existingQualificationType = new QualificationType();
+		// Get reference entities; the qualification type comes from the shared
+		// in-memory snapshot and the candidate is not loaded
+		Candidate existingCandidate;
+		QualificationType existingQualificationType;
 		try {
-			existingCandidate = candidateService.getActiveCandidate(qualification.getCandidate().getId());
+			existingCandidate = candidateService.getActiveCandidateReference(qualification.getCandidate().getId());
 			existingQualificationType = qualificationTypeService
 			        .getActiveQualificationType(qualification.getQualificationType().getId());
 		} catch (EntryNotFoundException e) {
@@ -86,34 +73,30 @@ public class QualificationServiceImpl implements QualificationService {
 		}
 
 		// Only attempt to save the qualification if we have an existing candidate and
-		// qualification type
-		newQualification = qualificationRepository.save(greenQualification);
+		// qualification type; it is written with a single INSERT
+		greenQualification.setId(null);
+		greenQualification.setCandidate(existingCandidate);
+		greenQualification.setQualificationType(qualificationTypeRepository.getOne(existingQualificationType.getId()));
+		Qualification newQualification = qualificationRepository.save(greenQualification);
 
-		// Add references to existing Candidate and QualificationType instances
-		newQualification.setCandidate(existingCandidate);
-		newQualification.setQualificationType(existingQualificationType);
-		newQualification = qualificationRepository.save(newQualification);
+		cvSnapshotCache.evict(qualification.getCandidate().getId());
 
 		return newQualification;
 	}
 
 	@Override
 	public List<Qualification> getQualifications() {
-		List<Qualification> qualifications = qualificationRepository.findAll().stream()
-		        .filter(p -> p.getVoided() != Lookup.VOIDED && p.getRetired() != Lookup.RETIRED)
-		        .collect(Collectors.toList());
-		qualifications.sort(Comparator.comparing(Qualification::getId));
-		return qualifications;
+		return qualificationRepository.findAllActive();
+	}
+
+	@Override
+	public List<Qualification> getQualificationsAfter(Long afterId, int limit) {
+		return qualificationRepository.findActiveAfter(afterId, PageRequest.of(0, limit));
 	}
 
 	@Override
 	public List<Qualification> getQualifications(Long candidateId) {
-		List<Qualification> qualifications = qualificationRepository.findAll().stream()
-		        .filter(p -> p.getVoided() != Lookup.VOIDED && p.getRetired() != Lookup.RETIRED
-		                && p.getCandidate().getId().longValue() == candidateId)
-		        .collect(Collectors.toList());
-		qualifications.sort(Comparator.comparing(Qualification::getId));
-		return qualifications;
+		return qualificationRepository.findAllActiveByCandidateId(candidateId);
 	}
 
 	@Override
@@ -133,12 +116,16 @@ public class QualificationServiceImpl implements QualificationService {
 	}
 
 	@Override
+	@Transactional
 	public void deleteQualification(Long qualificationId) throws EntryNotFoundException {
 		Qualification qualification = qualificationRepository.findById(qualificationId).orElse(null);
 		if (qualification != null && qualification.getVoided() != Lookup.VOIDED) {
 			qualification.setVoided(Lookup.VOIDED);
 			qualification.setVoidedReason("System operation - voided");
 			qualificationRepository.save(qualification);
+			if (qualification.getCandidate() != null) {
+				cvSnapshotCache.evict(qualification.getCandidate().getId());
+			}
 			log.info("Deleted qualification with ID: " + qualificationId);
 		} else {
 			throw new EntryNotFoundException("Invalid operation for [QUALIFICATION]." + qualificationId);
@@ -146,15 +133,29 @@ public class QualificationServiceImpl implements QualificationService {
 	}
 
 	@Override
+	@Transactional
 	public void retireQualification(Long qualificationId) throws EntryNotFoundException {
 		Qualification qualification = qualificationRepository.findById(qualificationId).orElse(null);
 		if (qualification != null && qualification.getRetired() != Lookup.RETIRED) {
 			qualification.setRetired(Lookup.RETIRED);
 			qualification.setRetiredReason("System operation - retired");
 			qualificationRepository.save(qualification);
+			if (qualification.getCandidate() != null) {
+				cvSnapshotCache.evict(qualification.getCandidate().getId());
+			}
 			log.info("Retired qualification with ID: " + qualificationId);
 		} else {
 			throw new EntryNotFoundException("Invalid operation for [QUALIFICATION]." + qualificationId);
 		}
 	}
+
+	@Override
+	public List<QualificationSummary> getQualificationSummariesAfter(Long afterId, int limit) {
+		return qualificationRepository.findActiveSummariesAfter(afterId, PageRequest.of(0, limit));
+	}
+
+	@Override
+	public BatchResult<Qualification> getActiveQualifications(Collection<Long> qualificationIds) {
+		return BatchLookups.lookup(qualificationIds, qualificationRepository::findNotVoidedIn);
+	}
 }
@@ -1,9 +1,11 @@
 package org.cvs.application.services;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.BatchResult;
 import org.cvs.data.entities.QualificationType;
 import org.springframework.stereotype.Service;
 
@@ -70,4 +72,26 @@ public interface QualificationTypeService {
 	 * @return list of all active qualification type instances
 	 */
 	public List<QualificationType> getQualificationTypes();
+
+	/**
+	 * Fetches a page of active {@link QualificationType} instances whose IDs follow a given
+	 * cursor, ordered by ID.
+	 *
+	 * @param afterId the ID of the last qualification type on the previous page
+	 * @param limit   the maximum number of qualification type instances to return
+	 * 
+	 * @return list of active qualification type instances
+	 */
+	public List<QualificationType> getQualificationTypesAfter(Long afterId, int limit);
+
+	/**
+	 * Fetches the active {@link QualificationType} instances with the given IDs in a single
+	 * query.
+	 *
+	 * @param qualificationTypeIds the distinct IDs to be used as search keys
+	 * 
+	 * @return the qualification types found in the order requested, and the IDs that were not
+	 *         found or are not active
+	 */
+	public BatchResult<QualificationType> getActiveQualificationTypes(Collection<Long> qualificationTypeIds);
 }
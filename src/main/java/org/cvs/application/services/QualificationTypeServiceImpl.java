@@ -1,9 +1,15 @@
 package org.cvs.application.services;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import javax.validation.ConstraintViolation;
@@ -12,16 +18,26 @@ import javax.validation.Validator;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.BatchResult;
 import org.cvs.data.entities.QualificationType;
 import org.cvs.data.repositories.QualificationTypeRepository;
+import org.cvs.data.routing.PrimaryScope;
 import org.cvs.utils.Lookup;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 public class QualificationTypeServiceImpl implements QualificationTypeService {
 
 	@Autowired
@@ -30,7 +46,39 @@ public class QualificationTypeServiceImpl implements QualificationTypeService {
 	@Autowired
 	private Validator validator;
 
+	@Autowired
+	private CvSnapshotCache cvSnapshotCache;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${cvs.qualification-types.refresh-interval-ms:300000}")
+	private long refreshIntervalMs;
+
+	/**
+	 * Immutable view of all committed active qualification types. It is dropped
+	 * once a change commits and reloaded on next use, so readers only lock while
+	 * it is being loaded. Callers receive copies of its entries.
+	 */
+	private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+	/**
+	 * Incremented on every committed change. A snapshot records the generation
+	 * it was loaded in and is not used once the generation has moved on, so one
+	 * loaded while a change commits is never served.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	private final Object loadLock = new Object();
+
+	/**
+	 * Marks a transaction that changed qualification types; it reads its own
+	 * changes from the database instead of the snapshot.
+	 */
+	private final Object changedInTransaction = new Object();
+
 	@Override
+	@Transactional
 	public QualificationType addQualificationType(QualificationType qualificationType) {
 
 		QualificationType greenQualificationType = new QualificationType();
@@ -53,33 +101,41 @@ public class QualificationTypeServiceImpl implements QualificationTypeService {
 		}
 
 		QualificationType newQualificationType = qualificationTypeRepository.save(greenQualificationType);
+		invalidateSnapshot();
 		return newQualificationType;
 	}
 
 	@Override
 	public List<QualificationType> getQualificationTypes() {
 
-		List<QualificationType> qualificationTypes = qualificationTypeRepository.findAll().stream()
-		        .filter(p -> p.getVoided() != Lookup.VOIDED && p.getRetired() != Lookup.RETIRED)
-		        .collect(Collectors.toList());
-		
-		qualificationTypes.sort(Comparator.comparing(QualificationType::getId));
-		return qualificationTypes;
+		return copies(activeSnapshot().list);
+	}
+
+	@Override
+	public List<QualificationType> getQualificationTypesAfter(Long afterId, int limit) {
+		return copies(activeSnapshot().list.stream().filter(p -> p.getId() > afterId).limit(limit)
+		        .collect(Collectors.toList()));
 	}
 
 	@Override
 	public QualificationType getByQualificationTypeName(String qualificationTypeName) throws EntryNotFoundException {
 
-		Optional<QualificationType> qualificationType = qualificationTypeRepository.findAllByName(qualificationTypeName)
-		        .stream().filter(p -> p.getVoided() != Lookup.VOIDED && p.getRetired() != Lookup.RETIRED).findFirst();
+		Optional<QualificationType> qualificationType = activeSnapshot().list.stream()
+		        .filter(p -> p.getName().equals(qualificationTypeName)).findFirst();
 
-		return qualificationType.orElseThrow(() -> new EntryNotFoundException(
+		return qualificationType.map(QualificationTypeServiceImpl::copy).orElseThrow(() -> new EntryNotFoundException(
 		        "Invalid operation for [QUALIFICATION_TYPE]." + qualificationTypeName));
 	}
 
 	@Override
 	public QualificationType getActiveQualificationType(Long qualificationTypeId)
 	        throws EntryNotActiveException, EntryNotFoundException {
+		QualificationType activeQualificationType = activeSnapshot().byId.get(qualificationTypeId);
+		if (activeQualificationType != null) {
+			return copy(activeQualificationType);
+		}
+
+		// Only misses go to the database, to tell missing and inactive entries apart
 		QualificationType qualificationType = qualificationTypeRepository.findById(qualificationTypeId).orElse(null);
 		if (qualificationType != null && qualificationType.getVoided() != Lookup.VOIDED
 		        && qualificationType.getRetired() != Lookup.RETIRED) {
@@ -94,12 +150,36 @@ public class QualificationTypeServiceImpl implements QualificationTypeService {
 	}
 
 	@Override
+	public BatchResult<QualificationType> getActiveQualificationTypes(Collection<Long> qualificationTypeIds) {
+		Map<Long, QualificationType> active = activeSnapshot().byId;
+		List<QualificationType> qualificationTypes = new ArrayList<>();
+		List<Long> misses = new ArrayList<>();
+		for (Long qualificationTypeId : qualificationTypeIds) {
+			QualificationType qualificationType = active.get(qualificationTypeId);
+			if (qualificationType != null) {
+				qualificationTypes.add(copy(qualificationType));
+			} else {
+				misses.add(qualificationTypeId);
+			}
+		}
+
+		// Only misses go to the database, to tell missing and inactive entries apart
+		if (!misses.isEmpty()) {
+			qualificationTypes.addAll(qualificationTypeRepository.findNotVoidedIn(misses));
+		}
+		return BatchLookups.classify(qualificationTypeIds, qualificationTypes);
+	}
+
+	@Override
+	@Transactional
 	public void deleteQualificationType(Long qualificationTypeId) throws EntryNotFoundException {
 		QualificationType qualificationType = qualificationTypeRepository.findById(qualificationTypeId).orElse(null);
 		if (qualificationType != null && qualificationType.getVoided() != Lookup.VOIDED) {
 			qualificationType.setVoided(Lookup.VOIDED);
 			qualificationType.setVoidedReason("System operation - voided");
 			qualificationTypeRepository.save(qualificationType);
+			invalidateSnapshot();
+			cvSnapshotCache.evictAll();
 			log.info("Deleted qualificationType with ID: " + qualificationTypeId);
 		} else {
 			throw new EntryNotFoundException("Invalid operation for [QUALIFICATION_TYPE]." + qualificationTypeId);
@@ -107,15 +187,136 @@ public class QualificationTypeServiceImpl implements QualificationTypeService {
 	}
 
 	@Override
+	@Transactional
 	public void retireQualificationType(Long qualificationTypeId) throws EntryNotFoundException {
 		QualificationType qualificationType = qualificationTypeRepository.findById(qualificationTypeId).orElse(null);
 		if (qualificationType != null && qualificationType.getRetired() != Lookup.RETIRED) {
 			qualificationType.setRetired(Lookup.RETIRED);
 			qualificationType.setRetiredReason("System operation - retired");
 			qualificationTypeRepository.save(qualificationType);
+			invalidateSnapshot();
+			cvSnapshotCache.evictAll();
 			log.info("Retired qualificationType with ID: " + qualificationTypeId);
 		} else {
 			throw new EntryNotFoundException("Invalid operation for [QUALIFICATION_TYPE]." + qualificationTypeId);
 		}
 	}
+
+	/**
+	 * Returns the snapshot to read from. A transaction that changed qualification
+	 * types reads them from the database, as the shared snapshot only holds
+	 * committed rows.
+	 */
+	private Snapshot activeSnapshot() {
+		if (TransactionSynchronizationManager.hasResource(changedInTransaction)) {
+			return new Snapshot(qualificationTypeRepository.findAllActive(), generation.get());
+		}
+
+		Snapshot current = snapshot.get();
+		if (isFresh(current)) {
+			return current;
+		}
+		return loadSnapshot();
+	}
+
+	private boolean isFresh(Snapshot current) {
+		return current != null && current.generation == generation.get()
+		        && System.currentTimeMillis() - current.loadedAt <= refreshIntervalMs;
+	}
+
+	/**
+	 * Drops the snapshot once the current transaction commits, or at once outside
+	 * a transaction. Rolled back changes leave it untouched.
+	 */
+	private void invalidateSnapshot() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			generation.incrementAndGet();
+			snapshot.set(null);
+			return;
+		}
+
+		if (!TransactionSynchronizationManager.hasResource(changedInTransaction)) {
+			TransactionSynchronizationManager.bindResource(changedInTransaction, Boolean.TRUE);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					generation.incrementAndGet();
+					snapshot.set(null);
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(changedInTransaction);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Loads the snapshot in a read-only transaction of its own on the primary, so
+	 * that it never sees uncommitted rows of the caller nor a lagging replica.
+	 * Callers that find it stale at the same time wait for one load instead of
+	 * each loading it again.
+	 */
+	private Snapshot loadSnapshot() {
+		synchronized (loadLock) {
+			Snapshot current = snapshot.get();
+			if (isFresh(current)) {
+				return current;
+			}
+
+			long loadedGeneration = generation.get();
+			TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+			transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+			transactionTemplate.setReadOnly(true);
+			Snapshot loaded = PrimaryScope.run(() -> transactionTemplate
+			        .execute(status -> new Snapshot(qualificationTypeRepository.findAllActive(), loadedGeneration)));
+
+			// A change committed during the load may be missing from it; should the
+			// commit land after this check, the snapshot is still rejected as stale
+			if (generation.get() == loadedGeneration) {
+				snapshot.set(loaded);
+			}
+			log.debug("Loaded " + loaded.list.size() + " active qualification types");
+			return loaded;
+		}
+	}
+
+	private static List<QualificationType> copies(List<QualificationType> qualificationTypes) {
+		return qualificationTypes.stream().map(QualificationTypeServiceImpl::copy).collect(Collectors.toList());
+	}
+
+	private static QualificationType copy(QualificationType qualificationType) {
+		QualificationType copy = new QualificationType(qualificationType.getName());
+		copy.setId(qualificationType.getId());
+		copy.setVoided(qualificationType.getVoided());
+		copy.setVoidedReason(qualificationType.getVoidedReason());
+		copy.setRetired(qualificationType.getRetired());
+		copy.setRetiredReason(qualificationType.getRetiredReason());
+		copy.setCreatedBy(qualificationType.getCreatedBy());
+		copy.setCreatedDate(qualificationType.getCreatedDate());
+		copy.setLastModifiedBy(qualificationType.getLastModifiedBy());
+		copy.setModifiedDate(qualificationType.getModifiedDate());
+		return copy;
+	}
+
+	private static final class Snapshot {
+		private final List<QualificationType> list;
+		private final Map<Long, QualificationType> byId;
+		private final long generation;
+		private final long loadedAt = System.currentTimeMillis();
+
+		private Snapshot(List<QualificationType> qualificationTypes, long generation) {
+			// Detached copies, so nothing outside can change the shared entries
+			List<QualificationType> entries = copies(qualificationTypes);
+			Map<Long, QualificationType> index = new LinkedHashMap<>();
+			for (QualificationType qualificationType : entries) {
+				index.put(qualificationType.getId(), qualificationType);
+			}
+
+			this.list = Collections.unmodifiableList(entries);
+			this.byId = Collections.unmodifiableMap(index);
+			this.generation = generation;
+		}
+	}
 }
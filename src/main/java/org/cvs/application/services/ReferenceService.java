@@ -1,9 +1,11 @@
 package org.cvs.application.services;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.BatchResult;
 import org.cvs.data.entities.Reference;
 import org.springframework.stereotype.Service;
 
@@ -70,4 +72,26 @@ public interface ReferenceService {
 	 * @return a list of all active references in the database
 	 */
 	public List<Reference> getReferences(Long candidateId);
+
+	/**
+	 * Fetches a page of active {@link Reference} instances whose IDs follow a given
+	 * cursor, ordered by ID.
+	 *
+	 * @param afterId the ID of the last reference on the previous page
+	 * @param limit   the maximum number of reference instances to return
+	 * 
+	 * @return list of active reference instances
+	 */
+	public List<Reference> getReferencesAfter(Long afterId, int limit);
+
+	/**
+	 * Fetches the active {@link Reference} instances with the given IDs in a single
+	 * query.
+	 *
+	 * @param referenceIds the distinct IDs to be used as search keys
+	 * 
+	 * @return the references found in the order requested, and the IDs that were not
+	 *         found or are not active
+	 */
+	public BatchResult<Reference> getActiveReferences(Collection<Long> referenceIds);
 }
@@ -1,27 +1,25 @@
 package org.cvs.application.services;
 
-import java.util.Comparator;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
-
-import javax.validation.ConstraintViolation;
-import javax.validation.ConstraintViolationException;
-import javax.validation.Validator;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.BatchResult;
 import org.cvs.data.entities.Candidate;
 import org.cvs.data.entities.Reference;
 import org.cvs.data.repositories.ReferenceRepository;
 import org.cvs.utils.Lookup;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 public class ReferenceServiceImpl implements ReferenceService {
 
 	@Autowired
@@ -31,64 +29,40 @@ public class ReferenceServiceImpl implements ReferenceService {
 	private CandidateService candidateService;
 
 	@Autowired
-	private Validator validator;
+	private GreenEntries greenEntries;
+
+	@Autowired
+	private CvSnapshotCache cvSnapshotCache;
 
 	@Override
+	@Transactional
 	public Reference addReference(Reference reference) {
 
-		Reference greenReference = new Reference();
-
-		// Extract all fields to safely add to DB
-		greenReference.setName(reference.getName());
-		greenReference.setInstitution(reference.getInstitution());
-		greenReference.setJobTitle(reference.getJobTitle());
-
-		greenReference.setAddressLine1(reference.getAddressLine1());
-		greenReference.setAddressLine2(reference.getAddressLine2());
-		greenReference.setAddressLine3(reference.getAddressLine3());
-		greenReference.setPostcode(reference.getPostcode());
-		greenReference.setCountry(reference.getCountry());
-
-		greenReference.setContactNumber(reference.getContactNumber());
-		greenReference.setEmail(reference.getEmail());
-
-		greenReference.setVoided(Lookup.NOT_VOIDED);
-		greenReference.setRetired(Lookup.NOT_RETIRED);
-
-		// Validate using Bean constraints
-		Set<ConstraintViolation<Reference>> violations = validator.validate(greenReference);
-		if (!violations.isEmpty()) {
-			StringBuilder sb = new StringBuilder();
-			for (ConstraintViolation<Reference> constraintViolation : violations) {
-				sb.append(" -> " + constraintViolation.getMessage());
-			}
-
-			throw new ConstraintViolationException("Validation error: " + sb.toString(), violations);
-		}
+		// Extract and validate the fields a client may set
+		Reference greenReference = greenEntries.reference(reference);
 
 		// Only proceed to search for a candidate if we have reference
 		if (reference.getCandidate() == null || reference.getCandidate().getId() == null) {
 			throw new EntryNotFoundException("Unable to find existing CANDIDATE reference");
 		}
 
-		Reference newReference = new Reference();
-
-		// Get a reference entity for the Candidate instance
-		Candidate existingCandidate = new Candidate();
+		// Get a reference to the Candidate instance without loading it
+		Candidate existingCandidate;
 		try {
-			existingCandidate = candidateService.getActiveCandidate(reference.getCandidate().getId());
+			existingCandidate = candidateService.getActiveCandidateReference(reference.getCandidate().getId());
 		} catch (EntryNotFoundException e) {
 			throw new EntryNotFoundException("Unable to find existing [CANDIDATE] " + reference.getCandidate().getId());
 		} catch (EntryNotActiveException e) {
 			throw new EntryNotFoundException("Unable to find active [CANDIDATE] " + reference.getCandidate().getId());
 		}
 
-		// Only attempt to save the qualification if we have an existing candidate
-		newReference = referenceRepository.save(greenReference);
+		// Only attempt to save the reference if we have an existing candidate; it is
+		// written with a single INSERT
+		greenReference.setId(null);
+		greenReference.setCandidate(existingCandidate);
+		Reference newReference = referenceRepository.save(greenReference);
 
-		// Add references to an existing Candidate instance
-		newReference.setCandidate(existingCandidate);
-		newReference = referenceRepository.save(newReference);
+		cvSnapshotCache.evict(reference.getCandidate().getId());
 
 		return newReference;
 
@@ -97,21 +71,17 @@ public class ReferenceServiceImpl implements ReferenceService {
 	@Override
 	public List<Reference> getReferences() {
 
-		List<Reference> references = referenceRepository.findAll().stream()
-		        .filter(p -> p.getVoided() != Lookup.VOIDED && p.getRetired() != Lookup.RETIRED)
-		        .collect(Collectors.toList());
-		
-		references.sort(Comparator.comparing(Reference::getId));
-		return references;
+		return referenceRepository.findAllActive();
+	}
+
+	@Override
+	public List<Reference> getReferencesAfter(Long afterId, int limit) {
+		return referenceRepository.findActiveAfter(afterId, PageRequest.of(0, limit));
 	}
 
 	@Override
 	public List<Reference> getReferences(Long candidateId) {
-		List<Reference> references = referenceRepository.findAll().stream().filter(p -> p.getVoided() != Lookup.VOIDED
-		        && p.getRetired() != Lookup.RETIRED && p.getCandidate().getId().longValue() == candidateId)
-		        .collect(Collectors.toList());
-		references.sort(Comparator.comparing(Reference::getId));
-		return references;
+		return referenceRepository.findAllActiveByCandidateId(candidateId);
 	}
 
 	@Override
@@ -129,12 +99,16 @@ public class ReferenceServiceImpl implements ReferenceService {
 	}
 
 	@Override
+	@Transactional
 	public void deleteReference(Long referenceId) throws EntryNotFoundException {
 		Reference reference = referenceRepository.findById(referenceId).orElse(null);
 		if (reference != null && reference.getVoided() != Lookup.VOIDED) {
 			reference.setVoided(Lookup.VOIDED);
 			reference.setVoidedReason("System operation - voided");
 			referenceRepository.save(reference);
+			if (reference.getCandidate() != null) {
+				cvSnapshotCache.evict(reference.getCandidate().getId());
+			}
 			log.info("Deleted reference with ID: " + referenceId);
 		} else {
 			throw new EntryNotFoundException("Invalid operation for [REFERENCE]." + referenceId);
@@ -142,15 +116,24 @@ public class ReferenceServiceImpl implements ReferenceService {
 	}
 
 	@Override
+	@Transactional
 	public void retireReference(Long referenceId) throws EntryNotFoundException {
 		Reference reference = referenceRepository.findById(referenceId).orElse(null);
 		if (reference != null && reference.getRetired() != Lookup.RETIRED) {
 			reference.setRetired(Lookup.RETIRED);
 			reference.setRetiredReason("System operation - retired");
 			referenceRepository.save(reference);
+			if (reference.getCandidate() != null) {
+				cvSnapshotCache.evict(reference.getCandidate().getId());
+			}
 			log.info("Retired reference with ID: " + referenceId);
 		} else {
 			throw new EntryNotFoundException("Invalid operation for [REFERENCE]." + referenceId);
 		}
 	}
+
+	@Override
+	public BatchResult<Reference> getActiveReferences(Collection<Long> referenceIds) {
+		return BatchLookups.lookup(referenceIds, referenceRepository::findNotVoidedIn);
+	}
 }
@@ -0,0 +1,146 @@
+package org.cvs.application.services;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ *
+ * Lets concurrent identical reads share one in-flight call to a service.
+ * <p>
+ * The first caller for a key runs the call on its own thread, with its own
+ * security context and transaction; callers arriving before it completes wait
+ * for and receive the same result or exception. Nothing is kept once the call
+ * completes, so this is not a cache. Keys include the caller's granted
+ * authorities, so callers whose permissions differ never share a result.
+ * <p>
+ * Calls must be made from outside a transaction, as waiting callers would
+ * otherwise hold a connection while they wait, and results are shared between
+ * threads, so they must not be modified.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Component
+public class RequestCoalescer implements MeterBinder {
+
+	private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+	private final AtomicLong executed = new AtomicLong();
+	private final AtomicLong coalesced = new AtomicLong();
+
+	/**
+	 * Runs a call, or joins an identical call that is already in flight.
+	 *
+	 * @param operation the name of the service method
+	 * @param call      the service call to be made
+	 * @param arguments the arguments of the service call
+	 *
+	 * @return the result of the call
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T execute(String operation, Supplier<T> call, Object... arguments) {
+		Key key = new Key(operation, Arrays.asList(arguments), authorities());
+
+		CompletableFuture<Object> mine = new CompletableFuture<>();
+		CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+		if (running != null) {
+			coalesced.incrementAndGet();
+			try {
+				return (T) running.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				if (e.getCause() instanceof Error) {
+					throw (Error) e.getCause();
+				}
+				throw e;
+			}
+		}
+
+		executed.incrementAndGet();
+		try {
+			T result = call.get();
+			mine.complete(result);
+			return result;
+		} catch (RuntimeException | Error e) {
+			mine.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, mine);
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("coalescer.calls", executed, AtomicLong::get).tag("result", "executed")
+		        .description("Service calls made on behalf of one or more callers").register(registry);
+		FunctionCounter.builder("coalescer.calls", coalesced, AtomicLong::get).tag("result", "coalesced")
+		        .description("Callers served by a call already in flight").register(registry);
+		Gauge.builder("coalescer.ratio", this, RequestCoalescer::ratio)
+		        .description("Share of callers served by a call already in flight").register(registry);
+		Gauge.builder("coalescer.inflight", inFlight, Map::size).description("Service calls in flight")
+		        .register(registry);
+	}
+
+	private double ratio() {
+		long joined = coalesced.get();
+		long total = joined + executed.get();
+		return total == 0 ? 0 : (double) joined / total;
+	}
+
+	private static List<String> authorities() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null) {
+			return Collections.emptyList();
+		}
+		return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).sorted()
+		        .collect(Collectors.toList());
+	}
+
+	private static final class Key {
+		private final String operation;
+		private final List<Object> arguments;
+		private final List<String> authorities;
+
+		private Key(String operation, List<Object> arguments, List<String> authorities) {
+			this.operation = operation;
+			this.arguments = arguments;
+			this.authorities = authorities;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) other;
+			return operation.equals(key.operation) && arguments.equals(key.arguments)
+			        && authorities.equals(key.authorities);
+		}
+
+		@Override
+		public int hashCode() {
+			return (operation.hashCode() * 31 + arguments.hashCode()) * 31 + authorities.hashCode();
+		}
+	}
+}
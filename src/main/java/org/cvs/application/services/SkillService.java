@@ -1,9 +1,11 @@
 package org.cvs.application.services;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.BatchResult;
 import org.cvs.data.entities.Skill;
 import org.springframework.stereotype.Service;
 
@@ -70,4 +72,26 @@ public interface SkillService {
 	 * @return a list of all active skill instances
 	 */
 	public List<Skill> getSkills(Long candidateId);
+
+	/**
+	 * Fetches a page of active {@link Skill} instances whose IDs follow a given
+	 * cursor, ordered by ID.
+	 *
+	 * @param afterId the ID of the last skill on the previous page
+	 * @param limit   the maximum number of skill instances to return
+	 * 
+	 * @return list of active skill instances
+	 */
+	public List<Skill> getSkillsAfter(Long afterId, int limit);
+
+	/**
+	 * Fetches the active {@link Skill} instances with the given IDs in a single
+	 * query.
+	 *
+	 * @param skillIds the distinct IDs to be used as search keys
+	 * 
+	 * @return the skills found in the order requested, and the IDs that were not
+	 *         found or are not active
+	 */
+	public BatchResult<Skill> getActiveSkills(Collection<Long> skillIds);
 }
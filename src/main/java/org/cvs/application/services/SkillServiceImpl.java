@@ -1,27 +1,25 @@
 package org.cvs.application.services;
 
-import java.util.Comparator;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
-
-import javax.validation.ConstraintViolation;
-import javax.validation.ConstraintViolationException;
-import javax.validation.Validator;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.BatchResult;
 import org.cvs.data.entities.Candidate;
 import org.cvs.data.entities.Skill;
 import org.cvs.data.repositories.SkillRepository;
 import org.cvs.utils.Lookup;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 public class SkillServiceImpl implements SkillService {
 
 	@Autowired
@@ -31,53 +29,40 @@ public class SkillServiceImpl implements SkillService {
 	private CandidateService candidateService;
 
 	@Autowired
-	private Validator validator;
+	private GreenEntries greenEntries;
+
+	@Autowired
+	private CvSnapshotCache cvSnapshotCache;
 
 	@Override
+	@Transactional
 	public Skill addSkill(Skill skill) {
 
-		Skill greenSkill = new Skill();
-
-		// Extract all fields to safely add to DB
-		greenSkill.setDescription(skill.getDescription());
-
-		greenSkill.setVoided(Lookup.NOT_VOIDED);
-		greenSkill.setRetired(Lookup.NOT_RETIRED);
-
-		// Validate using Bean constraints
-		Set<ConstraintViolation<Skill>> violations = validator.validate(greenSkill);
-		if (!violations.isEmpty()) {
-			StringBuilder sb = new StringBuilder();
-			for (ConstraintViolation<Skill> constraintViolation : violations) {
-				sb.append(" -> " + constraintViolation.getMessage());
-			}
-
-			throw new ConstraintViolationException("Validation error: " + sb.toString(), violations);
-		}
+		// Extract and validate the fields a client may set
+		Skill greenSkill = greenEntries.skill(skill);
 
 		// Only proceed to search for a candidate if we have reference
 		if (skill.getCandidate() == null || skill.getCandidate().getId() == null) {
 			throw new EntryNotFoundException("Unable to find existing CANDIDATE reference");
 		}
 
-		Skill newSkill = new Skill();
-
-		// Get a skill entity for the Candidate instance
-		Candidate existingCandidate = new Candidate();
+		// Get a reference to the Candidate instance without loading it
+		Candidate existingCandidate;
 		try {
-			existingCandidate = candidateService.getActiveCandidate(skill.getCandidate().getId());
+			existingCandidate = candidateService.getActiveCandidateReference(skill.getCandidate().getId());
 		} catch (EntryNotFoundException e) {
 			throw new EntryNotFoundException("Unable to find existing [CANDIDATE] " + skill.getCandidate().getId());
 		} catch (EntryNotActiveException e) {
 			throw new EntryNotFoundException("Unable to find active [CANDIDATE] " + skill.getCandidate().getId());
 		}
 
-		// Only attempt to save the Skill if we have an existing Candidate
-		newSkill = skillRepository.save(greenSkill);
+		// Only attempt to save the Skill if we have an existing Candidate; it is
+		// written with a single INSERT
+		greenSkill.setId(null);
+		greenSkill.setCandidate(existingCandidate);
+		Skill newSkill = skillRepository.save(greenSkill);
 
-		// Add the Skill to an existing Candidate instance
-		newSkill.setCandidate(existingCandidate);
-		newSkill = skillRepository.save(newSkill);
+		cvSnapshotCache.evict(skill.getCandidate().getId());
 
 		return newSkill;
 	}
@@ -85,23 +70,17 @@ public class SkillServiceImpl implements SkillService {
 	@Override
 	public List<Skill> getSkills() {
 
-		List<Skill> skills = skillRepository.findAll().stream()
-		        .filter(p -> p.getVoided() != Lookup.VOIDED && p.getRetired() != Lookup.RETIRED)
-		        .collect(Collectors.toList());
-		
-		skills.sort(Comparator.comparing(Skill::getId));
-		return skills;
+		return skillRepository.findAllActive();
 	}
 
 	@Override
-	public List<Skill> getSkills(Long candidateId) {
-
-		List<Skill> skills = skillRepository.findAll().stream().filter(p -> p.getVoided() != Lookup.VOIDED
-		        && p.getRetired() != Lookup.RETIRED && p.getCandidate().getId().longValue() == candidateId)
-		        .collect(Collectors.toList());
+	public List<Skill> getSkillsAfter(Long afterId, int limit) {
+		return skillRepository.findActiveAfter(afterId, PageRequest.of(0, limit));
+	}
 
-		skills.sort(Comparator.comparing(Skill::getId));
-		return skills;
+	@Override
+	public List<Skill> getSkills(Long candidateId) {
+		return skillRepository.findAllActiveByCandidateId(candidateId);
 	}
 
 	@Override
@@ -119,12 +98,16 @@ public class SkillServiceImpl implements SkillService {
 	}
 
 	@Override
+	@Transactional
 	public void deleteSkill(Long skillId) throws EntryNotFoundException {
 		Skill skill = skillRepository.findById(skillId).orElse(null);
 		if (skill != null && skill.getVoided() != Lookup.VOIDED) {
 			skill.setVoided(Lookup.VOIDED);
 			skill.setVoidedReason("System operation - voided");
 			skillRepository.save(skill);
+			if (skill.getCandidate() != null) {
+				cvSnapshotCache.evict(skill.getCandidate().getId());
+			}
 			log.info("Deleted skill with ID: " + skillId);
 		} else {
 			throw new EntryNotFoundException("Invalid operation for [SKILL]." + skillId);
@@ -132,15 +115,24 @@ public class SkillServiceImpl implements SkillService {
 	}
 
 	@Override
+	@Transactional
 	public void retireSkill(Long skillId) throws EntryNotFoundException {
 		Skill skill = skillRepository.findById(skillId).orElse(null);
 		if (skill != null && skill.getRetired() != Lookup.RETIRED) {
 			skill.setRetired(Lookup.RETIRED);
 			skill.setRetiredReason("System operation - retired");
 			skillRepository.save(skill);
+			if (skill.getCandidate() != null) {
+				cvSnapshotCache.evict(skill.getCandidate().getId());
+			}
 			log.info("Retired skill with ID: " + skillId);
 		} else {
 			throw new EntryNotFoundException("Invalid operation for [SKILL]." + skillId);
 		}
 	}
+
+	@Override
+	public BatchResult<Skill> getActiveSkills(Collection<Long> skillIds) {
+		return BatchLookups.lookup(skillIds, skillRepository::findNotVoidedIn);
+	}
 }
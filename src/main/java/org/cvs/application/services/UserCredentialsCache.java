@@ -0,0 +1,145 @@
+package org.cvs.application.services;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.cvs.utils.LruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ *
+ * Holds the credentials of recently authenticated users for a short time,
+ * keyed by username, so that repeated logins skip the user lookup.
+ * <p>
+ * Only the username and password hash are kept. Callers build a fresh
+ * <code>UserDetails</code> from them every time, since Spring Security erases
+ * the password of the instance it authenticates. As in
+ * {@link CvSnapshotCache}, a generation counter stops a slow reader from
+ * putting back credentials that a concurrent change has made stale.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Component
+public class UserCredentialsCache implements MeterBinder {
+
+	private static final String CACHE_NAME = "user-credentials";
+
+	private final LruCache<String, Credentials> credentials;
+
+	private final long ttlMs;
+
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * Constructor for this class.
+	 *
+	 * @param maxEntries the maximum number of users to hold
+	 * @param ttlMs      how long credentials are kept after they were loaded
+	 *
+	 */
+	public UserCredentialsCache(@Value("${cvs.security.user-cache.max-entries:10000}") int maxEntries,
+	        @Value("${cvs.security.user-cache.ttl-ms:30000}") long ttlMs) {
+		this.credentials = new LruCache<>(maxEntries);
+		this.ttlMs = ttlMs;
+	}
+
+	/**
+	 * Returns the current generation, to be read before credentials are loaded.
+	 *
+	 * @param
+	 *
+	 * @return the current generation of the cache
+	 */
+	public long generation() {
+		return generation.get();
+	}
+
+	/**
+	 * Returns the password hash cached for a user.
+	 *
+	 * @param username the name of the user
+	 *
+	 * @return the password hash, or <code>null</code> if there is none or it has
+	 *         expired
+	 */
+	public String getPassword(String username) {
+		Credentials cached = credentials.get(username);
+		if (cached == null) {
+			return null;
+		}
+		if (System.currentTimeMillis() - cached.loadedAt > ttlMs) {
+			credentials.remove(username);
+			return null;
+		}
+		return cached.password;
+	}
+
+	/**
+	 * Caches the password hash of a user unless the cache has been invalidated
+	 * since the given generation was read.
+	 *
+	 * @param username  the name of the user
+	 * @param password  the password hash of the user
+	 * @param builtFrom the generation read before the user was loaded
+	 *
+	 */
+	public synchronized void put(String username, String password, long builtFrom) {
+		if (generation.get() == builtFrom) {
+			credentials.put(username, new Credentials(password));
+		}
+	}
+
+	/**
+	 * Invalidates the credentials of a user. If called within a transaction,
+	 * they are invalidated again once the transaction commits.
+	 *
+	 * @param username the name of the user who has changed
+	 *
+	 */
+	public void evict(String username) {
+		remove(username);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					remove(username);
+				}
+			});
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("cache.gets", credentials, LruCache::getHitCount).tag("cache", CACHE_NAME)
+		        .tag("result", "hit").description("User credentials cache hits").register(registry);
+		FunctionCounter.builder("cache.gets", credentials, LruCache::getMissCount).tag("cache", CACHE_NAME)
+		        .tag("result", "miss").description("User credentials cache misses").register(registry);
+		FunctionCounter.builder("cache.evictions", credentials, LruCache::getEvictionCount).tag("cache", CACHE_NAME)
+		        .description("User credentials evicted to stay within the size limit").register(registry);
+		Gauge.builder("cache.size", credentials, LruCache::size).tag("cache", CACHE_NAME)
+		        .description("Number of cached user credentials").register(registry);
+	}
+
+	private synchronized void remove(String username) {
+		generation.incrementAndGet();
+		credentials.remove(username);
+	}
+
+	private static final class Credentials {
+		private final String password;
+		private final long loadedAt = System.currentTimeMillis();
+
+		private Credentials(String password) {
+			this.password = password;
+		}
+	}
+}
@@ -1,9 +1,12 @@
 package org.cvs.application.services;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.BatchResult;
+import org.cvs.data.dto.WorkExperienceSummary;
 import org.cvs.data.entities.WorkExperience;
 import org.springframework.stereotype.Service;
 
@@ -73,4 +76,37 @@ public interface WorkExperienceService {
 	 * @return a list of all active work experience instances
 	 */
 	public List<WorkExperience> getWorkExperiences(Long candidateId);
+
+	/**
+	 * Fetches a page of active {@link WorkExperience} instances whose IDs follow a given
+	 * cursor, ordered by ID.
+	 *
+	 * @param afterId the ID of the last work experience on the previous page
+	 * @param limit   the maximum number of work experience instances to return
+	 * 
+	 * @return list of active work experience instances
+	 */
+	public List<WorkExperience> getWorkExperiencesAfter(Long afterId, int limit);
+
+	/**
+	 * Fetches a page of active work experience read models whose IDs follow a given
+	 * cursor, ordered by ID.
+	 *
+	 * @param afterId the ID of the last work experience on the previous page
+	 * @param limit   the maximum number of read models to return
+	 * 
+	 * @return list of active work experience read models
+	 */
+	public List<WorkExperienceSummary> getWorkExperienceSummariesAfter(Long afterId, int limit);
+
+	/**
+	 * Fetches the active {@link WorkExperience} instances with the given IDs in a single
+	 * query.
+	 *
+	 * @param workExperienceIds the distinct IDs to be used as search keys
+	 * 
+	 * @return the work experiences found in the order requested, and the IDs that were not
+	 *         found or are not active
+	 */
+	public BatchResult<WorkExperience> getActiveWorkExperiences(Collection<Long> workExperienceIds);
 }
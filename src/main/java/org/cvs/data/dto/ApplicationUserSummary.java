@@ -0,0 +1,62 @@
+package org.cvs.data.dto;
+
+import java.io.IOException;
+
+import org.cvs.data.entities.ApplicationUser;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ *
+ * Flat read model of an {@link ApplicationUser}, without its password.
+ * <p>
+ * Audit fields and associations are not part of the model. It is written
+ * field by field to the JSON generator instead of through bean introspection.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@JsonSerialize(using = ApplicationUserSummary.Serializer.class)
+public class ApplicationUserSummary implements ReadModel {
+
+	private final Long id;
+
+	private final String username;
+
+	private final String fullName;
+
+	/**
+	 *
+	 * Writes a {@link ApplicationUserSummary} without reflection.
+	 *
+	 */
+	static class Serializer extends StdSerializer<ApplicationUserSummary> {
+
+		private static final long serialVersionUID = 1L;
+
+		Serializer() {
+			super(ApplicationUserSummary.class);
+		}
+
+		@Override
+		public void serialize(ApplicationUserSummary value, JsonGenerator gen, SerializerProvider provider)
+		        throws IOException {
+			gen.writeStartObject();
+			gen.writeNumberField("id", value.id);
+			gen.writeStringField("username", value.username);
+			gen.writeStringField("fullName", value.fullName);
+			gen.writeEndObject();
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package org.cvs.data.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ *
+ * Holds the outcome of fetching several entries by ID at once.
+ * <p>
+ * Each requested ID ends up in exactly one list, in the order requested: the
+ * entry is found, not found (missing or voided, where a single lookup reports
+ * <code>EntryNotFoundException</code>) or inactive (retired, where a single
+ * lookup reports <code>EntryNotActiveException</code>).
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ * @param <T> the type of the entries fetched
+ */
+@Getter
+@ToString
+@NoArgsConstructor
+public class BatchResult<T> {
+
+	private List<T> found = new ArrayList<>();
+
+	private List<Long> notFound = new ArrayList<>();
+
+	private List<Long> inactive = new ArrayList<>();
+
+	public void addFound(T entry) {
+		found.add(entry);
+	}
+
+	public void addNotFound(Long id) {
+		notFound.add(id);
+	}
+
+	public void addInactive(Long id) {
+		inactive.add(id);
+	}
+}
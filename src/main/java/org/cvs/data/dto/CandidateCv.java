@@ -0,0 +1,53 @@
+package org.cvs.data.dto;
+
+import java.util.List;
+
+import org.cvs.data.entities.Candidate;
+import org.cvs.data.entities.Qualification;
+import org.cvs.data.entities.Reference;
+import org.cvs.data.entities.Skill;
+import org.cvs.data.entities.WorkExperience;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ *
+ * Aggregates a {@link Candidate} and all of its active CV entries so that a
+ * full CV can be served in a single response.
+ * <p>
+ * The back reference to the candidate is left out of each entry since it is
+ * already the root of the document. The same document, one per line, is the
+ * input format of the bulk candidate import.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateCv {
+
+	private Candidate candidate;
+
+	@JsonIgnoreProperties("candidate")
+	private List<Skill> skills;
+
+	@JsonIgnoreProperties("candidate")
+	private List<Qualification> qualifications;
+
+	@JsonIgnoreProperties("candidate")
+	private List<WorkExperience> workExperiences;
+
+	@JsonIgnoreProperties("candidate")
+	private List<Reference> references;
+
+}
@@ -0,0 +1,99 @@
+package org.cvs.data.dto;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import org.cvs.data.entities.Candidate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ *
+ * Flat read model of a {@link Candidate}.
+ * <p>
+ * Audit fields and associations are not part of the model. It is written
+ * field by field to the JSON generator instead of through bean introspection.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@JsonSerialize(using = CandidateSummary.Serializer.class)
+public class CandidateSummary implements ReadModel {
+
+	private final Long id;
+
+	private final String title;
+
+	private final String firstName;
+
+	private final String middleName;
+
+	private final String lastName;
+
+	private final String email;
+
+	private final String preferredContactNumber;
+
+	private final String alternativeContactNumber;
+
+	private final String addressLine1;
+
+	private final String addressLine2;
+
+	private final String addressLine3;
+
+	private final String postcode;
+
+	private final String country;
+
+	private final String gender;
+
+	private final LocalDate dateOfBirth;
+
+	/**
+	 *
+	 * Writes a {@link CandidateSummary} without reflection.
+	 *
+	 */
+	static class Serializer extends StdSerializer<CandidateSummary> {
+
+		private static final long serialVersionUID = 1L;
+
+		Serializer() {
+			super(CandidateSummary.class);
+		}
+
+		@Override
+		public void serialize(CandidateSummary value, JsonGenerator gen, SerializerProvider provider)
+		        throws IOException {
+			gen.writeStartObject();
+			gen.writeNumberField("id", value.id);
+			gen.writeStringField("title", value.title);
+			gen.writeStringField("firstName", value.firstName);
+			gen.writeStringField("middleName", value.middleName);
+			gen.writeStringField("lastName", value.lastName);
+			gen.writeStringField("email", value.email);
+			gen.writeStringField("preferredContactNumber", value.preferredContactNumber);
+			gen.writeStringField("alternativeContactNumber", value.alternativeContactNumber);
+			gen.writeStringField("addressLine1", value.addressLine1);
+			gen.writeStringField("addressLine2", value.addressLine2);
+			gen.writeStringField("addressLine3", value.addressLine3);
+			gen.writeStringField("postcode", value.postcode);
+			gen.writeStringField("country", value.country);
+			gen.writeStringField("gender", value.gender);
+			ReadModels.writeDateField(gen, "dateOfBirth", value.dateOfBirth);
+			gen.writeEndObject();
+		}
+	}
+}
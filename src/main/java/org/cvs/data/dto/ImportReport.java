@@ -0,0 +1,89 @@
+package org.cvs.data.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ *
+ * Summarises the outcome of a bulk import, with the line number and reason of
+ * every rejected row.
+ * <p>
+ * Only the first <code>maxErrors</code> rejections are listed; the count of
+ * failed rows is always complete.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Getter
+@ToString
+@NoArgsConstructor
+public class ImportReport {
+
+	private long received;
+
+	private long imported;
+
+	private long failed;
+
+	private boolean errorsTruncated;
+
+	private List<RowError> errors = new ArrayList<>();
+
+	/**
+	 * Records rows read from the input.
+	 *
+	 * @param rows the number of rows read
+	 *
+	 */
+	public void addReceived(long rows) {
+		received += rows;
+	}
+
+	/**
+	 * Records rows that were persisted.
+	 *
+	 * @param rows the number of rows persisted
+	 *
+	 */
+	public void addImported(long rows) {
+		imported += rows;
+	}
+
+	/**
+	 * Records a rejected row.
+	 *
+	 * @param line      the line number of the row in the input
+	 * @param message   the reason the row was rejected
+	 * @param maxErrors the maximum number of rejections to be listed
+	 *
+	 */
+	public void addError(long line, String message, int maxErrors) {
+		failed++;
+		if (errors.size() < maxErrors) {
+			errors.add(new RowError(line, message));
+		} else {
+			errorsTruncated = true;
+		}
+	}
+
+	/**
+	 *
+	 * A rejected row in an import.
+	 *
+	 */
+	@Getter
+	@ToString
+	@AllArgsConstructor
+	public static class RowError {
+
+		private long line;
+
+		private String message;
+	}
+}
@@ -0,0 +1,65 @@
+package org.cvs.data.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ *
+ * Summarises the outcome of linking entries to, or unlinking them from, a
+ * portfolio in bulk.
+ * <p>
+ * Requested IDs are either changed (a link was added or removed), unchanged
+ * (the link was already in the requested state) or rejected (no active entry
+ * with the ID exists).
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Getter
+@ToString
+@NoArgsConstructor
+public class LinkReport {
+
+	private Long portfolioId;
+
+	private long requested;
+
+	private long changed;
+
+	private long unchanged;
+
+	private List<Long> rejected = new ArrayList<>();
+
+	public LinkReport(Long portfolioId) {
+		this.portfolioId = portfolioId;
+	}
+
+	/**
+	 * Records the outcome of one block of requested IDs.
+	 *
+	 * @param requested the number of distinct IDs in the block
+	 * @param accepted  the number of IDs that refer to active entries
+	 * @param changed   the number of links added or removed
+	 *
+	 */
+	public void addBlock(long requested, long accepted, long changed) {
+		this.requested += requested;
+		this.changed += changed;
+		this.unchanged += accepted - changed;
+	}
+
+	/**
+	 * Records IDs that do not refer to active entries.
+	 *
+	 * @param ids the rejected IDs
+	 *
+	 */
+	public void addRejected(List<Long> ids) {
+		rejected.addAll(ids);
+	}
+}
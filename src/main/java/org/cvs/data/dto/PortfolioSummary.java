@@ -0,0 +1,59 @@
+package org.cvs.data.dto;
+
+import java.io.IOException;
+
+import org.cvs.data.entities.Portfolio;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ *
+ * Flat read model of a {@link Portfolio}.
+ * <p>
+ * Audit fields and associations are not part of the model. It is written
+ * field by field to the JSON generator instead of through bean introspection.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@JsonSerialize(using = PortfolioSummary.Serializer.class)
+public class PortfolioSummary implements ReadModel {
+
+	private final Long id;
+
+	private final String name;
+
+	/**
+	 *
+	 * Writes a {@link PortfolioSummary} without reflection.
+	 *
+	 */
+	static class Serializer extends StdSerializer<PortfolioSummary> {
+
+		private static final long serialVersionUID = 1L;
+
+		Serializer() {
+			super(PortfolioSummary.class);
+		}
+
+		@Override
+		public void serialize(PortfolioSummary value, JsonGenerator gen, SerializerProvider provider)
+		        throws IOException {
+			gen.writeStartObject();
+			gen.writeNumberField("id", value.id);
+			gen.writeStringField("name", value.name);
+			gen.writeEndObject();
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package org.cvs.data.dto;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import org.cvs.data.entities.Qualification;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ *
+ * Flat read model of a {@link Qualification}, with the IDs of its candidate
+ * and qualification type.
+ * <p>
+ * Audit fields and associations are not part of the model. It is written
+ * field by field to the JSON generator instead of through bean introspection.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@JsonSerialize(using = QualificationSummary.Serializer.class)
+public class QualificationSummary implements ReadModel {
+
+	private final Long id;
+
+	private final String name;
+
+	private final String institution;
+
+	private final String country;
+
+	private final LocalDate dateObtained;
+
+	private final Long candidateId;
+
+	private final Long qualificationTypeId;
+
+	private final String qualificationTypeName;
+
+	/**
+	 *
+	 * Writes a {@link QualificationSummary} without reflection.
+	 *
+	 */
+	static class Serializer extends StdSerializer<QualificationSummary> {
+
+		private static final long serialVersionUID = 1L;
+
+		Serializer() {
+			super(QualificationSummary.class);
+		}
+
+		@Override
+		public void serialize(QualificationSummary value, JsonGenerator gen, SerializerProvider provider)
+		        throws IOException {
+			gen.writeStartObject();
+			gen.writeNumberField("id", value.id);
+			gen.writeStringField("name", value.name);
+			gen.writeStringField("institution", value.institution);
+			gen.writeStringField("country", value.country);
+			ReadModels.writeDateField(gen, "dateObtained", value.dateObtained);
+			ReadModels.writeNumberField(gen, "candidateId", value.candidateId);
+			ReadModels.writeNumberField(gen, "qualificationTypeId", value.qualificationTypeId);
+			gen.writeStringField("qualificationTypeName", value.qualificationTypeName);
+			gen.writeEndObject();
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package org.cvs.data.dto;
+
+/**
+ *
+ * A flat, read-only projection of an entity that is populated directly by a
+ * query and serialised without touching the persistence context.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+public interface ReadModel {
+
+	/**
+	 * Returns the ID of the projected entity, used as the keyset cursor.
+	 *
+	 * @param
+	 *
+	 * @return the entity ID
+	 */
+	Long getId();
+}
@@ -0,0 +1,48 @@
+package org.cvs.data.dto;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ *
+ * Field writers shared by the {@link ReadModel} serializers.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+final class ReadModels {
+
+	private ReadModels() {
+	}
+
+	/**
+	 * Writes an optional number field.
+	 *
+	 * @param gen   the generator to write to
+	 * @param name  the field name
+	 * @param value the value, possibly null
+	 *
+	 */
+	static void writeNumberField(JsonGenerator gen, String name, Long value) throws IOException {
+		if (value == null) {
+			gen.writeNullField(name);
+		} else {
+			gen.writeNumberField(name, value.longValue());
+		}
+	}
+
+	/**
+	 * Writes an optional date field in ISO-8601 form.
+	 *
+	 * @param gen   the generator to write to
+	 * @param name  the field name
+	 * @param value the value, possibly null
+	 *
+	 */
+	static void writeDateField(JsonGenerator gen, String name, LocalDate value) throws IOException {
+		gen.writeStringField(name, value == null ? null : value.toString());
+	}
+}
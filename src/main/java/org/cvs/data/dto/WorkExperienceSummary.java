@@ -0,0 +1,75 @@
+package org.cvs.data.dto;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import org.cvs.data.entities.WorkExperience;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ *
+ * Flat read model of a {@link WorkExperience}, with the ID of its candidate.
+ * <p>
+ * Audit fields and associations are not part of the model. It is written
+ * field by field to the JSON generator instead of through bean introspection.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@JsonSerialize(using = WorkExperienceSummary.Serializer.class)
+public class WorkExperienceSummary implements ReadModel {
+
+	private final Long id;
+
+	private final String organisation;
+
+	private final String country;
+
+	private final String position;
+
+	private final LocalDate startDate;
+
+	private final LocalDate endDate;
+
+	private final Long candidateId;
+
+	/**
+	 *
+	 * Writes a {@link WorkExperienceSummary} without reflection.
+	 *
+	 */
+	static class Serializer extends StdSerializer<WorkExperienceSummary> {
+
+		private static final long serialVersionUID = 1L;
+
+		Serializer() {
+			super(WorkExperienceSummary.class);
+		}
+
+		@Override
+		public void serialize(WorkExperienceSummary value, JsonGenerator gen, SerializerProvider provider)
+		        throws IOException {
+			gen.writeStartObject();
+			gen.writeNumberField("id", value.id);
+			gen.writeStringField("organisation", value.organisation);
+			gen.writeStringField("country", value.country);
+			gen.writeStringField("position", value.position);
+			ReadModels.writeDateField(gen, "startDate", value.startDate);
+			ReadModels.writeDateField(gen, "endDate", value.endDate);
+			ReadModels.writeNumberField(gen, "candidateId", value.candidateId);
+			gen.writeEndObject();
+		}
+	}
+}
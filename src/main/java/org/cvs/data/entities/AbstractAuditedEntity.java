@@ -8,18 +8,31 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.LastModifiedBy;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import lombok.Getter;
 import lombok.Setter;
 
 /**
  * 
  * Abstract class that defines audit fields for database tables.
+ * <p>
+ * IDs come from one sequence per entity (e.g. <code>candidate_seq</code>) and
+ * are handed out in blocks of {@value #ID_ALLOCATION_SIZE} from memory, so
+ * inserts into different tables do not contend on a single sequence and can be
+ * batched.
+ * <p>
+ * Associations may hold unloaded references, so the proxy internals are left
+ * out when an entity is serialised.
  * 
  * @author Yamiko J. Msosa
  * @version 1.0
@@ -28,10 +41,18 @@ import lombok.Setter;
 @Getter
 @Setter
 @MappedSuperclass
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 @EntityListeners(AuditingEntityListener.class)
 public abstract class AbstractAuditedEntity {
+	public static final String ID_ALLOCATION_SIZE = "50";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "entity_sequence")
+	@GenericGenerator(name = "entity_sequence", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+	        @Parameter(name = SequenceStyleGenerator.CONFIG_PREFER_SEQUENCE_PER_ENTITY, value = "true"),
+	        @Parameter(name = SequenceStyleGenerator.CONFIG_SEQUENCE_PER_ENTITY_SUFFIX, value = "_seq"),
+	        @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = ID_ALLOCATION_SIZE),
+	        @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo") })
 	private Long id = -1L;
 
 	@CreatedDate
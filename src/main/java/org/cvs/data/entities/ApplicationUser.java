@@ -6,12 +6,17 @@ import java.util.Set;
 import javax.persistence.CascadeType;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.validation.constraints.NotBlank;
 
+import org.cvs.utils.Lookup;
+import org.hibernate.annotations.BatchSize;
+
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
 import lombok.NoArgsConstructor;
@@ -41,14 +46,18 @@ public class ApplicationUser extends AbstractRetirableEntity {
 	@NotBlank(message = "User name should not be blank")
 	private String username;
 
+	// Accepted when a user is added, never written to a response
 	@NotBlank(message = "Password should not be blank")
+	@JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
 	private String password;
 
 	@NotBlank(message = "Full name should not be blank")
 	private String fullName;
 
 	@ManyToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
-	@JoinTable(name = "application_user_portfolio", joinColumns = @JoinColumn(name = "application_user_id"), inverseJoinColumns = @JoinColumn(name = "portfolio_id"))
+	@JoinTable(name = "application_user_portfolio", joinColumns = @JoinColumn(name = "application_user_id"), inverseJoinColumns = @JoinColumn(name = "portfolio_id"), indexes = {
+	        @Index(name = "application_user_portfolio_portfolio_idx", columnList = "portfolio_id, application_user_id") })
+	@BatchSize(size = Lookup.DEFAULT_PAGE_SIZE)
 	private Set<Portfolio> portfolio = new HashSet<>();
 
 	/**
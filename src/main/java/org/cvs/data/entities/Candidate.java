@@ -7,6 +7,7 @@ import java.util.Set;
 import javax.persistence.CascadeType;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
@@ -16,6 +17,9 @@ import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Past;
 import javax.validation.constraints.Pattern;
 
+import org.cvs.utils.Lookup;
+import org.hibernate.annotations.BatchSize;
+
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
@@ -68,7 +72,9 @@ public class Candidate extends AbstractRetirableEntity {
 	private LocalDate dateOfBirth;
 
 	@ManyToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
-	@JoinTable(name = "candidate_portfolio", joinColumns = @JoinColumn(name = "candidate_id"), inverseJoinColumns = @JoinColumn(name = "portfolio_id"))
+	@JoinTable(name = "candidate_portfolio", joinColumns = @JoinColumn(name = "candidate_id"), inverseJoinColumns = @JoinColumn(name = "portfolio_id"), indexes = {
+	        @Index(name = "candidate_portfolio_portfolio_idx", columnList = "portfolio_id, candidate_id") })
+	@BatchSize(size = Lookup.DEFAULT_PAGE_SIZE)
 	private Set<Portfolio> portfolio = new HashSet<>();
 
 	public Candidate(String firstName, String middleName, String lastName) {
@@ -9,6 +9,10 @@ import javax.persistence.FetchType;
 import javax.persistence.ManyToMany;
 import javax.validation.constraints.NotBlank;
 
+import org.cvs.utils.Lookup;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Where;
+
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
@@ -20,6 +24,11 @@ import lombok.ToString;
 /**
  * 
  * Defines structure and relationship(s) for the <code>portfolio</code> table.
+ * <p>
+ * Voided users and candidates are excluded from the member collections when
+ * they are loaded, whether lazily or through a fetch join. Members are fetched
+ * for a page of portfolios at a time, in one query per collection, rather than
+ * one query per portfolio.
  * 
  * @author Yamiko J. Msosa
  * @version 1.0
@@ -37,9 +46,13 @@ public class Portfolio extends AbstractRetirableEntity {
 	private String name;
 
 	@ManyToMany(fetch = FetchType.LAZY, cascade = { CascadeType.PERSIST, CascadeType.MERGE }, mappedBy = "portfolio")
+	@Where(clause = "voided = 0")
+	@BatchSize(size = Lookup.DEFAULT_PAGE_SIZE)
 	private Set<ApplicationUser> applicationUser = new HashSet<>();
 
 	@ManyToMany(fetch = FetchType.LAZY, cascade = { CascadeType.PERSIST, CascadeType.MERGE }, mappedBy = "portfolio")
+	@Where(clause = "voided = 0")
+	@BatchSize(size = Lookup.DEFAULT_PAGE_SIZE)
 	private Set<Candidate> candidate = new HashSet<>();
 
 	public Portfolio(String name) {
@@ -1,12 +1,13 @@
 package org.cvs.data.repositories;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
+import org.cvs.data.dto.ApplicationUserSummary;
 import org.cvs.data.entities.ApplicationUser;
 
 /**
@@ -17,7 +18,7 @@ import org.cvs.data.entities.ApplicationUser;
  * @version 1.0
  *
  */
-public interface ApplicationUserRepository extends CrudRepository<ApplicationUser, Long> {
+public interface ApplicationUserRepository extends RetirableEntityRepository<ApplicationUser> {
 
 	/**
 	 * Returns an optional {@link ApplicationUser} given its ID.
@@ -95,4 +96,40 @@ public interface ApplicationUserRepository extends CrudRepository<ApplicationUse
 	List<ApplicationUser> findByUsernameAndActiveFlags(@Param("username") String username,
 	        @Param("voidedFlag") Integer voidedFlag, @Param("retiredFlag") Integer retiredFlag);
 
+	/**
+	 * Returns the active {@link ApplicationUser} with a given username. Usernames
+	 * of users that are not voided are unique, so at most one row matches.
+	 *
+	 * @param username username to be used for the search
+	 * 
+	 * @return an optional active application user instance with the username
+	 */
+	@Query("SELECT a FROM ApplicationUser a WHERE a.username = :username AND a.voided = 0 AND a.retired = 0")
+	Optional<ApplicationUser> findActiveByUsername(@Param("username") String username);
+
+	/**
+	 * Returns all active {@link ApplicationUser}s that belong to a given portfolio
+	 * ordered by ID.
+	 *
+	 * @param portfolioId the ID of the portfolio to filter application users for
+	 * 
+	 * @return a list of active application user instances for the portfolio
+	 */
+	@Query("SELECT a FROM ApplicationUser a JOIN a.portfolio p WHERE p.id = :portfolioId AND a.voided = 0 AND a.retired = 0 ORDER BY a.id")
+	List<ApplicationUser> findAllActiveByPortfolioId(@Param("portfolioId") Long portfolioId);
+
+	/**
+	 * Returns a page of active application user read models whose IDs are greater than a
+	 * given cursor, ordered by ID. Only the projected columns are selected and
+	 * no entities are loaded.
+	 *
+	 * @param afterId  the ID of the last application user on the previous page
+	 * @param pageable the page size to be applied to the query
+	 * 
+	 * @return a list of application user read models that follow the cursor
+	 */
+	@Query("SELECT new org.cvs.data.dto.ApplicationUserSummary(u.id, u.username, u.fullName) "
+	        + "FROM ApplicationUser u WHERE u.voided = 0 AND u.retired = 0 AND u.id > :afterId ORDER BY u.id")
+	List<ApplicationUserSummary> findActiveSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
 }
@@ -1,10 +1,13 @@
 package org.cvs.data.repositories;
 
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
+import org.cvs.data.dto.CandidateSummary;
 import org.cvs.data.entities.Candidate;
 
 /**
@@ -15,7 +18,7 @@ import org.cvs.data.entities.Candidate;
  * @version 1.0
  *
  */
-public interface CandidateRepository extends CrudRepository<Candidate, Long> {
+public interface CandidateRepository extends RetirableEntityRepository<Candidate> {
 
 	/**
 	 * Returns an optional {@link Candidate} given its ID.
@@ -53,4 +56,31 @@ public interface CandidateRepository extends CrudRepository<Candidate, Long> {
 	 */
 	List<Candidate> findAll();
 
+	/**
+	 * Returns all active {@link Candidate}s that belong to a given portfolio
+	 * ordered by ID.
+	 *
+	 * @param portfolioId the ID of the portfolio to filter candidates for
+	 * 
+	 * @return a list of active candidate instances for the portfolio
+	 */
+	@Query("SELECT c FROM Candidate c JOIN c.portfolio p WHERE p.id = :portfolioId AND c.voided = 0 AND c.retired = 0 ORDER BY c.id")
+	List<Candidate> findAllActiveByPortfolioId(@Param("portfolioId") Long portfolioId);
+
+	/**
+	 * Returns a page of active candidate read models whose IDs are greater than a
+	 * given cursor, ordered by ID. Only the projected columns are selected and
+	 * no entities are loaded.
+	 *
+	 * @param afterId  the ID of the last candidate on the previous page
+	 * @param pageable the page size to be applied to the query
+	 * 
+	 * @return a list of candidate read models that follow the cursor
+	 */
+	@Query("SELECT new org.cvs.data.dto.CandidateSummary(c.id, c.title, c.firstName, c.middleName, c.lastName, "
+	        + "c.email, c.preferredContactNumber, c.alternativeContactNumber, c.addressLine1, c.addressLine2, "
+	        + "c.addressLine3, c.postcode, c.country, c.gender, c.dateOfBirth) "
+	        + "FROM Candidate c WHERE c.voided = 0 AND c.retired = 0 AND c.id > :afterId ORDER BY c.id")
+	List<CandidateSummary> findActiveSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
 }
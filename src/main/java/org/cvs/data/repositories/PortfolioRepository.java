@@ -1,11 +1,15 @@
 package org.cvs.data.repositories;
 
-import org.springframework.data.repository.CrudRepository;
-
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.cvs.data.dto.PortfolioSummary;
 import org.cvs.data.entities.Portfolio;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * 
@@ -15,7 +19,7 @@ import org.cvs.data.entities.Portfolio;
  * @version 1.0
  *
  */
-public interface PortfolioRepository extends CrudRepository<Portfolio, Long> {
+public interface PortfolioRepository extends RetirableEntityRepository<Portfolio> {
 
 	/**
 	 * Returns an optional {@link Portfolio} given its ID.
@@ -26,6 +30,33 @@ public interface PortfolioRepository extends CrudRepository<Portfolio, Long> {
 	 */
 	Optional<Portfolio> findById(Long id);
 
+	/**
+	 * Returns an optional {@link Portfolio} given its ID, with its users and
+	 * candidates fetched in the same query. Voided members are left out by the
+	 * mapping.
+	 *
+	 * @param id the identifier to be used as a search key
+	 * 
+	 * @return an optional portfolio with its members loaded
+	 */
+	@Query("SELECT DISTINCT p FROM Portfolio p LEFT JOIN FETCH p.applicationUser LEFT JOIN FETCH p.candidate "
+	        + "WHERE p.id = :id")
+	Optional<Portfolio> findWithMembersById(@Param("id") Long id);
+
+	/**
+	 * Returns the portfolios among the given IDs that are not voided, with their
+	 * users and candidates fetched in the same query, ordered by ID. Voided
+	 * members are left out by the mapping.
+	 *
+	 * @param ids identifiers of the portfolios to be loaded
+	 * 
+	 * @return the portfolios with the given IDs that are not voided, with their
+	 *         members loaded
+	 */
+	@Query("SELECT DISTINCT p FROM Portfolio p LEFT JOIN FETCH p.applicationUser LEFT JOIN FETCH p.candidate "
+	        + "WHERE p.id IN :ids AND p.voided = 0 ORDER BY p.id")
+	List<Portfolio> findNotVoidedWithMembersIn(@Param("ids") Collection<Long> ids);
+
 	/**
 	 * Persists a given {@link Portfolio} DTO to the database.
 	 *
@@ -53,4 +84,83 @@ public interface PortfolioRepository extends CrudRepository<Portfolio, Long> {
 	 */
 	List<Portfolio> findAll();
 
+	/**
+	 * Returns the active {@link Portfolio}s linked to an application user, ordered
+	 * by ID.
+	 *
+	 * @param userId the ID of the application user
+	 * 
+	 * @return list of active portfolio instances linked to the user
+	 */
+	@Query("SELECT p FROM Portfolio p JOIN p.applicationUser u WHERE u.id = :userId AND p.voided = 0 AND p.retired = 0 ORDER BY p.id")
+	List<Portfolio> findActiveByUserId(@Param("userId") Long userId);
+
+	/**
+	 * Links candidates to a {@link Portfolio} by writing the join rows directly,
+	 * skipping links that already exist through the primary key of the join
+	 * table. The owning collections are not loaded.
+	 *
+	 * @param portfolioId  the ID of the portfolio
+	 * @param candidateIds the IDs of the candidates to be linked
+	 * 
+	 * @return the number of links added
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "INSERT INTO candidate_portfolio (candidate_id, portfolio_id) SELECT c.id, :portfolioId FROM candidate c "
+	        + "WHERE c.id IN (:candidateIds) ON CONFLICT (candidate_id, portfolio_id) DO NOTHING", nativeQuery = true)
+	int linkCandidates(@Param("portfolioId") Long portfolioId, @Param("candidateIds") Collection<Long> candidateIds);
+
+	/**
+	 * Removes the links between candidates and a {@link Portfolio}.
+	 *
+	 * @param portfolioId  the ID of the portfolio
+	 * @param candidateIds the IDs of the candidates to be unlinked
+	 * 
+	 * @return the number of links removed
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "DELETE FROM candidate_portfolio WHERE portfolio_id = :portfolioId AND candidate_id IN (:candidateIds)", nativeQuery = true)
+	int unlinkCandidates(@Param("portfolioId") Long portfolioId, @Param("candidateIds") Collection<Long> candidateIds);
+
+	/**
+	 * Links application users to a {@link Portfolio} by writing the join rows
+	 * directly, skipping links that already exist through the primary key of the
+	 * join table. The owning collections are not loaded.
+	 *
+	 * @param portfolioId the ID of the portfolio
+	 * @param userIds     the IDs of the users to be linked
+	 * 
+	 * @return the number of links added
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "INSERT INTO application_user_portfolio (application_user_id, portfolio_id) SELECT u.id, :portfolioId FROM application_user u "
+	        + "WHERE u.id IN (:userIds) ON CONFLICT (application_user_id, portfolio_id) DO NOTHING", nativeQuery = true)
+	int linkUsers(@Param("portfolioId") Long portfolioId, @Param("userIds") Collection<Long> userIds);
+
+	/**
+	 * Removes the links between application users and a {@link Portfolio}.
+	 *
+	 * @param portfolioId the ID of the portfolio
+	 * @param userIds     the IDs of the users to be unlinked
+	 * 
+	 * @return the number of links removed
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "DELETE FROM application_user_portfolio WHERE portfolio_id = :portfolioId AND application_user_id IN (:userIds)", nativeQuery = true)
+	int unlinkUsers(@Param("portfolioId") Long portfolioId, @Param("userIds") Collection<Long> userIds);
+
+	/**
+	 * Returns a page of active portfolio read models whose IDs are greater than a
+	 * given cursor, ordered by ID. Only the projected columns are selected and
+	 * no entities are loaded.
+	 *
+	 * @param afterId  the ID of the last portfolio on the previous page
+	 * @param pageable the page size to be applied to the query
+	 * 
+	 * @return a list of portfolio read models that follow the cursor
+	 */
+	@Query("SELECT new org.cvs.data.dto.PortfolioSummary(p.id, p.name) "
+	        + "FROM Portfolio p WHERE p.voided = 0 AND p.retired = 0 AND p.id > :afterId ORDER BY p.id")
+	List<PortfolioSummary> findActiveSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
 }
@@ -1,10 +1,13 @@
 package org.cvs.data.repositories;
 
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
+import org.cvs.data.dto.QualificationSummary;
 import org.cvs.data.entities.Qualification;
 
 /**
@@ -15,7 +18,7 @@ import org.cvs.data.entities.Qualification;
  * @version 1.0
  *
  */
-public interface QualificationRepository extends CrudRepository<Qualification, Long> {
+public interface QualificationRepository extends RetirableEntityRepository<Qualification> {
 
 	/**
 	 * Returns an optional {@link Qualification} given its ID.
@@ -62,4 +65,30 @@ public interface QualificationRepository extends CrudRepository<Qualification, L
 	 */
 	List<Qualification> findAllByName(String name);
 
+	/**
+	 * Returns all active {@link Qualification} instances for a given candidate ordered by
+	 * ID, together with their {@link org.cvs.data.entities.QualificationType}.
+	 *
+	 * @param candidateId the ID of the candidate to filter qualifications for
+	 * 
+	 * @return a list of active qualification instances for the candidate
+	 */
+	@Query("SELECT q FROM Qualification q LEFT JOIN FETCH q.qualificationType WHERE q.candidate.id = :candidateId AND q.voided = 0 AND q.retired = 0 ORDER BY q.id")
+	List<Qualification> findAllActiveByCandidateId(@Param("candidateId") Long candidateId);
+
+	/**
+	 * Returns a page of active qualification read models whose IDs are greater than a
+	 * given cursor, ordered by ID. Only the projected columns are selected and
+	 * no entities are loaded.
+	 *
+	 * @param afterId  the ID of the last qualification on the previous page
+	 * @param pageable the page size to be applied to the query
+	 * 
+	 * @return a list of qualification read models that follow the cursor
+	 */
+	@Query("SELECT new org.cvs.data.dto.QualificationSummary(q.id, q.name, q.institution, q.country, q.dateObtained, "
+	        + "q.candidate.id, t.id, t.name) "
+	        + "FROM Qualification q LEFT JOIN q.qualificationType t WHERE q.voided = 0 AND q.retired = 0 AND q.id > :afterId ORDER BY q.id")
+	List<QualificationSummary> findActiveSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
 }
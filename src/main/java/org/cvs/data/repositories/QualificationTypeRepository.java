@@ -1,7 +1,5 @@
 package org.cvs.data.repositories;
 
-import org.springframework.data.repository.CrudRepository;
-
 import java.util.List;
 import java.util.Optional;
 
@@ -15,7 +13,7 @@ import org.cvs.data.entities.QualificationType;
  * @version 1.0
  *
  */
-public interface QualificationTypeRepository extends CrudRepository<QualificationType, Long> {
+public interface QualificationTypeRepository extends RetirableEntityRepository<QualificationType> {
 
 	/**
 	 * Returns an optional {@link QualificationType} given its ID.
@@ -1,6 +1,7 @@
 package org.cvs.data.repositories;
 
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,7 +16,7 @@ import org.cvs.data.entities.Reference;
  * @version 1.0
  *
  */
-public interface ReferenceRepository extends CrudRepository<Reference, Long> {
+public interface ReferenceRepository extends RetirableEntityRepository<Reference> {
 
 	/**
 	 * Returns an optional {@link Reference} given its ID.
@@ -43,4 +44,16 @@ public interface ReferenceRepository extends CrudRepository<Reference, Long> {
 	 * @return a list of all reference instances from the database
 	 */
 	List<Reference> findAll();
+
+	/**
+	 * Returns all active {@link Reference} instances for a given candidate ordered by
+	 * ID.
+	 *
+	 * @param candidateId the ID of the candidate to filter references for
+	 * 
+	 * @return a list of active reference instances for the candidate
+	 */
+	@Query("SELECT r FROM Reference r WHERE r.candidate.id = :candidateId AND r.voided = 0 AND r.retired = 0 ORDER BY r.id")
+	List<Reference> findAllActiveByCandidateId(@Param("candidateId") Long candidateId);
+
 }
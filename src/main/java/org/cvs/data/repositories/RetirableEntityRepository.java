@@ -0,0 +1,98 @@
+package org.cvs.data.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.cvs.data.entities.AbstractRetirableEntity;
+
+/**
+ *
+ * Provides soft-delete aware read operations shared by all repositories of
+ * {@link AbstractRetirableEntity} subclasses.
+ * <p>
+ * Filtering on the <code>voided</code> and <code>retired</code> flags happens
+ * in the database so that inactive rows are never loaded into memory.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ * @param <T> the retirable entity type managed by the repository
+ */
+@NoRepositoryBean
+public interface RetirableEntityRepository<T extends AbstractRetirableEntity> extends CrudRepository<T, Long> {
+
+	/**
+	 * Returns all active (neither voided nor retired) entities ordered by ID.
+	 *
+	 * @param
+	 *
+	 * @return a list of active entity instances from the database
+	 */
+	@Query("SELECT e FROM #{#entityName} e WHERE e.voided = 0 AND e.retired = 0 ORDER BY e.id")
+	List<T> findAllActive();
+
+	/**
+	 * Returns a page of active entities whose IDs are greater than a given cursor,
+	 * ordered by ID.
+	 * <p>
+	 * Only the page size of the given {@link Pageable} is expected to be set, so
+	 * deep pages cost the same as the first one.
+	 *
+	 * @param afterId  the ID of the last entity on the previous page
+	 * @param pageable the page size to be applied to the query
+	 *
+	 * @return a list of active entity instances that follow the cursor
+	 */
+	@Query("SELECT e FROM #{#entityName} e WHERE e.voided = 0 AND e.retired = 0 AND e.id > :afterId ORDER BY e.id")
+	List<T> findActiveAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+	/**
+	 * Checks whether an active (neither voided nor retired) entity with the given
+	 * ID exists, without loading it.
+	 *
+	 * @param id identifier of the entity
+	 *
+	 * @return true if an active entity with the ID exists
+	 */
+	@Query("SELECT CASE WHEN COUNT(e) > 0 THEN true ELSE false END FROM #{#entityName} e WHERE e.id = :id AND e.voided = 0 AND e.retired = 0")
+	boolean existsActiveById(@Param("id") Long id);
+
+	/**
+	 * Returns the IDs among the given ones that belong to active entities, in a
+	 * single query.
+	 *
+	 * @param ids identifiers to be checked
+	 *
+	 * @return the subset of IDs that refer to active entities
+	 */
+	@Query("SELECT e.id FROM #{#entityName} e WHERE e.id IN :ids AND e.voided = 0 AND e.retired = 0")
+	List<Long> findActiveIdsIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Returns the entities among the given IDs that are not voided, retired ones
+	 * included, in a single query ordered by ID.
+	 *
+	 * @param ids identifiers of the entities to be loaded
+	 *
+	 * @return the entities with the given IDs that are not voided
+	 */
+	@Query("SELECT e FROM #{#entityName} e WHERE e.id IN :ids AND e.voided = 0 ORDER BY e.id")
+	List<T> findNotVoidedIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Returns a reference to the entity with the given ID without loading it, to
+	 * be used when setting associations.
+	 *
+	 * @param id identifier of the entity
+	 *
+	 * @return a lazily loaded reference to the entity
+	 */
+	T getOne(Long id);
+
+}
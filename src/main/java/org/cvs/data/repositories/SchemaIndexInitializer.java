@@ -0,0 +1,67 @@
+package org.cvs.data.repositories;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ *
+ * Applies the partial indexes from <code>db/constraints.sql</code> and
+ * <code>db/indexes.sql</code> that cannot be declared on the entities
+ * themselves.
+ * <p>
+ * The scripts run once the application is ready so that the tables managed by
+ * Hibernate already exist. The constraints are always applied and a failure
+ * stops start-up, as the services rely on them. The other indexes only speed
+ * up queries: they can be switched off, and statements that fail are logged
+ * and skipped.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Slf4j
+@Component
+public class SchemaIndexInitializer {
+
+	private static final String CONSTRAINT_SCRIPT = "db/constraints.sql";
+
+	private static final String INDEX_SCRIPT = "db/indexes.sql";
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Value("${cvs.schema.apply-indexes:true}")
+	private boolean applyIndexes;
+
+	/**
+	 * Executes the constraint and index scripts against the application's data
+	 * source.
+	 *
+	 * @param
+	 *
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void applyIndexes() {
+		new ResourceDatabasePopulator(new ClassPathResource(CONSTRAINT_SCRIPT)).execute(dataSource);
+		log.info("Applied constraints from " + CONSTRAINT_SCRIPT);
+
+		if (!applyIndexes) {
+			log.info("Skipping partial index creation");
+			return;
+		}
+
+		ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(INDEX_SCRIPT));
+		populator.setContinueOnError(true);
+		populator.execute(dataSource);
+		log.info("Applied partial indexes from " + INDEX_SCRIPT);
+	}
+}
@@ -1,6 +1,7 @@
 package org.cvs.data.repositories;
 
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,7 +16,7 @@ import org.cvs.data.entities.Skill;
  * @version 1.0
  *
  */
-public interface SkillRepository extends CrudRepository<Skill, Long> {
+public interface SkillRepository extends RetirableEntityRepository<Skill> {
 
 	/**
 	 * Returns an optional {@link Skill} given its ID.
@@ -45,4 +46,15 @@ public interface SkillRepository extends CrudRepository<Skill, Long> {
 	 */
 	List<Skill> findAll();
 
+	/**
+	 * Returns all active {@link Skill} instances for a given candidate ordered by
+	 * ID.
+	 *
+	 * @param candidateId the ID of the candidate to filter skills for
+	 * 
+	 * @return a list of active skill instances for the candidate
+	 */
+	@Query("SELECT s FROM Skill s WHERE s.candidate.id = :candidateId AND s.voided = 0 AND s.retired = 0 ORDER BY s.id")
+	List<Skill> findAllActiveByCandidateId(@Param("candidateId") Long candidateId);
+
 }
@@ -1,10 +1,13 @@
 package org.cvs.data.repositories;
 
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
+import org.cvs.data.dto.WorkExperienceSummary;
 import org.cvs.data.entities.WorkExperience;
 
 /**
@@ -15,7 +18,7 @@ import org.cvs.data.entities.WorkExperience;
  * @version 1.0
  *
  */
-public interface WorkExperienceRepository extends CrudRepository<WorkExperience, Long> {
+public interface WorkExperienceRepository extends RetirableEntityRepository<WorkExperience> {
 
 	/**
 	 * Returns an optional {@link WorkExperience} given its id.
@@ -44,4 +47,29 @@ public interface WorkExperienceRepository extends CrudRepository<WorkExperience,
 	 */
 	List<WorkExperience> findAll();
 
+	/**
+	 * Returns all active {@link WorkExperience} instances for a given candidate ordered by
+	 * ID.
+	 *
+	 * @param candidateId the ID of the candidate to filter work experiences for
+	 * 
+	 * @return a list of active work experience instances for the candidate
+	 */
+	@Query("SELECT w FROM WorkExperience w WHERE w.candidate.id = :candidateId AND w.voided = 0 AND w.retired = 0 ORDER BY w.id")
+	List<WorkExperience> findAllActiveByCandidateId(@Param("candidateId") Long candidateId);
+
+	/**
+	 * Returns a page of active work experience read models whose IDs are greater than a
+	 * given cursor, ordered by ID. Only the projected columns are selected and
+	 * no entities are loaded.
+	 *
+	 * @param afterId  the ID of the last work experience on the previous page
+	 * @param pageable the page size to be applied to the query
+	 * 
+	 * @return a list of work experience read models that follow the cursor
+	 */
+	@Query("SELECT new org.cvs.data.dto.WorkExperienceSummary(w.id, w.organisation, w.country, w.position, w.startDate, w.endDate, w.candidate.id) "
+	        + "FROM WorkExperience w WHERE w.voided = 0 AND w.retired = 0 AND w.id > :afterId ORDER BY w.id")
+	List<WorkExperienceSummary> findActiveSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
 }
@@ -0,0 +1,67 @@
+package org.cvs.data.routing;
+
+import java.util.function.Supplier;
+
+/**
+ *
+ * Pins the connections taken by the current thread to the primary database,
+ * read-only transactions included.
+ * <p>
+ * Loads that fill a shared cache run in this scope: a replica may lag behind a
+ * write that has already invalidated the cache, and an entry read from it
+ * would put the old state back for as long as the entry lives. Without
+ * replicas configured the scope has no effect.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+public final class PrimaryScope {
+
+	private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+	private PrimaryScope() {
+	}
+
+	/**
+	 * Runs a load with its connections taken from the primary. A transaction must
+	 * not have used its connection before the scope is entered.
+	 *
+	 * @param load the load to be run
+	 *
+	 * @return the result of the load
+	 */
+	public static <T> T run(Supplier<T> load) {
+		if (isActive()) {
+			return load.get();
+		}
+
+		ACTIVE.set(Boolean.TRUE);
+		try {
+			return load.get();
+		} finally {
+			ACTIVE.remove();
+		}
+	}
+
+	/**
+	 * Carries the scope of the calling thread over to a task that runs on
+	 * another thread.
+	 *
+	 * @param task the task to be handed to an executor
+	 *
+	 * @return the task, run in the scope if the caller is in it
+	 */
+	public static <T> Supplier<T> propagate(Supplier<T> task) {
+		return isActive() ? () -> run(task) : task;
+	}
+
+	/**
+	 * @param
+	 *
+	 * @return whether the current thread is pinned to the primary
+	 */
+	public static boolean isActive() {
+		return ACTIVE.get() != null;
+	}
+}
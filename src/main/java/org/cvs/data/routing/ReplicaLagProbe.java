@@ -0,0 +1,26 @@
+package org.cvs.data.routing;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+/**
+ *
+ * Measures how far a read replica is behind the primary database.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@FunctionalInterface
+public interface ReplicaLagProbe {
+
+	/**
+	 * Returns the replication lag of a replica.
+	 *
+	 * @param replica the replica to be checked
+	 *
+	 * @return the lag in milliseconds
+	 */
+	long lagMillis(DataSource replica) throws SQLException;
+}
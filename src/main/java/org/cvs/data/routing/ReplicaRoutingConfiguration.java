@@ -0,0 +1,112 @@
+package org.cvs.data.routing;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ *
+ * Replaces the single data source with one that sends read-only transactions
+ * to the replicas listed in <code>cvs.datasource.replicas</code>.
+ * <p>
+ * The primary pool is built from the <code>spring.datasource</code> settings.
+ * Each replica gets its own pool with the same credentials and Hikari
+ * settings. Without any replicas configured the default data source is left
+ * untouched.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "cvs.datasource.replicas")
+public class ReplicaRoutingConfiguration {
+
+	/**
+	 * Lag of a streaming replica in milliseconds. A replica that has replayed
+	 * everything it received is not behind, however old its last transaction. A
+	 * database that is not in recovery, such as a second local instance used for
+	 * testing, reports no lag.
+	 */
+	private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery()"
+	        + " OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+	        + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+	@Bean
+	public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties,
+	        Environment environment, ObjectProvider<MeterRegistry> registry,
+	        @Value("${cvs.datasource.replicas}") String[] replicaUrls,
+	        @Value("${cvs.datasource.replica-max-lag-ms:5000}") long maxLagMs,
+	        @Value("${cvs.datasource.replica-check-interval-ms:1000}") long checkIntervalMs) {
+		HikariDataSource primary = pool(properties, environment, properties.determineUrl());
+		registry.ifAvailable(primary::setMetricRegistry);
+
+		List<DataSource> replicas = new ArrayList<>();
+		for (String replicaUrl : replicaUrls) {
+			if (replicaUrl.trim().isEmpty()) {
+				continue;
+			}
+
+			HikariDataSource replica = pool(properties, environment, replicaUrl.trim());
+			replica.setPoolName(Objects.toString(primary.getPoolName(), "cvs-pool") + "-replica-" + replicas.size());
+			replica.setReadOnly(true);
+			registry.ifAvailable(replica::setMetricRegistry);
+			replicas.add(replica);
+		}
+
+		log.info("Routing read-only transactions to " + replicas.size() + " replica(s) with a lag tolerance of "
+		        + maxLagMs + " ms");
+		return new ReplicaRoutingDataSource(primary, replicas,
+		        replica -> new JdbcTemplate(replica).queryForObject(LAG_QUERY, Long.class), maxLagMs,
+		        checkIntervalMs);
+	}
+
+	/**
+	 * Defers taking a connection until the first statement, by which time the
+	 * transaction's read-only flag is known to the router.
+	 *
+	 * @param routingDataSource the data source choosing between primary and
+	 *                          replicas
+	 *
+	 * @return the data source used by the application
+	 */
+	@Bean
+	@Primary
+	public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+		// Known defaults stop the proxy from fetching a connection just to read them
+		dataSource.setDefaultAutoCommit(true);
+		dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+		return dataSource;
+	}
+
+	private static HikariDataSource pool(DataSourceProperties properties, Environment environment, String url) {
+		HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url)
+		        .build();
+		Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+		return pool;
+	}
+}
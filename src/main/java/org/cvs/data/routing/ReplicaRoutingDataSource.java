@@ -0,0 +1,195 @@
+package org.cvs.data.routing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ *
+ * Routes connections of read-only transactions to read replicas and everything
+ * else to the primary database.
+ * <p>
+ * Replicas are checked at a fixed interval and only those whose lag is within
+ * the tolerance receive traffic, in turn. If none qualifies, reads fall back to
+ * the primary. A read-only method called from a writing transaction joins that
+ * transaction and so stays on the primary, which keeps read-your-own-write
+ * flows consistent. Loads in a {@link PrimaryScope}, such as cache fills, also
+ * stay on the primary.
+ * <p>
+ * The routing key is taken when the connection is first used, so this data
+ * source must be wrapped in a lazy connection proxy for the transaction's
+ * read-only flag to be visible.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder, DisposableBean {
+
+	static final String PRIMARY = "primary";
+
+	private final DataSource primary;
+
+	private final Map<String, DataSource> replicas;
+
+	private final ReplicaLagProbe lagProbe;
+
+	private final long maxLagMs;
+
+	private final long checkIntervalMs;
+
+	private volatile List<String> healthyReplicas = Collections.emptyList();
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	private final AtomicLong primaryRoutes = new AtomicLong();
+	private final AtomicLong replicaRoutes = new AtomicLong();
+	private final AtomicLong fallbackRoutes = new AtomicLong();
+
+	private ScheduledExecutorService monitor;
+
+	/**
+	 * Constructor for this class.
+	 *
+	 * @param primary         the primary data source, used for all writes
+	 * @param replicas        the replica data sources
+	 * @param lagProbe        measures the lag of a replica
+	 * @param maxLagMs        the largest lag at which a replica is still used
+	 * @param checkIntervalMs how often replicas are checked, or 0 to only check
+	 *                        them on {@link #checkReplicas()}
+	 *
+	 */
+	public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReplicaLagProbe lagProbe,
+	        long maxLagMs, long checkIntervalMs) {
+		this.primary = primary;
+		this.lagProbe = lagProbe;
+		this.maxLagMs = maxLagMs;
+		this.checkIntervalMs = checkIntervalMs;
+
+		Map<String, DataSource> replicaKeys = new LinkedHashMap<>();
+		for (int i = 0; i < replicas.size(); i++) {
+			replicaKeys.put("replica-" + i, replicas.get(i));
+		}
+		this.replicas = Collections.unmodifiableMap(replicaKeys);
+
+		Map<Object, Object> targets = new HashMap<>(replicaKeys);
+		targets.put(PRIMARY, primary);
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		super.afterPropertiesSet();
+		checkReplicas();
+
+		if (checkIntervalMs > 0 && !replicas.isEmpty()) {
+			monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "replica-lag-monitor");
+				thread.setDaemon(true);
+				return thread;
+			});
+			monitor.scheduleWithFixedDelay(this::checkReplicas, checkIntervalMs, checkIntervalMs,
+			        TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Stops the replica checks and closes the primary and replica pools.
+	 *
+	 * @param
+	 *
+	 */
+	@Override
+	public void destroy() throws Exception {
+		if (monitor != null) {
+			monitor.shutdownNow();
+		}
+
+		for (DataSource replica : replicas.values()) {
+			close(replica);
+		}
+		close(primary);
+	}
+
+	/**
+	 * Measures the lag of every replica and keeps those within the tolerance for
+	 * routing. Replicas that cannot be reached are left out until the next check.
+	 *
+	 * @param
+	 *
+	 */
+	public void checkReplicas() {
+		List<String> healthy = new ArrayList<>();
+		for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+			try {
+				long lag = lagProbe.lagMillis(replica.getValue());
+				if (lag <= maxLagMs) {
+					healthy.add(replica.getKey());
+				} else {
+					log.warn("Skipping " + replica.getKey() + " with replication lag of " + lag + " ms");
+				}
+			} catch (Exception e) {
+				log.warn("Skipping unreachable " + replica.getKey() + " :: " + e.getMessage());
+			}
+		}
+		healthyReplicas = Collections.unmodifiableList(healthy);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PrimaryScope.isActive()) {
+			primaryRoutes.incrementAndGet();
+			return PRIMARY;
+		}
+
+		List<String> healthy = healthyReplicas;
+		if (healthy.isEmpty()) {
+			fallbackRoutes.incrementAndGet();
+			return PRIMARY;
+		}
+
+		replicaRoutes.incrementAndGet();
+		return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("datasource.routes", primaryRoutes, AtomicLong::get).tag("target", "primary")
+		        .description("Connections routed to the primary, for writes and cache fills").register(registry);
+		FunctionCounter.builder("datasource.routes", replicaRoutes, AtomicLong::get).tag("target", "replica")
+		        .description("Read-only connections routed to a replica").register(registry);
+		FunctionCounter.builder("datasource.routes", fallbackRoutes, AtomicLong::get).tag("target", "fallback")
+		        .description("Read-only connections routed to the primary for lack of a replica")
+		        .register(registry);
+		Gauge.builder("datasource.replicas.healthy", this, r -> r.healthyReplicas.size())
+		        .description("Number of replicas within the lag tolerance").register(registry);
+	}
+
+	private static void close(DataSource dataSource) throws Exception {
+		if (dataSource instanceof AutoCloseable) {
+			((AutoCloseable) dataSource).close();
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package org.cvs.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ * A concurrency limit that adapts to observed latency, after the gradient
+ * algorithm of Netflix's concurrency-limits library.
+ * <p>
+ * Two moving averages of request latency are kept: a short one for current
+ * conditions and a long one as the baseline. While current latency stays
+ * within <code>tolerance</code> times the baseline the limit grows by a small
+ * queue allowance; once it rises above that, the limit shrinks in proportion.
+ * When the database slows down requests therefore start to be rejected
+ * instead of piling up.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+public class AdaptiveConcurrencyLimit {
+
+	private static final double SHORT_WINDOW_ALPHA = 2.0 / (10 + 1);
+
+	private static final double LONG_WINDOW_ALPHA = 2.0 / (600 + 1);
+
+	private static final double SMOOTHING = 0.2;
+
+	private final int minLimit;
+
+	private final int maxLimit;
+
+	private final double tolerance;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private final AtomicLong rejected = new AtomicLong();
+
+	private volatile int limit;
+
+	private double estimatedLimit;
+
+	private double shortRtt;
+
+	private double longRtt;
+
+	/**
+	 * Constructor for this class.
+	 *
+	 * @param initialLimit the limit to start with
+	 * @param minLimit     the lowest the limit may fall to
+	 * @param maxLimit     the highest the limit may rise to
+	 * @param tolerance    how many times the baseline latency is tolerated
+	 *                     before the limit is reduced
+	 *
+	 */
+	public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+		if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit || tolerance < 1) {
+			throw new IllegalArgumentException("Invalid concurrency limit :: initial " + initialLimit + ", min "
+			        + minLimit + ", max " + maxLimit + ", tolerance " + tolerance);
+		}
+
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.tolerance = tolerance;
+		this.limit = initialLimit;
+		this.estimatedLimit = initialLimit;
+	}
+
+	/**
+	 * Admits a request if fewer than the current limit are in flight.
+	 *
+	 * @param
+	 *
+	 * @return <code>true</code> if the request was admitted and must be followed
+	 *         by {@link #release(long)}
+	 */
+	public boolean tryAcquire() {
+		while (true) {
+			int current = inFlight.get();
+			if (current >= limit) {
+				rejected.incrementAndGet();
+				return false;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Ends an admitted request and feeds its latency into the limit.
+	 *
+	 * @param rttNanos the time the request took
+	 *
+	 */
+	public void release(long rttNanos) {
+		int concurrent = inFlight.getAndDecrement();
+		update(rttNanos, concurrent);
+	}
+
+	private synchronized void update(long rttNanos, int concurrent) {
+		if (longRtt == 0) {
+			shortRtt = rttNanos;
+			longRtt = rttNanos;
+			return;
+		}
+
+		shortRtt += (rttNanos - shortRtt) * SHORT_WINDOW_ALPHA;
+		longRtt += (rttNanos - longRtt) * LONG_WINDOW_ALPHA;
+
+		// Let the baseline recover quickly once a slow period is over
+		if (longRtt / shortRtt > 2) {
+			longRtt *= 0.95;
+		}
+
+		double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+		double queueSize = Math.sqrt(estimatedLimit);
+		double newLimit = estimatedLimit * gradient + queueSize;
+
+		// Only grow while the limit is actually being used
+		if (newLimit > estimatedLimit && concurrent < estimatedLimit / 2) {
+			return;
+		}
+
+		estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+		        estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+		limit = (int) estimatedLimit;
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	public long getRejectedCount() {
+		return rejected.get();
+	}
+}
@@ -0,0 +1,44 @@
+package org.cvs.utils;
+
+/**
+ *
+ * Named fetch plans that state how much of an entity graph is loaded before a
+ * response is serialised.
+ * <p>
+ * Associations outside the chosen plan are not loaded: lazy collections are
+ * left out and lazy references are written as their IDs, so every endpoint
+ * issues a known number of queries.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+public enum FetchPlan {
+
+	/**
+	 * Entity fields only.
+	 */
+	SUMMARY,
+
+	/**
+	 * Entity fields and the direct many-to-many members, i.e. the users and
+	 * candidates of a portfolio or the portfolios of a user or candidate.
+	 */
+	MEMBERS,
+
+	/**
+	 * Members together with their own members, two levels deep.
+	 */
+	FULL;
+
+	/**
+	 * Returns the plan applied to the members loaded by this plan.
+	 *
+	 * @param
+	 *
+	 * @return the plan for the next level of the graph
+	 */
+	public FetchPlan next() {
+		return this == FULL ? MEMBERS : SUMMARY;
+	}
+}
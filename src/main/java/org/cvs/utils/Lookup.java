@@ -17,4 +17,7 @@ public class Lookup {
 	public static final int NOT_RETIRED = 0;
 	public static final int VOIDED = 1;
 	public static final int NOT_VOIDED = 0;
+	public static final long FIRST_PAGE_CURSOR = 0L;
+	public static final int DEFAULT_PAGE_SIZE = 100;
+	public static final int MAX_PAGE_SIZE = 1000;
 }
@@ -0,0 +1,125 @@
+package org.cvs.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ * A thread-safe, size-bounded cache that evicts the least recently used entry
+ * once it is full.
+ * <p>
+ * Hits, misses and evictions are counted so that they can be exposed as
+ * metrics.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ * @param <K> the type of keys held by the cache
+ * @param <V> the type of cached values
+ */
+public class LruCache<K, V> {
+
+	private final Map<K, V> entries;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * Constructor for this class.
+	 *
+	 * @param maxEntries the maximum number of entries held before the least
+	 *                   recently used one is evicted
+	 *
+	 */
+	@SuppressWarnings("serial")
+	public LruCache(final int maxEntries) {
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("Cache size should be at least 1 :: " + maxEntries);
+		}
+
+		this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				if (size() > maxEntries) {
+					evictions.incrementAndGet();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Returns the value cached for a key and marks it as recently used.
+	 *
+	 * @param key the key to look up
+	 *
+	 * @return the cached value, or <code>null</code> if there is none
+	 */
+	public synchronized V get(K key) {
+		V value = entries.get(key);
+		if (value == null) {
+			misses.incrementAndGet();
+		} else {
+			hits.incrementAndGet();
+		}
+		return value;
+	}
+
+	/**
+	 * Caches a value for a key, evicting the least recently used entry if the
+	 * cache is full.
+	 *
+	 * @param key   the key to cache the value under
+	 * @param value the value to be cached
+	 *
+	 */
+	public synchronized void put(K key, V value) {
+		entries.put(key, value);
+	}
+
+	/**
+	 * Removes the value cached for a key, if any.
+	 *
+	 * @param key the key to be removed
+	 *
+	 */
+	public synchronized void remove(K key) {
+		entries.remove(key);
+	}
+
+	/**
+	 * Removes all cached values.
+	 *
+	 * @param
+	 *
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Returns the number of cached values.
+	 *
+	 * @param
+	 *
+	 * @return the current size of the cache
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	public long getEvictionCount() {
+		return evictions.get();
+	}
+}
@@ -0,0 +1,146 @@
+package org.cvs.utils;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ *
+ * A lock-free token bucket. Tokens refill continuously up to the capacity and
+ * every permitted request takes one.
+ * <p>
+ * The token count and the time of the last refill are swapped together with a
+ * compare-and-set, so concurrent callers never block one another.
+ *
+ * @author Yamiko J. Msosa
+ * @version 1.0
+ *
+ */
+public class TokenBucket {
+
+	private final long capacity;
+
+	private final double tokensPerNano;
+
+	private final AtomicReference<State> state;
+
+	/**
+	 * Constructor for this class.
+	 *
+	 * @param capacity        the maximum number of tokens, which is the largest
+	 *                        burst allowed
+	 * @param refillPerSecond the number of tokens added per second
+	 *
+	 */
+	public TokenBucket(long capacity, double refillPerSecond) {
+		if (capacity < 1 || refillPerSecond <= 0) {
+			throw new IllegalArgumentException(
+			        "Invalid token bucket :: capacity " + capacity + ", refill " + refillPerSecond);
+		}
+
+		this.capacity = capacity;
+		this.tokensPerNano = refillPerSecond / 1e9;
+		this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+	}
+
+	/**
+	 * Takes a token if one is available.
+	 *
+	 * @param
+	 *
+	 * @return the outcome, with the tokens left and the time until the bucket is
+	 *         full again
+	 */
+	public Probe tryConsume() {
+		while (true) {
+			long now = System.nanoTime();
+			State current = state.get();
+			double tokens = Math.min(capacity, current.tokens + (now - current.refilledAt) * tokensPerNano);
+
+			if (tokens < 1) {
+				long retryAfterNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+				return new Probe(false, capacity, 0, retryAfterNanos, nanosUntilFull(tokens));
+			}
+
+			if (state.compareAndSet(current, new State(tokens - 1, now))) {
+				return new Probe(true, capacity, (long) (tokens - 1), 0, nanosUntilFull(tokens - 1));
+			}
+		}
+	}
+
+	/**
+	 * Tells whether the bucket has refilled completely, in which case it cannot
+	 * be told apart from a new one.
+	 *
+	 * @param
+	 *
+	 * @return whether the bucket is full
+	 */
+	public boolean isFull() {
+		State current = state.get();
+		return current.tokens + (System.nanoTime() - current.refilledAt) * tokensPerNano >= capacity;
+	}
+
+	/**
+	 * @param
+	 *
+	 * @return the {@link System#nanoTime()} at which a token was last taken, or
+	 *         at which the bucket was created
+	 */
+	public long getLastConsumedNanos() {
+		return state.get().refilledAt;
+	}
+
+	private long nanosUntilFull(double tokens) {
+		return (long) Math.ceil((capacity - tokens) / tokensPerNano);
+	}
+
+	private static final class State {
+		private final double tokens;
+		private final long refilledAt;
+
+		private State(double tokens, long refilledAt) {
+			this.tokens = tokens;
+			this.refilledAt = refilledAt;
+		}
+	}
+
+	/**
+	 *
+	 * The outcome of an attempt to take a token.
+	 *
+	 */
+	public static final class Probe {
+		private final boolean consumed;
+		private final long limit;
+		private final long remaining;
+		private final long retryAfterNanos;
+		private final long resetNanos;
+
+		private Probe(boolean consumed, long limit, long remaining, long retryAfterNanos, long resetNanos) {
+			this.consumed = consumed;
+			this.limit = limit;
+			this.remaining = remaining;
+			this.retryAfterNanos = retryAfterNanos;
+			this.resetNanos = resetNanos;
+		}
+
+		public boolean isConsumed() {
+			return consumed;
+		}
+
+		public long getLimit() {
+			return limit;
+		}
+
+		public long getRemaining() {
+			return remaining;
+		}
+
+		public long getRetryAfterNanos() {
+			return retryAfterNanos;
+		}
+
+		public long getResetNanos() {
+			return resetNanos;
+		}
+	}
+}
@@ -0,0 +1,9 @@
+-- Partial unique indexes the services rely on for correctness.
+--
+-- Applied on start-up by org.cvs.data.repositories.SchemaIndexInitializer
+-- before the optional indexes, whatever cvs.schema.apply-indexes says. A
+-- failing statement stops start-up. Every statement must be idempotent.
+
+-- Usernames of users that are not voided are unique; registration relies on
+-- this constraint instead of checking first
+CREATE UNIQUE INDEX IF NOT EXISTS application_user_username_active_idx ON application_user (username) WHERE voided = 0;
@@ -0,0 +1,21 @@
+-- Partial indexes that cannot be expressed through JPA mappings.
+--
+-- Applied on start-up by org.cvs.data.repositories.SchemaIndexInitializer once
+-- Hibernate has created or updated the schema. Every statement must be
+-- idempotent.
+
+-- Active rows only, backing the soft-delete aware list queries
+CREATE INDEX IF NOT EXISTS application_user_active_idx ON application_user (id) WHERE voided = 0 AND retired = 0;
+CREATE INDEX IF NOT EXISTS candidate_active_idx ON candidate (id) WHERE voided = 0 AND retired = 0;
+CREATE INDEX IF NOT EXISTS portfolio_active_idx ON portfolio (id) WHERE voided = 0 AND retired = 0;
+CREATE INDEX IF NOT EXISTS qualification_active_idx ON qualification (id) WHERE voided = 0 AND retired = 0;
+CREATE INDEX IF NOT EXISTS qualification_type_active_idx ON qualification_type (id) WHERE voided = 0 AND retired = 0;
+CREATE INDEX IF NOT EXISTS reference_active_idx ON reference (id) WHERE voided = 0 AND retired = 0;
+CREATE INDEX IF NOT EXISTS skill_active_idx ON skill (id) WHERE voided = 0 AND retired = 0;
+CREATE INDEX IF NOT EXISTS work_experience_active_idx ON work_experience (id) WHERE voided = 0 AND retired = 0;
+
+-- Active rows per candidate, backing the candidate-scoped child lookups
+CREATE INDEX IF NOT EXISTS qualification_candidate_active_idx ON qualification (candidate_id, id) WHERE voided = 0 AND retired = 0;
+CREATE INDEX IF NOT EXISTS reference_candidate_active_idx ON reference (candidate_id, id) WHERE voided = 0 AND retired = 0;
+CREATE INDEX IF NOT EXISTS skill_candidate_active_idx ON skill (candidate_id, id) WHERE voided = 0 AND retired = 0;
+CREATE INDEX IF NOT EXISTS work_experience_candidate_active_idx ON work_experience (candidate_id, id) WHERE voided = 0 AND retired = 0;
@@ -0,0 +1,24 @@
+package org.cvs;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Marks a test that measures timings or throughput. Benchmarks are left out of
+ * the <code>test</code> task and run with <code>./gradlew benchmark</code>, so
+ * wall-clock measurements never decide whether a build passes.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Tag("benchmark")
+@Test
+public @interface Benchmark {
+}
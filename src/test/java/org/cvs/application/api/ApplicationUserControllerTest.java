@@ -7,6 +7,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.transaction.Transactional;
 import javax.validation.ConstraintViolationException;
@@ -167,10 +169,11 @@ public class ApplicationUserControllerTest {
 	@WithMockUser
 	public void testAddUser() throws Exception {
 		MvcResult result = mockMvc
-		        .perform(post("/users").content(asJsonString(user)).contentType(MediaType.APPLICATION_JSON)
+		        .perform(post("/users").content(asJsonString(registration(user))).contentType(MediaType.APPLICATION_JSON)
 		                .accept(MediaType.APPLICATION_JSON).with(csrf().asHeader()))
 		        .andExpect(status().isOk()).andExpect(content().contentType("application/json"))
-		        .andExpect(jsonPath("$.username").value("test1")).andReturn();
+		        .andExpect(jsonPath("$.username").value("test1")).andExpect(jsonPath("$.password").doesNotExist())
+		        .andReturn();
 
 		assertNotNull(result);
 
@@ -188,7 +191,7 @@ public class ApplicationUserControllerTest {
 	@Test
 	public void testAddUserWithoutToken() throws Exception {
 		MvcResult result = mockMvc
-		        .perform(post("/users").content(asJsonString(user)).contentType(MediaType.APPLICATION_JSON)
+		        .perform(post("/users").content(asJsonString(registration(user))).contentType(MediaType.APPLICATION_JSON)
 		                .accept(MediaType.APPLICATION_JSON))
 		        .andExpect(status().isOk()).andExpect(content().contentType("application/json"))
 		        .andExpect(jsonPath("$.username").value("test1")).andReturn();
@@ -228,6 +231,17 @@ public class ApplicationUserControllerTest {
 		        .andReturn();
 	}
 
+	@Test
+	@WithMockUser
+	public void testGetUsersByIdsWithFetchPlan() throws Exception {
+		user = userService.addUser(user);
+
+		mockMvc.perform(get("/users").param("ids", user.getId() + ",-1").param("fetch", "SUMMARY")
+		        .with(csrf().asHeader())).andExpect(status().isOk())
+		        .andExpect(jsonPath("$.found[0].id").value(user.getId()))
+		        .andExpect(jsonPath("$.notFound[0]").value(-1));
+	}
+
 	@Test
 	@WithMockUser
 	public void testVoidApplicationUser() throws Exception {
@@ -264,7 +278,7 @@ public class ApplicationUserControllerTest {
 	@WithMockUser("Peter")
 	public void testAuditing() throws Exception {
 		MvcResult result = mockMvc
-		        .perform(post("/users").content(asJsonString(user)).contentType(MediaType.APPLICATION_JSON)
+		        .perform(post("/users").content(asJsonString(registration(user))).contentType(MediaType.APPLICATION_JSON)
 		                .accept(MediaType.APPLICATION_JSON).with(csrf().asHeader()))
 		        .andExpect(status().isOk()).andExpect(content().contentType("application/json"))
 		        .andExpect(jsonPath("$.username").value("test1")).andReturn();
@@ -370,6 +384,18 @@ public class ApplicationUserControllerTest {
 	 * service.addUser(invalidApplicationUser); }); }
 	 */
 
+	/**
+	 * The password of a user is never serialised, so the request body for a new
+	 * user is built by hand.
+	 */
+	private static Map<String, Object> registration(ApplicationUser user) {
+		Map<String, Object> registration = new LinkedHashMap<>();
+		registration.put("username", user.getUsername());
+		registration.put("password", user.getPassword());
+		registration.put("fullName", user.getFullName());
+		return registration;
+	}
+
 	public static String asJsonString(final Object obj) {
 		try {
 			ObjectMapper mapper = new ObjectMapper();
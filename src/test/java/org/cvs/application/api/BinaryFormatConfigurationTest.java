@@ -0,0 +1,113 @@
+package org.cvs.application.api;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cvs.Benchmark;
+import org.cvs.data.entities.Candidate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Unit tests and encoding benchmark for {@link BinaryFormatConfiguration}. The
+ * benchmark runs with <code>./gradlew benchmark</code>; the number of
+ * candidates is set with <code>-Dcvs.benchmark.candidates</code>.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+@Slf4j
+public class BinaryFormatConfigurationTest {
+
+	static final int CANDIDATES = 100;
+
+	BinaryFormatConfiguration configuration;
+
+	ObjectMapper json;
+
+	ObjectMapper cbor;
+
+	ObjectMapper smile;
+
+	@BeforeEach
+	void init() {
+		configuration = new BinaryFormatConfiguration();
+
+		json = Jackson2ObjectMapperBuilder.json().build();
+		cbor = configuration.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+		smile = configuration.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+	}
+
+	@Test
+	public void testBinaryFormatsAreSmaller() throws IOException {
+		List<Candidate> candidates = candidates(CANDIDATES);
+
+		byte[] jsonBytes = json.writeValueAsBytes(candidates);
+		byte[] cborBytes = cbor.writeValueAsBytes(candidates);
+		byte[] smileBytes = smile.writeValueAsBytes(candidates);
+
+		assertAll("Properties", () -> assertTrue(cborBytes.length < jsonBytes.length),
+		        () -> assertTrue(smileBytes.length < jsonBytes.length),
+		        () -> assertEquals(CANDIDATES, cbor.readValue(cborBytes, candidateList(cbor)).size()),
+		        () -> assertEquals(CANDIDATES, smile.readValue(smileBytes, candidateList(smile)).size()));
+	}
+
+	@Benchmark
+	public void testEncodingBenchmark() throws IOException {
+		List<Candidate> candidates = candidates(Integer.getInteger("cvs.benchmark.candidates", 100000));
+
+		measure("JSON", json, candidates);
+		measure("CBOR", cbor, candidates);
+		measure("Smile", smile, candidates);
+	}
+
+	private void measure(String format, ObjectMapper mapper, List<Candidate> candidates) throws IOException {
+		JavaType type = candidateList(mapper);
+
+		// Warm up the serialisers before timing
+		mapper.readValue(mapper.writeValueAsBytes(candidates.subList(0, Math.min(1000, candidates.size()))), type);
+
+		long start = System.nanoTime();
+		byte[] encoded = mapper.writeValueAsBytes(candidates);
+		long encodeMs = (System.nanoTime() - start) / 1000000;
+
+		start = System.nanoTime();
+		List<Candidate> decoded = mapper.readValue(encoded, type);
+		long decodeMs = (System.nanoTime() - start) / 1000000;
+
+		log.info(format + ": " + decoded.size() + " candidates in " + encoded.length + " bytes, encoded in "
+		        + encodeMs + " ms, decoded in " + decodeMs + " ms");
+	}
+
+	private static JavaType candidateList(ObjectMapper mapper) {
+		return mapper.getTypeFactory().constructCollectionType(List.class, Candidate.class);
+	}
+
+	private static List<Candidate> candidates(int count) {
+		List<Candidate> candidates = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Candidate candidate = new Candidate("John" + i, "", "Smith" + i);
+			candidate.setId((long) i + 1);
+			candidate.setAddressLine1("Address " + i);
+			candidate.setCountry("UK");
+			candidate.setGender("M");
+			candidate.setEmail("email" + i + "@email.com");
+			candidate.setDateOfBirth(LocalDate.of(1987, Month.JUNE, 15));
+			candidates.add(candidate);
+		}
+		return candidates;
+	}
+}
@@ -1,20 +1,27 @@
 package org.cvs.application.api;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
 import org.cvs.application.services.CandidateService;
 import org.cvs.application.services.PortfolioService;
+import org.cvs.application.services.SkillService;
 import org.cvs.data.entities.Candidate;
 import org.cvs.data.entities.Portfolio;
+import org.cvs.data.entities.Skill;
 import org.cvs.data.repositories.CandidateRepository;
 import org.cvs.utils.Lookup;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,11 +29,14 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -34,6 +44,11 @@ import com.jayway.jsonpath.JsonPath;
 
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -64,6 +79,15 @@ public class CandidateControllerTest {
 	@Autowired
 	PortfolioService portfolioService;
 
+	@Autowired
+	SkillService skillService;
+
+	@Autowired
+	EntityManager entityManager;
+
+	@Autowired
+	MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+
 	Candidate candidate, candidate2, candidate3, candidate4, invalidCandidate, fetchedCandidate;
 
 	Portfolio portfolio, portfolio2;
@@ -161,6 +185,56 @@ public class CandidateControllerTest {
 
 	}
 
+	@Test
+	@WithMockUser
+	public void testGetCv() throws Exception {
+		candidate = candidateService.addCandidate(candidate);
+
+		Skill skill = new Skill("Java 8 - Advanced");
+		skill.setCandidate(candidate);
+		skillService.addSkill(skill);
+
+		mockMvc.perform(get("/candidates/{candidateId}/cv", candidate.getId()).with(csrf().asHeader()))
+		        .andExpect(status().isOk()).andExpect(content().contentType("application/json"))
+		        .andExpect(jsonPath("$.candidate.id").value(candidate.getId()))
+		        .andExpect(jsonPath("$.skills.[0].description").value("Java 8 - Advanced"))
+		        .andExpect(jsonPath("$.skills.[0].candidate").doesNotExist())
+		        .andExpect(jsonPath("$.qualifications").isEmpty());
+
+		mockMvc.perform(get("/candidates/{candidateId}/cv", -1L).with(csrf().asHeader()))
+		        .andExpect(status().isNotFound());
+	}
+
+	@Test
+	@WithMockUser
+	public void testGetCvAsCbor() throws Exception {
+		candidate = candidateService.addCandidate(candidate);
+
+		Skill skill = new Skill("Java 8 - Advanced");
+		skill.setCandidate(candidate);
+		skillService.addSkill(skill);
+
+		MvcResult result = mockMvc
+		        .perform(get("/candidates/{candidateId}/cv", candidate.getId()).accept(MediaType.APPLICATION_CBOR)
+		                .with(csrf().asHeader()))
+		        .andExpect(status().isOk()).andExpect(content().contentType(MediaType.APPLICATION_CBOR)).andReturn();
+
+		JsonNode cv = cborHttpMessageConverter.getObjectMapper()
+		        .readTree(result.getResponse().getContentAsByteArray());
+
+		assertAll("Properties", () -> assertTrue(cv.at("/candidate/id").asLong() == candidate.getId()),
+		        () -> assertTrue(cv.at("/skills/0/description").asText().equals("Java 8 - Advanced")));
+
+		// JSON is still served when the client prefers it to CBOR
+		mockMvc.perform(get("/candidates/{candidateId}/cv", candidate.getId())
+		        .header("Accept", "application/cbor;q=0.5, application/json").with(csrf().asHeader()))
+		        .andExpect(status().isOk()).andExpect(content().contentType(MediaType.APPLICATION_JSON))
+		        .andExpect(jsonPath("$.skills.[0].description").value("Java 8 - Advanced"));
+
+		mockMvc.perform(get("/candidates/{candidateId}/cv", -1L).accept(MediaType.APPLICATION_CBOR)
+		        .with(csrf().asHeader())).andExpect(status().isNotFound());
+	}
+
 	@Test
 	@WithMockUser
 	public void testGetCandidates() throws Exception {
@@ -300,6 +374,111 @@ public class CandidateControllerTest {
 		        .andExpect(status().isNotAcceptable()).andReturn();
 	}
 
+	@Test
+	@WithMockUser
+	public void testGetCandidatesQueryCount() throws Exception {
+		portfolio = portfolioService.addPortfolio(portfolio);
+		candidate = candidateService.addCandidate(candidate);
+		candidate2 = candidateService.addCandidate(candidate2);
+		candidate3 = candidateService.addCandidate(candidate3);
+		portfolioService.linkCandidates(portfolio.getId(),
+		        Arrays.asList(candidate.getId(), candidate2.getId(), candidate3.getId()));
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+
+		mockMvc.perform(get("/candidates").param("after", KeysetPagination.token(candidate.getId() - 1)).param("limit", "3")
+		        .with(csrf().asHeader())).andExpect(status().isOk()).andExpect(jsonPath("$.[2].portfolio").doesNotExist());
+		long summaryCount = statistics.getPrepareStatementCount();
+
+		entityManager.clear();
+		statistics.clear();
+
+		mockMvc.perform(get("/candidates").param("after", KeysetPagination.token(candidate.getId() - 1)).param("limit", "3")
+		        .param("fetch", "MEMBERS").with(csrf().asHeader())).andExpect(status().isOk())
+		        .andExpect(jsonPath("$.[2].portfolio[0].name").value("Portfolio Name1"));
+		long membersCount = statistics.getPrepareStatementCount();
+		statistics.setStatisticsEnabled(false);
+
+		// One query for the page, plus one for the portfolios of all its candidates
+		assertAll("Properties", () -> assertTrue(summaryCount == 1), () -> assertTrue(membersCount == 2));
+	}
+
+	@Test
+	@WithMockUser
+	public void testGetCandidatesByIdsWithFetchPlan() throws Exception {
+		candidate = candidateService.addCandidate(candidate);
+
+		// The batch lookup takes a fetch plan of its own, so it is not confused with
+		// the page of entities selected by the fetch parameter
+		mockMvc.perform(get("/candidates").param("ids", candidate.getId() + ",-1").param("fetch", "SUMMARY")
+		        .with(csrf().asHeader())).andExpect(status().isOk())
+		        .andExpect(jsonPath("$.found[0].id").value(candidate.getId()))
+		        .andExpect(jsonPath("$.notFound[0]").value(-1));
+	}
+
+	@Test
+	@WithMockUser
+	public void testGetCandidateFields() throws Exception {
+		candidate = candidateService.addCandidate(candidate);
+		candidate2 = candidateService.addCandidate(candidate2);
+		candidateService.retireCandidate(candidate2.getId());
+
+		mockMvc.perform(get("/candidates").param("fields", "firstName,lastName")
+		        .param("after", KeysetPagination.token(candidate.getId() - 1)).param("limit", "1").with(csrf().asHeader()))
+		        .andExpect(status().isOk()).andExpect(jsonPath("$.[0].id").value(candidate.getId()))
+		        .andExpect(jsonPath("$.[0].firstName").value("John"))
+		        .andExpect(jsonPath("$.[0].lastName").value("Smith"))
+		        .andExpect(jsonPath("$.[0].email").doesNotExist())
+		        .andExpect(header().string("Link", containsString("fields=firstName,lastName")));
+
+		mockMvc.perform(get("/candidates/active/{candidateId}", candidate.getId()).param("fields", "email")
+		        .with(csrf().asHeader())).andExpect(status().isOk())
+		        .andExpect(jsonPath("$.email").value("email@email.com"))
+		        .andExpect(jsonPath("$.firstName").doesNotExist());
+
+		mockMvc.perform(get("/candidates/active/{candidateId}", candidate2.getId()).param("fields", "email")
+		        .with(csrf().asHeader())).andExpect(status().isLocked());
+
+		mockMvc.perform(get("/candidates").param("fields", "firstName,portfolio").with(csrf().asHeader()))
+		        .andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@WithMockUser
+	public void testSparseFieldsetPayload() throws Exception {
+		candidate = candidateService.addCandidate(candidate);
+		candidate2 = candidateService.addCandidate(candidate2);
+		candidate4 = candidateService.addCandidate(candidate4);
+
+		MvcResult result = mockMvc
+		        .perform(get("/candidates").param("fields", "firstName,lastName")
+		                .param("after", KeysetPagination.token(candidate.getId() - 1)).param("limit", "3")
+		                .with(csrf().asHeader()))
+		        .andExpect(status().isOk()).andReturn();
+
+		List<Map<String, Object>> page = new ObjectMapper().readValue(result.getResponse().getContentAsString(),
+		        new TypeReference<List<Map<String, Object>>>() {
+		        });
+
+		// Each row holds the ID and the selected fields, and nothing else
+		Set<String> expectedFields = new HashSet<>(Arrays.asList("id", "firstName", "lastName"));
+		assertAll("Properties", () -> assertEquals(3, page.size()),
+		        () -> page.forEach(row -> assertEquals(expectedFields, row.keySet())),
+		        () -> assertEquals(candidate.getId().intValue(), page.get(0).get("id")),
+		        () -> assertEquals("John", page.get(0).get("firstName")),
+		        () -> assertEquals("Smith", page.get(0).get("lastName")),
+		        () -> assertEquals(candidate2.getId().intValue(), page.get(1).get("id")),
+		        () -> assertEquals("John2", page.get(1).get("firstName")),
+		        () -> assertEquals("Smith2", page.get(1).get("lastName")),
+		        () -> assertEquals(candidate4.getId().intValue(), page.get(2).get("id")),
+		        () -> assertEquals("Jane", page.get(2).get("firstName")),
+		        () -> assertEquals("Smith3", page.get(2).get("lastName")));
+	}
+
 	public static String asJsonString(final Object obj) {
 		try {
 			ObjectMapper mapper = new ObjectMapper();
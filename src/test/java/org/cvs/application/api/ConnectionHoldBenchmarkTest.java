@@ -0,0 +1,138 @@
+package org.cvs.application.api;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.cvs.Benchmark;
+import org.cvs.utils.FetchPlan;
+import org.cvs.utils.Lookup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewFilter;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.DefaultMockMvcBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Benchmark for how long requests hold a pooled connection with and without
+ * open-in-view. The same page of candidates is served both ways, and the
+ * <code>hikaricp.connections.usage</code> timer of the pool gives the time a
+ * connection was checked out per request and the share of the run the pool was
+ * busy.
+ * <p>
+ * Run with <code>./gradlew benchmark</code>; the number of requests is set with
+ * <code>-Dcvs.benchmark.requests</code>.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+@Slf4j
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class ConnectionHoldBenchmarkTest {
+
+	static final String EMAIL = "pool@benchmark.test";
+
+	static final int WARMUP = 20;
+
+	@Autowired
+	WebApplicationContext context;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	MeterRegistry registry;
+
+	@Value("${cvs.benchmark.requests:200}")
+	int requests;
+
+	@BeforeEach
+	void init() {
+		jdbcTemplate.update("INSERT INTO candidate (id, first_name, last_name, address_line1, country, gender, email, "
+		        + "date_of_birth, voided, retired, created_by, created_date) SELECT nextval('candidate_seq'), "
+		        + "'Pool', 'Candidate', 'Address 1', 'UK', 'M', ?, DATE '1987-06-15', 0, 0, 'benchmark', now() "
+		        + "FROM generate_series(1, ?)", EMAIL, Lookup.MAX_PAGE_SIZE);
+	}
+
+	@AfterEach
+	void cleanup() {
+		jdbcTemplate.update("DELETE FROM candidate WHERE email = ?", EMAIL);
+	}
+
+	@Benchmark
+	@WithMockUser
+	public void testConnectionHoldTime() throws Exception {
+		Timer usage = registry.find("hikaricp.connections.usage").timer();
+		assertNotNull(usage);
+
+		OpenEntityManagerInViewFilter openInView = new OpenEntityManagerInViewFilter();
+		openInView.setEntityManagerFactory(entityManagerFactory);
+
+		double heldWithOpenInView = measure("open-in-view", mockMvc().addFilters(openInView).build(), usage);
+		double heldWithout = measure("service transactions", mockMvc().build(), usage);
+
+		// Without open-in-view the connection goes back to the pool before the page
+		// is serialised
+		assertAll("Properties", () -> assertTrue(heldWithout < heldWithOpenInView));
+	}
+
+	private DefaultMockMvcBuilder mockMvc() {
+		return MockMvcBuilders.webAppContextSetup(context).apply(springSecurity());
+	}
+
+	/**
+	 * Serves full pages of candidates as entities and returns the mean time a
+	 * connection was held per request, in milliseconds.
+	 */
+	private double measure(String mode, MockMvc mockMvc, Timer usage) throws Exception {
+		MockHttpServletRequestBuilder request = get("/candidates").param("fetch", FetchPlan.SUMMARY.name())
+		        .param("limit", String.valueOf(Lookup.MAX_PAGE_SIZE));
+
+		for (int i = 0; i < WARMUP; i++) {
+			mockMvc.perform(request).andExpect(status().isOk());
+		}
+
+		long countBefore = usage.count();
+		double heldBefore = usage.totalTime(TimeUnit.MILLISECONDS);
+		long start = System.nanoTime();
+
+		for (int i = 0; i < requests; i++) {
+			mockMvc.perform(request).andExpect(status().isOk());
+		}
+
+		double elapsedMs = (System.nanoTime() - start) / 1000000.0;
+		double heldMs = usage.totalTime(TimeUnit.MILLISECONDS) - heldBefore;
+		long checkouts = usage.count() - countBefore;
+
+		log.info("{}: {} requests in {} ms, {} checkouts, connection held {} ms per request, pool busy {}% of the run",
+		        mode, requests, Math.round(elapsedMs), checkouts, String.format("%.2f", heldMs / requests),
+		        Math.round(heldMs * 100 / elapsedMs));
+
+		return heldMs / requests;
+	}
+}
@@ -0,0 +1,120 @@
+package org.cvs.application.api;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+
+import org.cvs.utils.AdaptiveConcurrencyLimit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link LoadSheddingFilter} and
+ * {@link AdaptiveConcurrencyLimit}.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+public class LoadSheddingFilterTest {
+
+	LoadSheddingFilter filter;
+
+	MeterRegistry registry;
+
+	CountDownLatch release;
+
+	@BeforeEach
+	void init() {
+		filter = new LoadSheddingFilter(true, 1, 1, 1, 1, 1, 1, 1, 2.0);
+		registry = new SimpleMeterRegistry();
+		filter.bindTo(registry);
+		release = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void cleanup() {
+		release.countDown();
+	}
+
+	@Test
+	public void testShedsRequestsOverLimit() throws Exception {
+		CompletableFuture<MockHttpServletResponse> held = CompletableFuture.supplyAsync(() -> perform("GET",
+		        "/candidates", (request, response) -> await()));
+		while (registry.get("concurrency.inflight").tag("group", "read").gauge().value() < 1) {
+			Thread.sleep(10);
+		}
+
+		MockHttpServletResponse shedRead = perform("GET", "/candidates", new MockFilterChain());
+		MockHttpServletResponse write = perform("POST", "/candidates", new MockFilterChain());
+		MockHttpServletResponse login = perform("POST", "/users/login", new MockFilterChain());
+
+		release.countDown();
+
+		assertAll("Properties", () -> assertEquals(503, shedRead.getStatus()),
+		        () -> assertNotNull(shedRead.getHeader("Retry-After")), () -> assertEquals(200, write.getStatus()),
+		        () -> assertEquals(200, login.getStatus()), () -> assertEquals(200, held.get().getStatus()),
+		        () -> assertEquals(1, registry.get("concurrency.rejected").tag("group", "read").functionCounter()
+		                .count()));
+	}
+
+	@Test
+	public void testLimitFollowsLatency() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 400, 2.0);
+
+		// Keep enough requests in flight for the limit to count as used
+		for (int i = 0; i < 60; i++) {
+			limit.tryAcquire();
+		}
+
+		for (int i = 0; i < 200; i++) {
+			sample(limit, TimeUnit.MILLISECONDS.toNanos(10));
+		}
+		int steadyLimit = limit.getLimit();
+
+		for (int i = 0; i < 200; i++) {
+			sample(limit, TimeUnit.MILLISECONDS.toNanos(200));
+		}
+		int slowLimit = limit.getLimit();
+
+		assertAll("Properties", () -> assertTrue(steadyLimit > 100), () -> assertTrue(slowLimit < 100),
+		        () -> assertTrue(limit.getRejectedCount() > 0));
+	}
+
+	private static void sample(AdaptiveConcurrencyLimit limit, long rttNanos) {
+		if (limit.tryAcquire()) {
+			limit.release(rttNanos);
+		}
+	}
+
+	private void await() {
+		try {
+			release.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private MockHttpServletResponse perform(String method, String path, FilterChain chain) {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		try {
+			filter.doFilter(new MockHttpServletRequest(method, path), response, chain);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		return response;
+	}
+}
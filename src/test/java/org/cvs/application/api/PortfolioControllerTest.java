@@ -8,7 +8,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.UnsupportedEncodingException;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.Arrays;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
@@ -21,6 +23,8 @@ import org.cvs.data.entities.Candidate;
 import org.cvs.data.entities.Portfolio;
 import org.cvs.data.repositories.ApplicationUserRepository;
 import org.cvs.utils.Lookup;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +36,8 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -69,6 +75,9 @@ public class PortfolioControllerTest {
 	@Autowired
 	ApplicationUserService userService;
 
+	@Autowired
+	EntityManager entityManager;
+
 	Portfolio portfolio, portfolio2, portfolio3, portfolio4, invalidPortfolio, fetchedPortfolio;
 
 	ApplicationUser user, user2;
@@ -248,6 +257,17 @@ public class PortfolioControllerTest {
 		        () -> assertTrue(portfolio.getLastModifiedBy().equals("Peter")));
 	}
 
+	@Test
+	@WithMockUser
+	public void testGetPortfoliosByIdsWithFetchPlan() throws Exception {
+		portfolio = portfolioService.addPortfolio(portfolio);
+
+		mockMvc.perform(get("/portfolios").param("ids", portfolio.getId() + ",-1").param("fetch", "SUMMARY")
+		        .with(csrf().asHeader())).andExpect(status().isOk())
+		        .andExpect(jsonPath("$.found[0].id").value(portfolio.getId()))
+		        .andExpect(jsonPath("$.notFound[0]").value(-1));
+	}
+
 	@Test
 	@WithMockUser
 	public void testConstraintViolations() throws Exception {
@@ -256,6 +276,67 @@ public class PortfolioControllerTest {
 		        .andExpect(status().isNotAcceptable()).andReturn();
 	}
 
+	@Test
+	@WithMockUser
+	public void testLinkAndUnlinkCandidates() throws Exception {
+		portfolio = portfolioService.addPortfolio(portfolio);
+		candidate = candidateService.addCandidate(candidate);
+
+		mockMvc.perform(post("/portfolios/{portfolioId}/candidates", portfolio.getId())
+		        .content("[" + candidate.getId() + ", -2]").contentType(MediaType.APPLICATION_JSON)
+		        .accept(MediaType.APPLICATION_JSON).with(csrf().asHeader())).andExpect(status().isOk())
+		        .andExpect(jsonPath("$.changed").value(1)).andExpect(jsonPath("$.rejected[0]").value(-2)).andReturn();
+
+		mockMvc.perform(delete("/portfolios/{portfolioId}/candidates", portfolio.getId())
+		        .param("ids", candidate.getId().toString()).with(csrf().asHeader())).andExpect(status().isOk())
+		        .andExpect(jsonPath("$.changed").value(1)).andReturn();
+
+		mockMvc.perform(post("/portfolios/{portfolioId}/candidates", -2L).content("[" + candidate.getId() + "]")
+		        .contentType(MediaType.APPLICATION_JSON).with(csrf().asHeader())).andExpect(status().isNotFound())
+		        .andReturn();
+	}
+
+	@Test
+	@WithMockUser
+	public void testFetchPlanQueryCounts() throws Exception {
+		portfolio = portfolioService.addPortfolio(portfolio);
+		candidate = candidateService.addCandidate(candidate);
+		user = userService.addUser(user);
+		portfolioService.linkCandidates(portfolio.getId(), Arrays.asList(candidate.getId()));
+		portfolioService.linkUsers(portfolio.getId(), Arrays.asList(user.getId()));
+
+		// The portfolio, then one query per member collection, then one per
+		// collection of the members
+		long summary = countStatements(
+		        get("/portfolios/active/{portfolioId}", portfolio.getId()).param("fetch", "SUMMARY"),
+		        jsonPath("$.candidate").doesNotExist());
+		long members = countStatements(get("/portfolios/active/{portfolioId}", portfolio.getId()),
+		        jsonPath("$.candidate[0].firstName").value("John"));
+		long full = countStatements(
+		        get("/portfolios/active/{portfolioId}", portfolio.getId()).param("fetch", "FULL"),
+		        jsonPath("$.applicationUser[0].portfolio").isArray());
+		long page = countStatements(get("/portfolios").param("after", KeysetPagination.token(portfolio.getId() - 1)),
+		        jsonPath("$.[0].candidate").doesNotExist());
+
+		assertAll("Properties", () -> assertTrue(summary == 1), () -> assertTrue(members == 3),
+		        () -> assertTrue(full == 5), () -> assertTrue(page == 1));
+	}
+
+	private long countStatements(MockHttpServletRequestBuilder request, ResultMatcher matcher) throws Exception {
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+
+		mockMvc.perform(request.with(csrf().asHeader())).andExpect(status().isOk()).andExpect(matcher);
+
+		long statementCount = statistics.getPrepareStatementCount();
+		statistics.setStatisticsEnabled(false);
+		return statementCount;
+	}
+
 	public static String asJsonString(final Object obj) {
 		try {
 			ObjectMapper mapper = new ObjectMapper();
@@ -1,5 +1,6 @@
 package org.cvs.application.api;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -124,6 +125,55 @@ public class SkillControllerTest {
 		assertNotNull(result);
 	}
 
+	@Test
+	@WithMockUser
+	public void testGetSkillsPage() throws Exception {
+		candidate = candidateService.addCandidate(candidate);
+
+		skill.setCandidate(candidate);
+		skill = skillService.addSkill(skill);
+
+		skill2.setCandidate(candidate);
+		skill2 = skillService.addSkill(skill2);
+
+		mockMvc.perform(get("/skills").param("after", KeysetPagination.token(skill.getId() - 1)).param("limit", "1")
+		        .with(csrf().asHeader())).andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(1))
+		        .andExpect(jsonPath("$.[0].id").value(skill.getId()))
+		        .andExpect(header().string("Link", containsString("after=" + KeysetPagination.token(skill.getId()))));
+
+		mockMvc.perform(get("/skills").param("after", KeysetPagination.token(skill.getId())).param("limit", "1")
+		        .with(csrf().asHeader())).andExpect(status().isOk())
+		        .andExpect(jsonPath("$.[0].id").value(skill2.getId()));
+
+		mockMvc.perform(get("/skills").param("limit", "0").with(csrf().asHeader()))
+		        .andExpect(status().isBadRequest());
+
+		mockMvc.perform(get("/skills").param("after", String.valueOf(skill.getId())).with(csrf().asHeader()))
+		        .andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@WithMockUser
+	public void testGetSkillsByIds() throws Exception {
+		candidate = candidateService.addCandidate(candidate);
+
+		skill.setCandidate(candidate);
+		skill = skillService.addSkill(skill);
+
+		skill2.setCandidate(candidate);
+		skill2 = skillService.addSkill(skill2);
+		skillService.retireSkill(skill2.getId());
+
+		mockMvc.perform(get("/skills").param("ids", skill.getId() + "," + skill2.getId() + ",-1," + skill.getId())
+		        .with(csrf().asHeader())).andExpect(status().isOk())
+		        .andExpect(jsonPath("$.found.length()").value(1))
+		        .andExpect(jsonPath("$.found[0].id").value(skill.getId()))
+		        .andExpect(jsonPath("$.inactive[0]").value(skill2.getId()))
+		        .andExpect(jsonPath("$.notFound[0]").value(-1));
+
+		mockMvc.perform(get("/skills").param("ids", "").with(csrf().asHeader())).andExpect(status().isBadRequest());
+	}
+
 	@Test
 	@WithMockUser
 	public void testGetCandidateSkills() throws Exception {
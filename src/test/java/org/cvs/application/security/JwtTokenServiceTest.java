@@ -0,0 +1,120 @@
+package org.cvs.application.security;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link JwtTokenService}. The parser is spied on to see which
+ * lookups are verified afresh, and the clock is moved by hand to reach the
+ * expiry of a token.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+public class JwtTokenServiceTest {
+
+	static final byte[] SIGNING_KEY = "SecretKeyToGenJWTs".getBytes();
+
+	// Whole seconds, as expiry times are kept in a token
+	static final long NOW = 1_600_000_000_000L;
+
+	AtomicLong now;
+
+	JwtParser parser;
+
+	JwtTokenService tokenService;
+
+	MeterRegistry registry;
+
+	@BeforeEach
+	void init() {
+		now = new AtomicLong(NOW);
+		parser = spy(Jwts.parser().setSigningKey(SIGNING_KEY).setClock(() -> new Date(now.get())));
+		tokenService = new JwtTokenService(100, parser, () -> new Date(now.get()));
+		registry = new SimpleMeterRegistry();
+		tokenService.bindTo(registry);
+	}
+
+	@Test
+	public void testRepeatVerificationIsCached() {
+		String token = tokenService.createToken("jon");
+
+		assertAll("Properties", () -> assertEquals("jon", tokenService.getSubject(token)),
+		        () -> assertEquals("jon", tokenService.getSubject(token)),
+		        () -> verify(parser, times(1)).parseClaimsJws(token),
+		        () -> assertEquals(1, registry.get("cache.gets").tag("result", "miss").functionCounter().count()),
+		        () -> assertEquals(1, registry.get("cache.gets").tag("result", "hit").functionCounter().count()));
+	}
+
+	@Test
+	public void testCachedTokenExpiresAtItsExpiry() {
+		long expiresAt = NOW + 60_000;
+		String token = token("jon", expiresAt);
+
+		tokenService.getSubject(token);
+
+		// Still served from the cache up to the last millisecond before expiry
+		now.set(expiresAt - 1);
+		tokenService.getSubject(token);
+		verify(parser, times(1)).parseClaimsJws(token);
+
+		// At expiry the entry is dropped and the token goes back to the parser
+		now.set(expiresAt);
+		tokenService.getSubject(token);
+		verify(parser, times(2)).parseClaimsJws(token);
+
+		// Which rejects it once it has expired
+		now.set(expiresAt + 1000);
+		assertThrows(ExpiredJwtException.class, () -> tokenService.getSubject(token));
+		verify(parser, times(3)).parseClaimsJws(token);
+	}
+
+	@Test
+	public void testDifferentTokenIsVerified() {
+		String token = token("jon", NOW + 60_000);
+		String other = token("jon", NOW + 120_000);
+
+		assertAll("Properties", () -> assertEquals("jon", tokenService.getSubject(token)),
+		        () -> assertEquals("jon", tokenService.getSubject(other)),
+		        () -> verify(parser, times(1)).parseClaimsJws(token),
+		        () -> verify(parser, times(1)).parseClaimsJws(other),
+		        () -> assertEquals(2, registry.get("cache.gets").tag("result", "miss").functionCounter().count()),
+		        () -> assertEquals(0, registry.get("cache.gets").tag("result", "hit").functionCounter().count()));
+	}
+
+	@Test
+	public void testTamperedTokenIsRejected() {
+		String token = tokenService.createToken("jon");
+		tokenService.getSubject(token);
+
+		// Claims of another user with the signature of the cached token
+		String[] original = token.split("\\.");
+		String[] other = tokenService.createToken("mary").split("\\.");
+		String tampered = original[0] + "." + other[1] + "." + original[2];
+
+		assertThrows(SignatureException.class, () -> tokenService.getSubject(tampered));
+	}
+
+	private static String token(String subject, long expiresAt) {
+		return Jwts.builder().setSubject(subject).setExpiration(new Date(expiresAt))
+		        .signWith(SignatureAlgorithm.HS512, SIGNING_KEY).compact();
+	}
+}
@@ -0,0 +1,105 @@
+package org.cvs.application.security;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.cvs.application.exceptions.LoginCapacityExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link PasswordVerificationExecutor}.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+public class PasswordVerificationExecutorTest {
+
+	PasswordVerificationExecutor executor;
+
+	MeterRegistry registry;
+
+	CountDownLatch release;
+
+	PasswordEncoder blockingEncoder;
+
+	@BeforeEach
+	void init() {
+		executor = new PasswordVerificationExecutor(1, 1, 5000, 2);
+		registry = new SimpleMeterRegistry();
+		executor.bindTo(registry);
+
+		release = new CountDownLatch(1);
+		blockingEncoder = new BCryptPasswordEncoder() {
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return true;
+			}
+		};
+	}
+
+	@AfterEach
+	void cleanup() {
+		release.countDown();
+		executor.destroy();
+	}
+
+	@Test
+	public void testVerifiesOnExecutor() {
+		BCryptPasswordEncoder bCrypt = new BCryptPasswordEncoder(4);
+		PasswordEncoder encoder = executor.offload(bCrypt);
+		String hash = encoder.encode("password1");
+
+		assertAll("Properties", () -> assertTrue(encoder.matches("password1", hash)),
+		        () -> assertFalse(encoder.matches("password2", hash)),
+		        () -> assertEquals(2, registry.get("login.password.verification").functionTimer().count()));
+	}
+
+	@Test
+	public void testRejectsWhenQueueIsFull() throws Exception {
+		PasswordEncoder encoder = executor.offload(blockingEncoder);
+
+		// One verification running and one queued
+		CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+		CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+		while (registry.get("login.executor.queued").gauge().value() < 1) {
+			Thread.sleep(10);
+		}
+
+		LoginCapacityExceededException rejected = assertThrows(LoginCapacityExceededException.class,
+		        () -> encoder.matches("c", "c"));
+
+		release.countDown();
+
+		assertAll("Properties", () -> assertEquals(2, rejected.getRetryAfterSeconds()),
+		        () -> assertTrue(running.get()), () -> assertTrue(queued.get()),
+		        () -> assertEquals(1, registry.get("login.executor.rejected").functionCounter().count()));
+	}
+
+	@Test
+	public void testRejectsOnTimeout() {
+		executor.destroy();
+		executor = new PasswordVerificationExecutor(1, 1, 100, 1);
+		PasswordEncoder encoder = executor.offload(blockingEncoder);
+
+		assertThrows(LoginCapacityExceededException.class, () -> encoder.matches("a", "a"));
+	}
+}
@@ -0,0 +1,154 @@
+package org.cvs.application.security;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+
+import org.cvs.utils.TokenBucket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link RateLimitFilter} and {@link RateLimiter}.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+public class RateLimitFilterTest {
+
+	RateLimiter rateLimiter;
+
+	RateLimitFilter filter;
+
+	MeterRegistry registry;
+
+	@BeforeEach
+	void init() {
+		MockEnvironment environment = new MockEnvironment().withProperty("cvs.rate-limit.candidates.capacity", "2")
+		        .withProperty("cvs.rate-limit.candidates.refill-per-second", "0.001");
+
+		rateLimiter = new RateLimiter(true, new String[] { "candidates", "portfolios" }, 3, 0.001, 100,
+		        environment);
+		filter = new RateLimitFilter(rateLimiter);
+		registry = new SimpleMeterRegistry();
+		rateLimiter.bindTo(registry);
+	}
+
+	@AfterEach
+	void cleanup() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void testLimitHeaders() throws Exception {
+		login("jon");
+		MockHttpServletResponse response = get("/candidates/active/1");
+
+		assertAll("Properties", () -> assertEquals(200, response.getStatus()),
+		        () -> assertEquals("2", response.getHeader("RateLimit-Limit")),
+		        () -> assertEquals("1", response.getHeader("RateLimit-Remaining")),
+		        () -> assertNotNull(response.getHeader("RateLimit-Reset")));
+	}
+
+	@Test
+	public void testRequestsOverLimitAreRejected() throws Exception {
+		login("jon");
+		get("/candidates");
+		get("/candidates");
+		MockHttpServletResponse response = get("/candidates");
+
+		assertAll("Properties", () -> assertEquals(429, response.getStatus()),
+		        () -> assertEquals("0", response.getHeader("RateLimit-Remaining")),
+		        () -> assertNotNull(response.getHeader("Retry-After")),
+		        () -> assertEquals(1, registry.get("ratelimit.requests").tag("result", "rejected")
+		                .functionCounter().count()));
+	}
+
+	@Test
+	public void testGroupsAndPrincipalsHaveOwnBuckets() throws Exception {
+		login("jon");
+		get("/candidates");
+		get("/candidates");
+		MockHttpServletResponse portfolios = get("/portfolios");
+		MockHttpServletResponse skills = get("/skills");
+
+		login("mary");
+		MockHttpServletResponse otherUser = get("/candidates");
+
+		assertAll("Properties", () -> assertEquals(200, portfolios.getStatus()),
+		        () -> assertEquals("3", portfolios.getHeader("RateLimit-Limit")),
+		        () -> assertEquals(200, skills.getStatus()), () -> assertEquals(200, otherUser.getStatus()),
+		        () -> assertEquals(4, registry.get("ratelimit.buckets").gauge().value()));
+	}
+
+	@Test
+	public void testFullBucketsAreEvictedFirst() throws Exception {
+		// Buckets of the candidates group refill at once
+		MockEnvironment environment = new MockEnvironment()
+		        .withProperty("cvs.rate-limit.candidates.refill-per-second", "1e12");
+		rateLimiter = new RateLimiter(true, new String[] { "candidates" }, 3, 0.001, 10, environment);
+		rateLimiter.bindTo(registry = new SimpleMeterRegistry());
+
+		for (int i = 1; i <= 5; i++) {
+			rateLimiter.tryAcquire("user" + i, RateLimiter.DEFAULT_GROUP);
+		}
+		for (int i = 1; i <= 6; i++) {
+			rateLimiter.tryAcquire("user" + i, "candidates");
+		}
+		TokenBucket.Probe oldest = rateLimiter.tryAcquire("user1", RateLimiter.DEFAULT_GROUP);
+
+		assertAll("Properties", () -> assertEquals(1, oldest.getRemaining()),
+		        () -> assertEquals(5, registry.get("ratelimit.buckets").gauge().value()),
+		        () -> assertEquals(6, registry.get("ratelimit.evictions").functionCounter().count()));
+	}
+
+	@Test
+	public void testUsedBucketsAreEvictedOldestFirst() throws Exception {
+		rateLimiter = new RateLimiter(true, new String[0], 3, 0.001, 10, new MockEnvironment());
+		rateLimiter.bindTo(registry = new SimpleMeterRegistry());
+
+		// No bucket is full, so the least recently used ones go
+		for (int i = 1; i <= 11; i++) {
+			rateLimiter.tryAcquire("user" + i, RateLimiter.DEFAULT_GROUP);
+		}
+		TokenBucket.Probe oldest = rateLimiter.tryAcquire("user1", RateLimiter.DEFAULT_GROUP);
+		TokenBucket.Probe newest = rateLimiter.tryAcquire("user11", RateLimiter.DEFAULT_GROUP);
+
+		assertAll("Properties", () -> assertEquals(2, oldest.getRemaining()),
+		        () -> assertEquals(1, newest.getRemaining()),
+		        () -> assertEquals(10, registry.get("ratelimit.buckets").gauge().value()),
+		        () -> assertEquals(2, registry.get("ratelimit.evictions").functionCounter().count()));
+	}
+
+	@Test
+	public void testUnauthenticatedRequestsAreNotLimited() throws Exception {
+		MockHttpServletResponse response = get("/users/login");
+
+		assertAll("Properties", () -> assertEquals(200, response.getStatus()),
+		        () -> assertNull(response.getHeader("RateLimit-Limit")));
+	}
+
+	private void login(String username) {
+		SecurityContextHolder.getContext()
+		        .setAuthentication(new UsernamePasswordAuthenticationToken(username, null, new ArrayList<>()));
+	}
+
+	private MockHttpServletResponse get(String path) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", path), response, new MockFilterChain());
+		return response;
+	}
+}
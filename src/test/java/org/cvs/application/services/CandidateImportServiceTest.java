@@ -0,0 +1,252 @@
+package org.cvs.application.services;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+
+import org.cvs.Benchmark;
+import org.cvs.data.dto.CandidateCv;
+import org.cvs.data.dto.ImportReport;
+import org.cvs.data.entities.Candidate;
+import org.cvs.data.entities.Qualification;
+import org.cvs.data.entities.QualificationType;
+import org.cvs.data.entities.Reference;
+import org.cvs.data.entities.Skill;
+import org.cvs.data.entities.WorkExperience;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Integration tests for {@link CandidateImportService}.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+@Transactional
+@Slf4j
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = { "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true" })
+public class CandidateImportServiceTest {
+
+	@Autowired
+	CandidateImportService candidateImportService;
+
+	@Autowired
+	CandidateService candidateService;
+
+	@Autowired
+	QualificationTypeService qualificationTypeService;
+
+	@Autowired
+	CvService cvService;
+
+	@Autowired
+	EntityManager entityManager;
+
+	@Autowired
+	MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+
+	@Value("${cvs.benchmark.import-rows:10000}")
+	int importRows;
+
+	Candidate candidate, invalidCandidate;
+
+	Qualification qualification;
+
+	QualificationType qualificationType;
+
+	WorkExperience workExperience;
+
+	Reference reference;
+
+	ObjectMapper mapper;
+
+	@BeforeEach
+	void init() {
+		candidate = new Candidate("John", "", "Smith");
+		candidate.setAddressLine1("Address 1");
+		candidate.setCountry("UK");
+		candidate.setGender("M");
+		candidate.setEmail("import@email.com");
+		candidate.setDateOfBirth(LocalDate.of(1987, Month.JUNE, 15));
+
+		invalidCandidate = new Candidate("", "", "");
+		invalidCandidate.setEmail("someemail");
+
+		qualification = new Qualification("PhD in Computer Science", "University of Essex", "UK",
+		        LocalDate.of(2016, Month.JUNE, 15));
+
+		qualificationType = new QualificationType("Doctorate");
+
+		workExperience = new WorkExperience("Post Office", "UK", "Head of IT");
+		workExperience.setStartDate(LocalDate.of(2012, Month.JUNE, 15));
+		workExperience.setEndDate(LocalDate.of(2014, Month.APRIL, 11));
+
+		reference = new Reference("John Malkovich", "Professor of History Studies", "University of Kent",
+		        "test@test.com");
+		reference.setContactNumber("0893453234");
+		reference.setAddressLine1("Address 1");
+		reference.setCountry("UK");
+
+		mapper = new ObjectMapper();
+		mapper.registerModule(new JavaTimeModule());
+		mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+	}
+
+	@Test
+	@WithMockUser
+	public void testImportCandidates() throws IOException {
+		qualificationType = qualificationTypeService.addQualificationType(qualificationType);
+		qualification.setQualificationType(qualificationType);
+
+		CandidateCv validRow = new CandidateCv(candidate, Arrays.asList(new Skill("Java 8 - Advanced")),
+		        Arrays.asList(qualification), Arrays.asList(workExperience), Arrays.asList(reference));
+		CandidateCv invalidRow = new CandidateCv(invalidCandidate, Collections.emptyList(), Collections.emptyList(),
+		        Collections.emptyList(), Collections.emptyList());
+
+		String ndjson = mapper.writeValueAsString(validRow) + "\n" + mapper.writeValueAsString(invalidRow) + "\n"
+		        + "\n" + "{not json" + "\n";
+
+		ImportReport report = candidateImportService
+		        .importCandidates(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+		List<Candidate> imported = candidateService.getCandidates().stream()
+		        .filter(p -> p.getEmail().equals("import@email.com")).collect(Collectors.toList());
+
+		assertAll("Properties", () -> assertTrue(report.getReceived() == 3),
+		        () -> assertTrue(report.getImported() == 1), () -> assertTrue(report.getFailed() == 2),
+		        () -> assertTrue(report.getErrors().get(0).getLine() == 2),
+		        () -> assertTrue(report.getErrors().get(1).getLine() == 4), () -> assertTrue(imported.size() == 1),
+		        () -> {
+			        CandidateCv cv = cvService.getCv(imported.get(0).getId());
+			        assertTrue(cv.getSkills().size() == 1);
+			        assertTrue(cv.getQualifications().size() == 1);
+			        assertTrue(cv.getWorkExperiences().size() == 1);
+			        assertTrue(cv.getReferences().size() == 1);
+		        });
+	}
+
+	@Test
+	@WithMockUser
+	public void testImportCborDocuments() throws IOException {
+		ObjectMapper cbor = cborHttpMessageConverter.getObjectMapper();
+
+		CandidateCv validDocument = new CandidateCv(candidate, Arrays.asList(new Skill("Java 8 - Advanced")),
+		        Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+		CandidateCv invalidDocument = new CandidateCv(invalidCandidate, Collections.emptyList(),
+		        Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+
+		ByteArrayOutputStream documents = new ByteArrayOutputStream();
+		try (SequenceWriter writer = cbor.writer().writeValues(documents)) {
+			writer.write(invalidDocument);
+			writer.write(validDocument);
+		}
+
+		ImportReport report = candidateImportService
+		        .importCandidates(new ByteArrayInputStream(documents.toByteArray()), cbor);
+
+		assertAll("Properties", () -> assertTrue(report.getReceived() == 2),
+		        () -> assertTrue(report.getImported() == 1), () -> assertTrue(report.getFailed() == 1),
+		        () -> assertTrue(report.getErrors().get(0).getLine() == 1));
+	}
+
+	@Test
+	@WithMockUser
+	public void testImportWithUnknownQualificationType() throws IOException {
+		QualificationType unknownType = new QualificationType("Unknown");
+		unknownType.setId(-1L);
+		qualification.setQualificationType(unknownType);
+
+		CandidateCv row = new CandidateCv(candidate, Collections.emptyList(), Arrays.asList(qualification),
+		        Collections.emptyList(), Collections.emptyList());
+
+		ImportReport report = candidateImportService.importCandidates(
+		        new ByteArrayInputStream(mapper.writeValueAsBytes(row)));
+
+		assertAll("Properties", () -> assertTrue(report.getImported() == 0),
+		        () -> assertTrue(report.getFailed() == 1),
+		        () -> assertTrue(report.getErrors().get(0).getMessage().contains("QUALIFICATION_TYPE")));
+	}
+
+	@Test
+	@WithMockUser
+	public void testImportBatchesInserts() throws IOException {
+		int rows = 500;
+
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+
+		ImportReport report = candidateImportService.importCandidates(ndjson(rows));
+
+		long statementCount = statistics.getPrepareStatementCount();
+		statistics.setStatisticsEnabled(false);
+
+		// Pooled IDs and batched inserts need a handful of statements per block of
+		// 50 rows instead of several per row
+		assertAll("Properties", () -> assertTrue(report.getImported() == rows),
+		        () -> assertTrue(statementCount < rows / 5));
+	}
+
+	/**
+	 * Run with <code>./gradlew benchmark</code>; the number of rows is set with
+	 * <code>-Dcvs.benchmark.import-rows</code>.
+	 */
+	@Benchmark
+	@WithMockUser
+	public void testImportThroughput() throws IOException {
+		int rows = importRows;
+
+		long start = System.nanoTime();
+		ImportReport report = candidateImportService.importCandidates(ndjson(rows));
+		long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1000000);
+
+		log.info("Imported " + rows + " candidates with skills in " + elapsedMs + " ms (" + rows * 1000L / elapsedMs
+		        + " rows/s)");
+
+		assertTrue(report.getImported() == rows);
+	}
+
+	private ByteArrayInputStream ndjson(int rows) throws IOException {
+		CandidateCv row = new CandidateCv(candidate, Arrays.asList(new Skill("Java 8 - Advanced")),
+		        Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+		String line = mapper.writeValueAsString(row) + "\n";
+
+		StringBuilder ndjson = new StringBuilder();
+		for (int i = 0; i < rows; i++) {
+			ndjson.append(line);
+		}
+		return new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8));
+	}
+}
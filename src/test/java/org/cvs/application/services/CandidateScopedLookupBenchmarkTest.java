@@ -0,0 +1,146 @@
+package org.cvs.application.services;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.cvs.Benchmark;
+import org.cvs.data.entities.Candidate;
+import org.cvs.data.entities.Skill;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Benchmark for the candidate-scoped child lookups. The skill table is grown
+ * step by step with rows of other candidates, and the latency of
+ * {@link SkillService#getSkills(Long)} for one candidate is measured at each
+ * size; it should stay flat as the table grows.
+ * <p>
+ * Run with <code>./gradlew benchmark</code>; the table sizes are set with
+ * <code>-Dcvs.benchmark.table-sizes</code>.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+@Slf4j
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class CandidateScopedLookupBenchmarkTest {
+
+	static final String FILLER_EMAIL = "filler@benchmark.test";
+
+	static final String MEASURED_EMAIL = "measured@benchmark.test";
+
+	static final int FILLER_CANDIDATES = 1000;
+
+	static final int SKILLS = 10;
+
+	static final int WARMUP = 50;
+
+	static final int SAMPLES = 500;
+
+	@Autowired
+	SkillService skillService;
+
+	@Autowired
+	CandidateService candidateService;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Value("${cvs.benchmark.table-sizes:10000,100000,1000000,10000000}")
+	String tableSizes;
+
+	@AfterEach
+	void cleanup() {
+		jdbcTemplate.update("DELETE FROM skill WHERE candidate_id IN (SELECT id FROM candidate WHERE email IN (?, ?))",
+		        FILLER_EMAIL, MEASURED_EMAIL);
+		jdbcTemplate.update("DELETE FROM candidate WHERE email IN (?, ?)", FILLER_EMAIL, MEASURED_EMAIL);
+	}
+
+	@Benchmark
+	@WithMockUser
+	public void testLatencyAsTableGrows() {
+		Candidate candidate = new Candidate("Measured", "", "Candidate");
+		candidate.setAddressLine1("Address 1");
+		candidate.setCountry("UK");
+		candidate.setGender("M");
+		candidate.setEmail(MEASURED_EMAIL);
+		candidate.setDateOfBirth(LocalDate.of(1987, Month.JUNE, 15));
+		candidate = candidateService.addCandidate(candidate);
+		Long candidateId = candidate.getId();
+
+		for (int i = 0; i < SKILLS; i++) {
+			Skill skill = new Skill("Skill " + i);
+			skill.setCandidate(candidate);
+			skillService.addSkill(skill);
+		}
+
+		jdbcTemplate.update("INSERT INTO candidate (id, first_name, last_name, address_line1, country, gender, email, "
+		        + "date_of_birth, voided, retired, created_by, created_date) SELECT nextval('candidate_seq'), "
+		        + "'Filler', 'Candidate', 'Address 1', 'UK', 'M', ?, DATE '1987-06-15', 0, 0, 'benchmark', now() "
+		        + "FROM generate_series(1, ?)", FILLER_EMAIL, FILLER_CANDIDATES);
+
+		List<Long> sizes = Arrays.stream(tableSizes.split(",")).map(String::trim).map(Long::valueOf).sorted()
+		        .collect(Collectors.toList());
+		List<Long> medians = new ArrayList<>();
+
+		long rows = 0;
+		for (Long size : sizes) {
+			grow(size - rows);
+			rows = size;
+
+			for (int i = 0; i < WARMUP; i++) {
+				skillService.getSkills(candidateId);
+			}
+
+			long[] samples = new long[SAMPLES];
+			for (int i = 0; i < SAMPLES; i++) {
+				long start = System.nanoTime();
+				List<Skill> skills = skillService.getSkills(candidateId);
+				samples[i] = System.nanoTime() - start;
+				assertEquals(SKILLS, skills.size());
+			}
+			Arrays.sort(samples);
+
+			long median = samples[SAMPLES / 2];
+			medians.add(median);
+			log.info("{} other skills: median {} us, p99 {} us for {} skills of one candidate", size, median / 1000,
+			        samples[SAMPLES * 99 / 100] / 1000, SKILLS);
+		}
+
+		// An index scan grows with the depth of the index only; a table scan would
+		// grow a thousandfold from 10k to 10M rows
+		long smallest = medians.get(0);
+		long largest = medians.get(medians.size() - 1);
+		assertAll("Properties", () -> assertTrue(largest < smallest * 5 + 1000000));
+	}
+
+	private void grow(long rows) {
+		if (rows <= 0) {
+			return;
+		}
+
+		long start = System.nanoTime();
+		jdbcTemplate.update("INSERT INTO skill (id, description, candidate_id, voided, retired, created_by, "
+		        + "created_date) SELECT nextval('skill_seq'), 'Filler skill', "
+		        + "f.ids[1 + g % array_length(f.ids, 1)], 0, 0, 'benchmark', now() FROM generate_series(1, ?) g, "
+		        + "(SELECT array_agg(id) AS ids FROM candidate WHERE email = ?) f", rows, FILLER_EMAIL);
+		jdbcTemplate.execute("ANALYZE skill");
+		log.info("Added {} skills in {} ms", rows, (System.nanoTime() - start) / 1000000);
+	}
+}
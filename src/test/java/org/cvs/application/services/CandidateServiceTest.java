@@ -7,15 +7,20 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.List;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 import javax.validation.ConstraintViolationException;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
 import org.cvs.data.entities.Candidate;
+import org.cvs.data.entities.Portfolio;
 import org.cvs.data.repositories.CandidateRepository;
 import org.cvs.utils.Lookup;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,6 +47,12 @@ public class CandidateServiceTest {
 	@Autowired
 	CandidateService service;
 
+	@Autowired
+	PortfolioService portfolioService;
+
+	@Autowired
+	EntityManager entityManager;
+
 	Candidate candidate, invalidCandidate, fetchedCandidate;
 
 	int FALSE = 0;
@@ -147,6 +158,33 @@ public class CandidateServiceTest {
 			);
 	}
 
+	@Test
+	@WithMockUser
+	public void testGetPortfolioCandidatesInSingleQuery() {
+		Portfolio portfolio = portfolioService.addPortfolio(new Portfolio("Portfolio Name1"));
+
+		candidate.getPortfolio().add(portfolio);
+		service.addCandidate(candidate);
+		service.addCandidate(candidate);
+
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+
+		List<Candidate> candidates = service.getCandidates(portfolio.getId());
+
+		long queryCount = statistics.getPrepareStatementCount();
+		statistics.setStatisticsEnabled(false);
+
+		assertAll("Properties", 
+				() -> assertTrue(candidates.size() == 2),
+				() -> assertTrue(queryCount == 1)
+			);
+	}
+
 	@Test
 	@WithMockUser
 	public void testConstraintViolations() {		
@@ -0,0 +1,186 @@
+package org.cvs.application.services;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+import org.cvs.data.dto.CandidateCv;
+import org.cvs.data.entities.Candidate;
+import org.cvs.data.entities.Qualification;
+import org.cvs.data.entities.QualificationType;
+import org.cvs.data.entities.Reference;
+import org.cvs.data.entities.Skill;
+import org.cvs.data.entities.WorkExperience;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Integration tests for the parallel fetches of {@link CvService}. They are
+ * not transactional themselves, so the CV parts are fetched on the CV executor,
+ * each in its own transaction.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class CvServiceParallelTest {
+
+	@Autowired
+	CvService cvService;
+
+	@Autowired
+	CandidateService candidateService;
+
+	@Autowired
+	SkillService skillService;
+
+	@Autowired
+	QualificationService qualificationService;
+
+	@Autowired
+	QualificationTypeService qualificationTypeService;
+
+	@Autowired
+	WorkExperienceService workExperienceService;
+
+	@SpyBean
+	ReferenceService referenceService;
+
+	@Autowired
+	@Qualifier("cvExecutor")
+	ThreadPoolTaskExecutor cvExecutor;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	Candidate candidate;
+
+	QualificationType qualificationType;
+
+	@BeforeEach
+	void init() {
+		candidate = new Candidate("Parallel", "", "Test");
+		candidate.setAddressLine1("Address 1");
+		candidate.setCountry("UK");
+		candidate.setGender("M");
+		candidate.setEmail("parallel@email.com");
+		candidate.setDateOfBirth(LocalDate.of(1987, Month.JUNE, 15));
+		candidate = candidateService.addCandidate(candidate);
+
+		qualificationType = qualificationTypeService.addQualificationType(new QualificationType("Parallel"));
+
+		Skill skill = new Skill("Java 8 - Advanced");
+		skill.setCandidate(candidate);
+		skillService.addSkill(skill);
+
+		Qualification qualification = new Qualification("PhD in Computer Science", "University of Essex", "UK",
+		        LocalDate.of(2016, Month.JUNE, 15));
+		qualification.setCandidate(candidate);
+		qualification.setQualificationType(qualificationType);
+		qualificationService.addQualification(qualification);
+
+		WorkExperience workExperience = new WorkExperience("Post Office", "UK", "Head of IT");
+		workExperience.setStartDate(LocalDate.of(2012, Month.JUNE, 15));
+		workExperience.setEndDate(LocalDate.of(2014, Month.APRIL, 11));
+		workExperience.setCandidate(candidate);
+		workExperienceService.addWorkExperience(workExperience);
+
+		Reference reference = new Reference("John Malkovich", "Professor of History Studies", "University of Kent",
+		        "test@test.com");
+		reference.setContactNumber("0893453234");
+		reference.setAddressLine1("Address 1");
+		reference.setCountry("UK");
+		reference.setCandidate(candidate);
+		referenceService.addReference(reference);
+	}
+
+	@AfterEach
+	void cleanup() {
+		candidateService.deleteCandidate(candidate.getId());
+		qualificationTypeService.deleteQualificationType(qualificationType.getId());
+	}
+
+	@Test
+	@WithMockUser
+	public void testFetchesOnExecutor() throws Exception {
+		long completedBefore = cvExecutor.getThreadPoolExecutor().getCompletedTaskCount();
+
+		CandidateCv cv = cvService.getCv(candidate.getId());
+
+		boolean fannedOut = awaitCompleted(completedBefore + 4);
+
+		// Each part was loaded by another thread in a transaction that has ended, so
+		// everything a CV renders must already be loaded
+		assertAll("Properties", () -> assertTrue(fannedOut), () -> assertEquals(1, cv.getSkills().size()),
+		        () -> assertEquals(1, cv.getQualifications().size()),
+		        () -> assertEquals(1, cv.getWorkExperiences().size()), () -> assertEquals(1, cv.getReferences().size()),
+		        () -> assertTrue(Hibernate.isInitialized(cv.getQualifications().get(0).getQualificationType())),
+		        () -> assertEquals("Parallel", cv.getQualifications().get(0).getQualificationType().getName()),
+		        () -> assertNotNull(objectMapper.writeValueAsString(cv)));
+	}
+
+	@Test
+	@WithMockUser
+	public void testFetchesOnExecutorInReadOnlyTransaction() throws Exception {
+		long completedBefore = cvExecutor.getThreadPoolExecutor().getCompletedTaskCount();
+
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		CandidateCv cv = readOnly.execute(status -> cvService.getCv(candidate.getId()));
+
+		boolean fannedOut = awaitCompleted(completedBefore + 4);
+
+		assertAll("Properties", () -> assertTrue(fannedOut), () -> assertEquals(1, cv.getSkills().size()),
+		        () -> assertEquals(1, cv.getReferences().size()));
+	}
+
+	@Test
+	@WithMockUser
+	public void testFailedFetchPropagatesItsException() {
+		IllegalStateException failure = new IllegalStateException("Reference lookup failed");
+		Mockito.doThrow(failure).when(referenceService).getReferences(candidate.getId());
+
+		IllegalStateException thrown = assertThrows(IllegalStateException.class,
+		        () -> cvService.getCv(candidate.getId()));
+
+		assertTrue(thrown == failure);
+	}
+
+	/**
+	 * Waits for the CV executor to have completed a number of tasks. Tasks are
+	 * counted just after their results are handed over.
+	 */
+	private boolean awaitCompleted(long count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (cvExecutor.getThreadPoolExecutor().getCompletedTaskCount() < count) {
+			if (System.currentTimeMillis() > deadline) {
+				return false;
+			}
+			Thread.sleep(10);
+		}
+		return true;
+	}
+}
@@ -0,0 +1,169 @@
+package org.cvs.application.services;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+
+import org.cvs.application.exceptions.EntryNotActiveException;
+import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.CandidateCv;
+import org.cvs.data.entities.Candidate;
+import org.cvs.data.entities.Qualification;
+import org.cvs.data.entities.QualificationType;
+import org.cvs.data.entities.Reference;
+import org.cvs.data.entities.Skill;
+import org.cvs.data.entities.WorkExperience;
+import org.cvs.utils.Lookup;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Integration tests for {@link CvService}.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+@Transactional
+@Slf4j
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class CvServiceTest {
+
+	@Autowired
+	CvService cvService;
+
+	@Autowired
+	CandidateService candidateService;
+
+	@Autowired
+	SkillService skillService;
+
+	@Autowired
+	QualificationService qualificationService;
+
+	@Autowired
+	QualificationTypeService qualificationTypeService;
+
+	@Autowired
+	WorkExperienceService workExperienceService;
+
+	@Autowired
+	ReferenceService referenceService;
+
+	@Autowired
+	EntityManager entityManager;
+
+	Candidate candidate;
+
+	Skill skill;
+
+	Qualification qualification;
+
+	QualificationType qualificationType;
+
+	WorkExperience workExperience;
+
+	Reference reference;
+
+	@BeforeEach
+	void init() {
+		candidate = new Candidate("John", "", "Smith");
+
+		candidate.setAddressLine1("Address 1");
+		candidate.setCountry("UK");
+		candidate.setGender("M");
+		candidate.setEmail("email@email.com");
+		candidate.setDateOfBirth(LocalDate.of(1987, Month.JUNE, 15));
+
+		skill = new Skill("Java 8 - Advanced");
+
+		qualification = new Qualification("PhD in Computer Science", "University of Essex", "UK",
+		        LocalDate.of(2016, Month.JUNE, 15));
+
+		qualificationType = new QualificationType("Doctorate");
+
+		workExperience = new WorkExperience("Post Office", "UK", "Head of IT");
+		workExperience.setStartDate(LocalDate.of(2012, Month.JUNE, 15));
+		workExperience.setEndDate(LocalDate.of(2014, Month.APRIL, 11));
+
+		reference = new Reference("John Malkovich", "Professor of History Studies", "University of Kent",
+		        "test@test.com");
+		reference.setContactNumber("0893453234");
+		reference.setAddressLine1("Address 1");
+		reference.setCountry("UK");
+	}
+
+	@Test
+	@WithMockUser
+	public void testGetCv() {
+		candidate = candidateService.addCandidate(candidate);
+		qualificationType = qualificationTypeService.addQualificationType(qualificationType);
+
+		skill.setCandidate(candidate);
+		skillService.addSkill(skill);
+		Skill retiredSkill = skillService.addSkill(skill);
+		skillService.retireSkill(retiredSkill.getId());
+
+		qualification.setCandidate(candidate);
+		qualification.setQualificationType(qualificationType);
+		qualificationService.addQualification(qualification);
+
+		workExperience.setCandidate(candidate);
+		workExperienceService.addWorkExperience(workExperience);
+
+		reference.setCandidate(candidate);
+		referenceService.addReference(reference);
+
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+
+		CandidateCv cv = cvService.getCv(candidate.getId());
+
+		long queryCount = statistics.getPrepareStatementCount();
+		statistics.setStatisticsEnabled(false);
+
+		assertAll("Properties", () -> assertTrue(cv.getCandidate().getId().equals(candidate.getId())),
+		        () -> assertTrue(cv.getSkills().size() == 1), () -> assertTrue(cv.getQualifications().size() == 1),
+		        () -> assertTrue(cv.getWorkExperiences().size() == 1), () -> assertTrue(cv.getReferences().size() == 1),
+		        () -> assertTrue(Hibernate.isInitialized(cv.getQualifications().get(0).getQualificationType())),
+		        () -> assertTrue(queryCount == 5));
+	}
+
+	@Test
+	@WithMockUser
+	public void testGetCvForInactiveCandidate() {
+		candidate = candidateService.addCandidate(candidate);
+		candidateService.retireCandidate(candidate.getId());
+
+		assertThrows(EntryNotActiveException.class, () -> {
+			cvService.getCv(candidate.getId());
+		});
+	}
+
+	@Test
+	@WithMockUser
+	public void testGetCvForNonExistentCandidate() {
+		assertThrows(EntryNotFoundException.class, () -> {
+			cvService.getCv(-1L);
+		});
+	}
+}
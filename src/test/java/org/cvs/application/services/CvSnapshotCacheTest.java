@@ -0,0 +1,73 @@
+package org.cvs.application.services;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link CvSnapshotCache}.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+public class CvSnapshotCacheTest {
+
+	CvSnapshotCache cache;
+
+	MeterRegistry registry;
+
+	byte[] snapshot = "{}".getBytes();
+
+	@BeforeEach
+	void init() {
+		cache = new CvSnapshotCache(2);
+		registry = new SimpleMeterRegistry();
+		cache.bindTo(registry);
+	}
+
+	@Test
+	public void testPutAndGet() {
+		cache.put(1L, snapshot, cache.generation());
+
+		assertArrayEquals(snapshot, cache.get(1L));
+	}
+
+	@Test
+	public void testStalePutIsDiscarded() {
+		long generation = cache.generation();
+		cache.evict(1L);
+		cache.put(1L, snapshot, generation);
+
+		assertNull(cache.get(1L));
+	}
+
+	@Test
+	public void testEvictAll() {
+		cache.put(1L, snapshot, cache.generation());
+		cache.put(2L, snapshot, cache.generation());
+		cache.evictAll();
+
+		assertAll("Properties", () -> assertNull(cache.get(1L)), () -> assertNull(cache.get(2L)));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvicted() {
+		cache.put(1L, snapshot, cache.generation());
+		cache.put(2L, snapshot, cache.generation());
+		cache.get(1L);
+		cache.put(3L, snapshot, cache.generation());
+
+		assertAll("Properties", () -> assertTrue(cache.get(1L) != null), () -> assertNull(cache.get(2L)),
+		        () -> assertTrue(registry.get("cache.evictions").functionCounter().count() == 1),
+		        () -> assertTrue(registry.get("cache.gets").tag("result", "hit").functionCounter().count() == 2),
+		        () -> assertTrue(registry.get("cache.gets").tag("result", "miss").functionCounter().count() == 1),
+		        () -> assertTrue(registry.get("cache.size").gauge().value() == 2));
+	}
+}
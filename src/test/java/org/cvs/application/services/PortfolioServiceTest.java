@@ -7,18 +7,25 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 import javax.validation.ConstraintViolationException;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.LinkReport;
 import org.cvs.data.entities.ApplicationUser;
 import org.cvs.data.entities.Candidate;
 import org.cvs.data.entities.Portfolio;
 import org.cvs.data.repositories.PortfolioRepository;
+import org.cvs.utils.FetchPlan;
 import org.cvs.utils.Lookup;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -51,11 +58,14 @@ public class PortfolioServiceTest {
 	@Autowired
 	ApplicationUserService userService;
 
+	@Autowired
+	EntityManager entityManager;
+
 	Portfolio portfolio, invalidPortfolio, fetchedPortfolio;
 
 	ApplicationUser user;
 
-	Candidate candidate;
+	Candidate candidate, candidate2;
 
 	int FALSE = 0;
 
@@ -87,6 +97,14 @@ public class PortfolioServiceTest {
 
 		candidate.setRetired(Lookup.NOT_RETIRED);
 		candidate.setVoided(Lookup.NOT_VOIDED);
+
+		candidate2 = new Candidate("Jane", "", "Smith");
+
+		candidate2.setAddressLine1("Address 2");
+		candidate2.setCountry("UK");
+		candidate2.setGender("F");
+		candidate2.setEmail("email2@email.com");
+		candidate2.setDateOfBirth(LocalDate.of(1989, Month.MAY, 3));
 	}
 
 	@Test
@@ -112,6 +130,7 @@ public class PortfolioServiceTest {
 
 		portfolio = portfolioService.updatePortfolioWithUser(user.getId(), portfolio.getId());
 
+		user = userService.getActiveUser(user.getId());
 		assertTrue(user.getPortfolio().stream().filter(p -> p.getId() == portfolio.getId()).findFirst()
 		        .orElse(null) != null);
 	}
@@ -150,6 +169,7 @@ public class PortfolioServiceTest {
 
 		portfolio = portfolioService.updatePortfolioWithCandidate(candidate.getId(), portfolio.getId());
 
+		candidate = candidateService.getActiveCandidate(candidate.getId());
 		assertTrue(candidate.getPortfolio().stream().filter(p -> p.getId() == portfolio.getId()).findFirst()
 		        .orElse(null) != null);
 	}
@@ -164,6 +184,7 @@ public class PortfolioServiceTest {
 		portfolio = portfolioService.updatePortfolioWithCandidate(candidate.getId(), portfolio.getId());// Duplicate
 		                                                                                                // operation
 
+		candidate = candidateService.getActiveCandidate(candidate.getId());
 		log.info("Candidate has this many portfolios: " + candidate.getPortfolio().stream()
 		        .filter(p -> p.getId() == portfolio.getId()).collect(Collectors.toList()).size());
 
@@ -238,4 +259,128 @@ public class PortfolioServiceTest {
 		});
 	}
 
+	@Test
+	@WithMockUser
+	public void testLinkCandidatesInBulk() {
+		portfolio = portfolioService.addPortfolio(portfolio);
+		candidate = candidateService.addCandidate(candidate);
+		candidate2 = candidateService.addCandidate(candidate2);
+		candidateService.retireCandidate(candidate2.getId());
+
+		LinkReport report = portfolioService.linkCandidates(portfolio.getId(),
+		        Arrays.asList(candidate.getId(), candidate2.getId(), -2L, candidate.getId()));
+		LinkReport repeatReport = portfolioService.linkCandidates(portfolio.getId(),
+		        Arrays.asList(candidate.getId()));
+
+		fetchedPortfolio = portfolioService.getActivePortfolio(portfolio.getId());
+
+		assertAll("Properties", () -> assertTrue(report.getRequested() == 3),
+		        () -> assertTrue(report.getChanged() == 1), () -> assertTrue(report.getRejected().size() == 2),
+		        () -> assertTrue(repeatReport.getChanged() == 0), () -> assertTrue(repeatReport.getUnchanged() == 1),
+		        () -> assertTrue(fetchedPortfolio.getCandidate().size() == 1));
+	}
+
+	@Test
+	@WithMockUser
+	public void testUnlinkUsersInBulk() {
+		portfolio = portfolioService.addPortfolio(portfolio);
+		user = userService.addUser(user);
+
+		portfolioService.linkUsers(portfolio.getId(), Arrays.asList(user.getId()));
+		LinkReport report = portfolioService.unlinkUsers(portfolio.getId(), Arrays.asList(user.getId(), -2L));
+
+		fetchedPortfolio = portfolioService.getActivePortfolio(portfolio.getId());
+
+		assertAll("Properties", () -> assertTrue(report.getChanged() == 1),
+		        () -> assertTrue(report.getUnchanged() == 1),
+		        () -> assertTrue(fetchedPortfolio.getApplicationUser().isEmpty()));
+	}
+
+	@Test
+	@WithMockUser
+	public void testLinkCandidatesToInvalidPortfolio() {
+		candidate = candidateService.addCandidate(candidate);
+
+		assertThrows(EntryNotFoundException.class, () -> {
+			portfolioService.linkCandidates(-2L, Arrays.asList(candidate.getId()));
+		});
+	}
+
+	@Test
+	@WithMockUser
+	public void testVoidedMembersExcluded() {
+		portfolio = portfolioService.addPortfolio(portfolio);
+		candidate = candidateService.addCandidate(candidate);
+		candidate2 = candidateService.addCandidate(candidate2);
+
+		portfolioService.linkCandidates(portfolio.getId(), Arrays.asList(candidate.getId(), candidate2.getId()));
+		candidateService.deleteCandidate(candidate2.getId());
+		entityManager.flush();
+		entityManager.clear();
+
+		fetchedPortfolio = portfolioService.getActivePortfolio(portfolio.getId());
+
+		assertAll("Properties", () -> assertTrue(fetchedPortfolio.getCandidate().size() == 1),
+		        () -> assertTrue(fetchedPortfolio.getCandidate().iterator().next().getId().equals(candidate.getId())));
+	}
+
+	@Test
+	@WithMockUser
+	public void testActiveMembersLoadedWithPortfolio() {
+		portfolio = portfolioService.addPortfolio(portfolio);
+		user = userService.addUser(user);
+		candidate = candidateService.addCandidate(candidate);
+		candidate2 = candidateService.addCandidate(candidate2);
+
+		portfolioService.linkUsers(portfolio.getId(), Arrays.asList(user.getId()));
+		portfolioService.linkCandidates(portfolio.getId(), Arrays.asList(candidate.getId(), candidate2.getId()));
+		candidateService.deleteCandidate(candidate2.getId());
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+
+		fetchedPortfolio = portfolioService.getActivePortfolio(portfolio.getId(), FetchPlan.MEMBERS);
+		int users = fetchedPortfolio.getApplicationUser().size();
+		int candidates = fetchedPortfolio.getCandidate().size();
+
+		long statementCount = statistics.getPrepareStatementCount();
+		statistics.setStatisticsEnabled(false);
+
+		// The portfolio and its active members are read in one joined query
+		assertAll("Properties", () -> assertTrue(users == 1), () -> assertTrue(candidates == 1),
+		        () -> assertTrue(fetchedPortfolio.getCandidate().iterator().next().getId().equals(candidate.getId())),
+		        () -> assertTrue(statementCount == 1));
+	}
+
+	@Test
+	@WithMockUser
+	public void testMembersLoadedPerPage() {
+		candidate = candidateService.addCandidate(candidate);
+		Portfolio first = portfolioService.addPortfolio(new Portfolio("Portfolio Page1"));
+		for (String name : Arrays.asList("Portfolio Page2", "Portfolio Page3")) {
+			portfolioService.linkCandidates(portfolioService.addPortfolio(new Portfolio(name)).getId(),
+			        Arrays.asList(candidate.getId()));
+		}
+		portfolioService.linkCandidates(first.getId(), Arrays.asList(candidate.getId()));
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+
+		List<Portfolio> page = portfolioService.getPortfoliosAfter(first.getId() - 1, 3);
+		int members = page.stream().mapToInt(p -> p.getCandidate().size()).sum();
+
+		long statementCount = statistics.getPrepareStatementCount();
+		statistics.setStatisticsEnabled(false);
+
+		// One query for the page and one for the candidates of all its portfolios
+		assertAll("Properties", () -> assertTrue(page.size() == 3), () -> assertTrue(members == 3),
+		        () -> assertTrue(statementCount == 2));
+	}
+
 }
@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.time.LocalDate;
 import java.time.Month;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 import javax.validation.ConstraintViolationException;
 
@@ -18,6 +19,8 @@ import org.cvs.data.entities.Qualification;
 import org.cvs.data.entities.QualificationType;
 import org.cvs.data.repositories.QualificationRepository;
 import org.cvs.utils.Lookup;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -47,6 +50,9 @@ public class QualificationServiceTest {
 	@Autowired
 	CandidateService candidateService;
 
+	@Autowired
+	EntityManager entityManager;
+
 	@Autowired
 	QualificationTypeService qualificationTypeService;
 
@@ -236,4 +242,33 @@ public class QualificationServiceTest {
 			qualificationService.addQualification(invalidQualification);
 		});
 	}
+
+	@Test
+	@WithMockUser
+	public void testAddQualificationSingleInsert() {
+		candidate = candidateService.addCandidate(candidate);
+		qualificationType = qualificationTypeService.addQualificationType(qualificationType);
+		entityManager.flush();
+		entityManager.clear();
+
+		qualification.setCandidate(candidate);
+		qualification.setQualificationType(qualificationType);
+
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+
+		qualification = qualificationService.addQualification(qualification);
+		entityManager.flush();
+
+		long insertCount = statistics.getEntityInsertCount();
+		long updateCount = statistics.getEntityUpdateCount();
+		long candidateLoadCount = statistics.getEntityStatistics(Candidate.class.getName()).getLoadCount();
+		statistics.setStatisticsEnabled(false);
+
+		// The candidate is attached by reference and the entry is written once;
+		// the type may be read if it is not in the snapshot yet
+		assertAll("Properties", () -> assertTrue(qualification.getId() > 0), () -> assertTrue(insertCount == 1),
+		        () -> assertTrue(updateCount == 0), () -> assertTrue(candidateLoadCount == 0));
+	}
 }
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 import javax.validation.ConstraintViolationException;
 
@@ -39,6 +40,9 @@ public class QualificationTypeServiceTest {
 	@Autowired
 	QualificationTypeService service;
 
+	@Autowired
+	EntityManager entityManager;
+
 	QualificationType qualificationType, invalidQualificationType, fetchedQualificationType;
 
 	int FALSE = 0;
@@ -75,6 +79,17 @@ public class QualificationTypeServiceTest {
 			);
 	}
 
+	@Test
+	@WithMockUser
+	public void testSnapshotRefreshedOnRetire() {
+		qualificationType = service.addQualificationType(qualificationType);
+		Long qualificationTypeId = qualificationType.getId();
+
+		service.retireQualificationType(qualificationTypeId);
+
+		assertTrue(service.getQualificationTypes().stream().noneMatch(p -> p.getId().equals(qualificationTypeId)));
+	}
+
 	@Test
 	@WithMockUser
 	public void testFindNonExistentQualificationType() {	
@@ -0,0 +1,195 @@
+package org.cvs.application.services;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.cvs.data.entities.QualificationType;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the qualification type snapshot of
+ * {@link QualificationTypeService}. They are not transactional themselves, so
+ * every change commits or rolls back as it would in production.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class QualificationTypeSnapshotTest {
+
+	static final int READERS = 8;
+
+	@Autowired
+	QualificationTypeService service;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	List<Long> created;
+
+	Statistics statistics;
+
+	@BeforeEach
+	void init() {
+		created = new ArrayList<>();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@AfterEach
+	void cleanup() {
+		statistics.setStatisticsEnabled(false);
+		created.forEach(service::deleteQualificationType);
+	}
+
+	@Test
+	@WithMockUser
+	public void testLookupsServedFromSnapshot() {
+		Long qualificationTypeId = add("Snapshot Served").getId();
+		service.getQualificationTypes();
+
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+
+		for (int i = 0; i < 1000; i++) {
+			service.getActiveQualificationType(qualificationTypeId);
+		}
+		List<QualificationType> qualificationTypes = service.getQualificationTypes();
+
+		long queryCount = statistics.getPrepareStatementCount();
+
+		assertAll("Properties", () -> assertEquals(0, queryCount),
+		        () -> assertTrue(qualificationTypes.stream().anyMatch(p -> p.getId().equals(qualificationTypeId))));
+	}
+
+	@Test
+	@WithMockUser
+	public void testSnapshotClearedAfterCommit() throws Exception {
+		service.getQualificationTypes();
+		ExecutorService reader = Executors.newSingleThreadExecutor();
+
+		try {
+			TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+			Boolean seenByOthersBeforeCommit = transactionTemplate.execute(status -> {
+				QualificationType qualificationType = add("Snapshot Committed");
+
+				// Readers outside the transaction keep the committed snapshot
+				try {
+					return reader.submit(() -> contains(service.getQualificationTypes(), qualificationType.getId()))
+					        .get(5, TimeUnit.SECONDS);
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+			});
+			Long qualificationTypeId = created.get(0);
+
+			boolean seenByOthersAfterCommit = reader
+			        .submit(() -> contains(service.getQualificationTypes(), qualificationTypeId))
+			        .get(5, TimeUnit.SECONDS);
+
+			assertAll("Properties", () -> assertFalse(seenByOthersBeforeCommit),
+			        () -> assertTrue(seenByOthersAfterCommit));
+		} finally {
+			reader.shutdown();
+		}
+	}
+
+	@Test
+	@WithMockUser
+	public void testRolledBackChangeNeverVisible() {
+		service.getQualificationTypes();
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		Long rolledBackId = transactionTemplate.execute(status -> {
+			QualificationType qualificationType = service
+			        .addQualificationType(new QualificationType("Snapshot Rolled Back"));
+
+			// The transaction reads its own change
+			assertTrue(contains(service.getQualificationTypes(), qualificationType.getId()));
+
+			status.setRollbackOnly();
+			return qualificationType.getId();
+		});
+
+		assertFalse(contains(service.getQualificationTypes(), rolledBackId));
+	}
+
+	@Test
+	@WithMockUser
+	public void testConcurrentReadersLoadOnce() throws Exception {
+		Long qualificationTypeId = add("Snapshot Loaded Once").getId();
+
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+
+		ExecutorService readers = Executors.newFixedThreadPool(READERS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> results = new ArrayList<>();
+
+		try {
+			for (int i = 0; i < READERS; i++) {
+				results.add(readers.submit(() -> {
+					start.await();
+					return contains(service.getQualificationTypes(), qualificationTypeId);
+				}));
+			}
+			start.countDown();
+
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get(5, TimeUnit.SECONDS));
+			}
+		} finally {
+			readers.shutdown();
+		}
+
+		long queryCount = statistics.getPrepareStatementCount();
+
+		assertEquals(1, queryCount);
+	}
+
+	@Test
+	@WithMockUser
+	public void testCopiesReturned() {
+		Long qualificationTypeId = add("Snapshot Copy").getId();
+
+		service.getActiveQualificationType(qualificationTypeId).setName("Changed by caller");
+		service.getQualificationTypes().forEach(p -> p.setName("Changed by caller"));
+
+		assertEquals("Snapshot Copy", service.getActiveQualificationType(qualificationTypeId).getName());
+	}
+
+	private QualificationType add(String name) {
+		QualificationType qualificationType = service.addQualificationType(new QualificationType(name));
+		created.add(qualificationType.getId());
+		return qualificationType;
+	}
+
+	private static boolean contains(List<QualificationType> qualificationTypes, Long qualificationTypeId) {
+		return qualificationTypes.stream().anyMatch(p -> p.getId().equals(qualificationTypeId));
+	}
+}
@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.time.LocalDate;
 import java.time.Month;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 import javax.validation.ConstraintViolationException;
 
@@ -17,6 +18,8 @@ import org.cvs.data.entities.Candidate;
 import org.cvs.data.entities.Reference;
 import org.cvs.data.repositories.ReferenceRepository;
 import org.cvs.utils.Lookup;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,6 +49,9 @@ public class ReferenceServiceTest {
 	@Autowired
 	CandidateService candidateService;
 
+	@Autowired
+	EntityManager entityManager;
+
 
 	Reference reference, invalidReference, fetchedReference;
 	
@@ -187,4 +193,31 @@ public class ReferenceServiceTest {
 			referenceService.addReference(invalidReference);
 		});
 	}
+
+	@Test
+	@WithMockUser
+	public void testAddReferenceSingleInsert() {
+		candidate = candidateService.addCandidate(candidate);
+		entityManager.flush();
+		entityManager.clear();
+
+		reference.setCandidate(candidate);
+
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+
+		reference = referenceService.addReference(reference);
+		entityManager.flush();
+
+		long insertCount = statistics.getEntityInsertCount();
+		long updateCount = statistics.getEntityUpdateCount();
+		long loadCount = statistics.getEntityLoadCount();
+		statistics.setStatisticsEnabled(false);
+
+		// The candidate is attached by reference and the entry is written once
+		assertAll("Properties", () -> assertTrue(reference.getId() > 0), () -> assertTrue(insertCount == 1),
+		        () -> assertTrue(updateCount == 0),
+		        () -> assertTrue(loadCount == 0));
+	}
 }
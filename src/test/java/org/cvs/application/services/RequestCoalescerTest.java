@@ -0,0 +1,159 @@
+package org.cvs.application.services;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.cvs.application.exceptions.EntryNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link RequestCoalescer}.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+public class RequestCoalescerTest {
+
+	static final int CALLERS = 8;
+
+	RequestCoalescer coalescer;
+
+	MeterRegistry registry;
+
+	CountDownLatch release;
+
+	AtomicInteger calls;
+
+	ExecutorService callers;
+
+	@BeforeEach
+	void init() {
+		coalescer = new RequestCoalescer();
+		registry = new SimpleMeterRegistry();
+		coalescer.bindTo(registry);
+		release = new CountDownLatch(1);
+		calls = new AtomicInteger();
+		callers = Executors.newFixedThreadPool(CALLERS);
+	}
+
+	@AfterEach
+	void cleanup() {
+		release.countDown();
+		callers.shutdownNow();
+	}
+
+	@Test
+	public void testConcurrentCallsShareOneResult() throws Exception {
+		List<CompletableFuture<Object>> results = new ArrayList<>();
+		for (int i = 0; i < CALLERS; i++) {
+			results.add(
+			        CompletableFuture.supplyAsync(() -> coalescer.execute("load", this::slowLoad, 1L), callers));
+		}
+		awaitInFlight(1);
+		while (registry.get("coalescer.calls").tag("result", "coalesced").functionCounter().count() < CALLERS - 1) {
+			Thread.sleep(10);
+		}
+		release.countDown();
+
+		Object first = results.get(0).get();
+		for (CompletableFuture<Object> result : results) {
+			assertSame(first, result.get());
+		}
+
+		assertAll("Properties", () -> assertEquals(1, calls.get()),
+		        () -> assertEquals((CALLERS - 1.0) / CALLERS, registry.get("coalescer.ratio").gauge().value()),
+		        () -> assertEquals(0, registry.get("coalescer.inflight").gauge().value()));
+	}
+
+	@Test
+	public void testDifferentArgumentsAreNotShared() throws Exception {
+		CompletableFuture<Object> one = CompletableFuture
+		        .supplyAsync(() -> coalescer.execute("load", this::slowLoad, 1L), callers);
+		CompletableFuture<Object> two = CompletableFuture
+		        .supplyAsync(() -> coalescer.execute("load", this::slowLoad, 2L), callers);
+		awaitInFlight(2);
+		release.countDown();
+
+		assertAll("Properties", () -> assertTrue(one.get() != two.get()), () -> assertEquals(2, calls.get()));
+	}
+
+	@Test
+	public void testDifferentAuthoritiesAreNotShared() throws Exception {
+		CompletableFuture<Object> user = CompletableFuture.supplyAsync(() -> {
+			authenticate("ROLE_USER");
+			return coalescer.execute("load", this::slowLoad, 1L);
+		}, callers);
+		CompletableFuture<Object> admin = CompletableFuture.supplyAsync(() -> {
+			authenticate("ROLE_ADMIN");
+			return coalescer.execute("load", this::slowLoad, 1L);
+		}, callers);
+		awaitInFlight(2);
+		release.countDown();
+
+		assertAll("Properties", () -> assertTrue(user.get() != admin.get()), () -> assertEquals(2, calls.get()));
+	}
+
+	@Test
+	public void testExceptionsAreShared() throws Exception {
+		CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> coalescer.execute("load", () -> {
+			slowLoad();
+			throw new EntryNotFoundException("Invalid operation for [PORTFOLIO].1");
+		}, 1L), callers);
+		awaitInFlight(1);
+		CompletableFuture<Object> follower = CompletableFuture
+		        .supplyAsync(() -> coalescer.execute("load", this::slowLoad, 1L), callers);
+		while (registry.get("coalescer.calls").tag("result", "coalesced").functionCounter().count() < 1) {
+			Thread.sleep(10);
+		}
+		release.countDown();
+
+		ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get());
+		ExecutionException followerError = assertThrows(ExecutionException.class, () -> follower.get());
+
+		assertAll("Properties", () -> assertTrue(leaderError.getCause() instanceof EntryNotFoundException),
+		        () -> assertSame(leaderError.getCause(), followerError.getCause()));
+	}
+
+	private Object slowLoad() {
+		calls.incrementAndGet();
+		try {
+			release.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return new Object();
+	}
+
+	private void awaitInFlight(int count) throws InterruptedException {
+		while (registry.get("coalescer.inflight").gauge().value() < count) {
+			Thread.sleep(10);
+		}
+	}
+
+	private static void authenticate(String authority) {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("jon", null,
+		        Collections.singletonList(new SimpleGrantedAuthority(authority))));
+	}
+}
@@ -1,22 +1,29 @@
 package org.cvs.application.services;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.Arrays;
+import java.util.List;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 import javax.validation.ConstraintViolationException;
 
 import org.cvs.application.exceptions.EntryNotActiveException;
 import org.cvs.application.exceptions.EntryNotFoundException;
+import org.cvs.data.dto.BatchResult;
 import org.cvs.data.entities.Candidate;
 import org.cvs.data.entities.Skill;
 import org.cvs.data.repositories.SkillRepository;
 import org.cvs.utils.Lookup;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,6 +53,9 @@ public class SkillServiceTest {
 	@Autowired
 	CandidateService candidateService;
 
+	@Autowired
+	EntityManager entityManager;
+
 
 	Skill skill, invalidSkill, fetchedSkill;
 	
@@ -102,6 +112,24 @@ public class SkillServiceTest {
 			);
 	}
 
+	@Test
+	@WithMockUser
+	public void testGetCandidateSkills() {
+		candidate = candidateService.addCandidate(candidate);
+
+		skill.setCandidate(candidate);
+		Skill activeSkill = skillService.addSkill(skill);
+		Skill retiredSkill = skillService.addSkill(skill);
+		skillService.retireSkill(retiredSkill.getId());
+
+		List<Skill> skills = skillService.getSkills(candidate.getId());
+
+		assertAll("Properties", 
+				() -> assertTrue(skills.size() == 1),
+				() -> assertTrue(skills.get(0).getId().equals(activeSkill.getId()))
+			);
+	}
+
 	@Test
 	@WithMockUser
 	public void testAddWithoutCandidateReference() {
@@ -178,4 +206,63 @@ public class SkillServiceTest {
 			skillService.addSkill(invalidSkill);
 		});
 	}
+
+	@Test
+	@WithMockUser
+	public void testAddSkillSingleInsert() {
+		candidate = candidateService.addCandidate(candidate);
+		entityManager.flush();
+		entityManager.clear();
+
+		skill.setCandidate(candidate);
+
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+
+		skill = skillService.addSkill(skill);
+		entityManager.flush();
+
+		long insertCount = statistics.getEntityInsertCount();
+		long updateCount = statistics.getEntityUpdateCount();
+		long loadCount = statistics.getEntityLoadCount();
+		statistics.setStatisticsEnabled(false);
+
+		// The candidate is attached by reference and the entry is written once
+		assertAll("Properties", () -> assertTrue(skill.getId() > 0), () -> assertTrue(insertCount == 1),
+		        () -> assertTrue(updateCount == 0),
+		        () -> assertTrue(loadCount == 0));
+	}
+
+	@Test
+	@WithMockUser
+	public void testGetActiveSkillsByIds() {
+		candidate = candidateService.addCandidate(candidate);
+
+		skill.setCandidate(candidate);
+		Skill activeSkill = skillService.addSkill(skill);
+		Skill retiredSkill = skillService.addSkill(skill);
+		Skill voidedSkill = skillService.addSkill(skill);
+		skillService.retireSkill(retiredSkill.getId());
+		skillService.deleteSkill(voidedSkill.getId());
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+
+		BatchResult<Skill> result = skillService.getActiveSkills(
+		        Arrays.asList(voidedSkill.getId(), activeSkill.getId(), -1L, retiredSkill.getId()));
+
+		long queryCount = statistics.getPrepareStatementCount();
+		statistics.setStatisticsEnabled(false);
+
+		// All IDs are resolved by one IN query, in the order requested
+		assertAll("Properties", () -> assertEquals(1, result.getFound().size()),
+		        () -> assertEquals(activeSkill.getId(), result.getFound().get(0).getId()),
+		        () -> assertEquals(Arrays.asList(voidedSkill.getId(), -1L), result.getNotFound()),
+		        () -> assertEquals(Arrays.asList(retiredSkill.getId()), result.getInactive()),
+		        () -> assertEquals(1, queryCount));
+	}
 }
@@ -0,0 +1,80 @@
+package org.cvs.application.services;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+import org.cvs.data.entities.Candidate;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Integration tests for the transaction boundaries of the service layer. They
+ * are not transactional themselves, so every service call runs in its own
+ * transaction.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class TransactionBoundaryTest {
+
+	@Autowired
+	CandidateService candidateService;
+
+	@Autowired
+	ApplicationContext context;
+
+	@Autowired
+	MeterRegistry registry;
+
+	Candidate candidate;
+
+	@BeforeEach
+	void init() {
+		candidate = new Candidate("Boundary", "", "Test");
+		candidate.setGender("M");
+		candidate.setAddressLine1("1 Pool Lane");
+		candidate.setCountry("Malawi");
+		candidate.setEmail("boundary@email.com");
+		candidate.setDateOfBirth(LocalDate.of(1990, Month.JANUARY, 1));
+		candidate = candidateService.addCandidate(candidate);
+	}
+
+	@AfterEach
+	void cleanup() {
+		candidateService.deleteCandidate(candidate.getId());
+	}
+
+	@Test
+	public void testOpenInViewDisabled() {
+		assertTrue(context.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+	}
+
+	@Test
+	public void testConnectionReleasedAfterRead() {
+		Candidate fetchedCandidate = candidateService.getActiveCandidate(candidate.getId());
+
+		Gauge active = registry.find("hikaricp.connections.active").gauge();
+
+		assertAll(() -> assertNotNull(active), () -> assertEquals(0, active.value()),
+		        () -> assertThrows(LazyInitializationException.class,
+		                () -> fetchedCandidate.getPortfolio().size()));
+	}
+}
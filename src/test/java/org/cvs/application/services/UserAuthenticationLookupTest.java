@@ -0,0 +1,134 @@
+package org.cvs.application.services;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cvs.Benchmark;
+import org.cvs.application.exceptions.InconsistentDataException;
+import org.cvs.data.entities.ApplicationUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Integration tests for username lookups during login and registration. They
+ * are not transactional themselves, so that users are committed and the
+ * unique username index and the credentials cache take effect. The
+ * throughput of registration and login lookups is a benchmark, run with
+ * <code>./gradlew benchmark</code>.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+@Slf4j
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class UserAuthenticationLookupTest {
+
+	@Autowired
+	ApplicationUserService userService;
+
+	@Autowired
+	UserDetailsService userDetailsService;
+
+	@Autowired
+	MeterRegistry registry;
+
+	@Value("${cvs.benchmark.registrations:20}")
+	int registrations;
+
+	@Value("${cvs.benchmark.logins:5000}")
+	int logins;
+
+	List<ApplicationUser> users = new ArrayList<>();
+
+	String prefix;
+
+	@BeforeEach
+	void init() {
+		prefix = "lookup" + System.nanoTime() + "_";
+	}
+
+	@AfterEach
+	void cleanup() {
+		users.forEach(u -> userService.deleteUser(u.getId()));
+	}
+
+	@Test
+	@WithMockUser
+	public void testDuplicateUsernameIsRejected() {
+		users.add(userService.addUser(new ApplicationUser(prefix + "1", "password1", "Test User1")));
+
+		assertThrows(InconsistentDataException.class,
+		        () -> userService.addUser(new ApplicationUser(prefix + "1", "password2", "Test User2")));
+	}
+
+	@Test
+	@WithMockUser
+	public void testRetiredUserIsEvicted() {
+		ApplicationUser user = userService.addUser(new ApplicationUser(prefix + "1", "password1", "Test User1"));
+		users.add(user);
+
+		userDetailsService.loadUserByUsername(user.getUsername());
+		userService.retireUser(user.getId());
+
+		assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername(user.getUsername()));
+	}
+
+	@Test
+	@WithMockUser
+	public void testRepeatLoginIsCached() {
+		ApplicationUser user = userService.addUser(new ApplicationUser(prefix + "1", "password1", "Test User1"));
+		users.add(user);
+
+		double hitsBefore = credentialCacheHits();
+
+		userDetailsService.loadUserByUsername(user.getUsername());
+		userDetailsService.loadUserByUsername(user.getUsername());
+
+		assertAll("Properties", () -> assertEquals(1, credentialCacheHits() - hitsBefore));
+	}
+
+	@Benchmark
+	@WithMockUser
+	public void testLoginAndRegistrationThroughput() {
+		long start = System.nanoTime();
+		for (int i = 0; i < registrations; i++) {
+			users.add(userService.addUser(new ApplicationUser(prefix + i, "password" + i, "Test User" + i)));
+		}
+		long registrationNanos = System.nanoTime() - start;
+
+		double hitsBefore = credentialCacheHits();
+
+		start = System.nanoTime();
+		for (int i = 0; i < logins; i++) {
+			String username = prefix + (i % registrations);
+			assertEquals(username, userDetailsService.loadUserByUsername(username).getUsername());
+		}
+		long loginNanos = System.nanoTime() - start;
+
+		double hits = credentialCacheHits() - hitsBefore;
+
+		log.info("{} registrations: {} per second", registrations, registrations * 1e9 / registrationNanos);
+		log.info("{} login lookups: {} per second, {} cache hits", logins, logins * 1e9 / loginNanos, hits);
+	}
+
+	private double credentialCacheHits() {
+		return registry.get("cache.gets").tag("cache", "user-credentials").tag("result", "hit").functionCounter()
+		        .count();
+	}
+}
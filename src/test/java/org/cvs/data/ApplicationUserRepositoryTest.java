@@ -5,6 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import javax.transaction.Transactional;
@@ -98,6 +101,38 @@ public class ApplicationUserRepositoryTest {
 			);
 	}
 
+	@Test
+	@WithMockUser
+	public void testFindAllActive() {
+		ApplicationUser activeUser = repository.save(user);
+
+		ApplicationUser user2 = new ApplicationUser("test2", "password1", "Test User2");
+		user2.setRetired(Lookup.NOT_RETIRED);
+		user2.setVoided(Lookup.VOIDED);
+		ApplicationUser voidedUser = repository.save(user2);
+
+		ApplicationUser user3 = new ApplicationUser("test3", "password1", "Test User3");
+		user3.setRetired(Lookup.RETIRED);
+		user3.setVoided(Lookup.NOT_VOIDED);
+		ApplicationUser retiredUser = repository.save(user3);
+
+		List<ApplicationUser> active = repository.findAllActive();
+		List<Long> ids = Arrays.asList(activeUser.getId(), voidedUser.getId(), retiredUser.getId());
+
+		assertAll("Properties", 
+				() -> assertTrue(active.stream().anyMatch(p -> p.getId().equals(activeUser.getId())
+				        && p.getFullName().equals("Test User1"))),
+				() -> assertFalse(active.stream().anyMatch(p -> p.getId().equals(voidedUser.getId()))),
+				() -> assertFalse(active.stream().anyMatch(p -> p.getId().equals(retiredUser.getId()))),
+				() -> assertTrue(active.stream()
+				        .allMatch(p -> p.getVoided() == Lookup.NOT_VOIDED && p.getRetired() == Lookup.NOT_RETIRED)),
+				() -> assertTrue(repository.findActiveIdsIn(ids).equals(Collections.singletonList(activeUser.getId()))),
+				() -> assertTrue(repository.existsActiveById(activeUser.getId())),
+				() -> assertFalse(repository.existsActiveById(voidedUser.getId())),
+				() -> assertFalse(repository.existsActiveById(retiredUser.getId()))
+			);
+	}
+
 	@Test
 	@WithMockUser
 	public void testConstraintViolations() {
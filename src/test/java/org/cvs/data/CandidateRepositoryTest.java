@@ -7,6 +7,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import javax.transaction.Transactional;
@@ -120,6 +123,53 @@ public class CandidateRepositoryTest {
 			);
 	}
 
+	@Test
+	@WithMockUser
+	public void testFindAllActive() {
+		Candidate activeCandidate = repository.save(candidate);
+
+		Candidate candidate2 = new Candidate("Jane", "", "Doe");
+		
+		candidate2.setAddressLine1("Address 1");
+		candidate2.setCountry("UK");
+		candidate2.setGender("F");
+		candidate2.setEmail("email@email.com");
+		candidate2.setDateOfBirth(LocalDate.of(1987, Month.JUNE, 15));
+
+		candidate2.setRetired(Lookup.NOT_RETIRED);
+		candidate2.setVoided(Lookup.VOIDED);
+		Candidate voidedCandidate = repository.save(candidate2);
+
+		Candidate candidate3 = new Candidate("Peter", "", "Jones");
+		
+		candidate3.setAddressLine1("Address 1");
+		candidate3.setCountry("UK");
+		candidate3.setGender("M");
+		candidate3.setEmail("email@email.com");
+		candidate3.setDateOfBirth(LocalDate.of(1987, Month.JUNE, 15));
+
+		candidate3.setRetired(Lookup.RETIRED);
+		candidate3.setVoided(Lookup.NOT_VOIDED);
+		Candidate retiredCandidate = repository.save(candidate3);
+
+		List<Candidate> active = repository.findAllActive();
+		List<Long> ids = Arrays.asList(activeCandidate.getId(), voidedCandidate.getId(), retiredCandidate.getId());
+
+		assertAll("Properties", 
+				() -> assertTrue(active.stream().anyMatch(p -> p.getId().equals(activeCandidate.getId())
+				        && p.getFirstName().equals("John"))),
+				() -> assertFalse(active.stream().anyMatch(p -> p.getId().equals(voidedCandidate.getId()))),
+				() -> assertFalse(active.stream().anyMatch(p -> p.getId().equals(retiredCandidate.getId()))),
+				() -> assertTrue(active.stream()
+				        .allMatch(p -> p.getVoided() == Lookup.NOT_VOIDED && p.getRetired() == Lookup.NOT_RETIRED)),
+				() -> assertTrue(repository.findActiveIdsIn(ids)
+				        .equals(Collections.singletonList(activeCandidate.getId()))),
+				() -> assertTrue(repository.existsActiveById(activeCandidate.getId())),
+				() -> assertFalse(repository.existsActiveById(voidedCandidate.getId())),
+				() -> assertFalse(repository.existsActiveById(retiredCandidate.getId()))
+			);
+	}
+
 	@Test
 	@WithMockUser
 	public void testConstraintViolations() {
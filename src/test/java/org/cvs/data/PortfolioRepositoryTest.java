@@ -5,6 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import javax.transaction.Transactional;
@@ -98,6 +101,39 @@ public class PortfolioRepositoryTest {
 			);
 	}
 
+	@Test
+	@WithMockUser
+	public void testFindAllActive() {
+		Portfolio activePortfolio = repository.save(portfolio);
+
+		Portfolio portfolio2 = new Portfolio("Portfolio Name2");
+		portfolio2.setRetired(Lookup.NOT_RETIRED);
+		portfolio2.setVoided(Lookup.VOIDED);
+		Portfolio voidedPortfolio = repository.save(portfolio2);
+
+		Portfolio portfolio3 = new Portfolio("Portfolio Name3");
+		portfolio3.setRetired(Lookup.RETIRED);
+		portfolio3.setVoided(Lookup.NOT_VOIDED);
+		Portfolio retiredPortfolio = repository.save(portfolio3);
+
+		List<Portfolio> active = repository.findAllActive();
+		List<Long> ids = Arrays.asList(activePortfolio.getId(), voidedPortfolio.getId(), retiredPortfolio.getId());
+
+		assertAll("Properties", 
+				() -> assertTrue(active.stream().anyMatch(p -> p.getId().equals(activePortfolio.getId())
+				        && p.getName().equals("Portfolio Name1"))),
+				() -> assertFalse(active.stream().anyMatch(p -> p.getId().equals(voidedPortfolio.getId()))),
+				() -> assertFalse(active.stream().anyMatch(p -> p.getId().equals(retiredPortfolio.getId()))),
+				() -> assertTrue(active.stream()
+				        .allMatch(p -> p.getVoided() == Lookup.NOT_VOIDED && p.getRetired() == Lookup.NOT_RETIRED)),
+				() -> assertTrue(repository.findActiveIdsIn(ids)
+				        .equals(Collections.singletonList(activePortfolio.getId()))),
+				() -> assertTrue(repository.existsActiveById(activePortfolio.getId())),
+				() -> assertFalse(repository.existsActiveById(voidedPortfolio.getId())),
+				() -> assertFalse(repository.existsActiveById(retiredPortfolio.getId()))
+			);
+	}
+
 	@Test
 	@WithMockUser
 	public void testConstraintViolations() {
@@ -7,6 +7,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -121,6 +123,42 @@ public class QualificationRepositoryTest {
 			);
 	}
 
+	@Test
+	@WithMockUser
+	public void testFindAllActive() {
+		Qualification activeQualification = repository.save(qualification);
+
+		Qualification qualification3 = new Qualification("PhD in Physics", "University of York", "UK",
+		        LocalDate.of(2016, Month.JUNE, 15));
+		qualification3.setRetired(Lookup.NOT_RETIRED);
+		qualification3.setVoided(Lookup.VOIDED);
+		Qualification voidedQualification = repository.save(qualification3);
+
+		Qualification qualification4 = new Qualification("PhD in History", "University of Leeds", "UK",
+		        LocalDate.of(2016, Month.JUNE, 15));
+		qualification4.setRetired(Lookup.RETIRED);
+		qualification4.setVoided(Lookup.NOT_VOIDED);
+		Qualification retiredQualification = repository.save(qualification4);
+
+		List<Qualification> active = repository.findAllActive();
+		List<Long> ids = Arrays.asList(activeQualification.getId(), voidedQualification.getId(),
+		        retiredQualification.getId());
+
+		assertAll("Properties", 
+				() -> assertTrue(active.stream().anyMatch(p -> p.getId().equals(activeQualification.getId())
+				        && p.getName().equals("PhD in Computer Science"))),
+				() -> assertFalse(active.stream().anyMatch(p -> p.getId().equals(voidedQualification.getId()))),
+				() -> assertFalse(active.stream().anyMatch(p -> p.getId().equals(retiredQualification.getId()))),
+				() -> assertTrue(active.stream()
+				        .allMatch(p -> p.getVoided() == Lookup.NOT_VOIDED && p.getRetired() == Lookup.NOT_RETIRED)),
+				() -> assertTrue(repository.findActiveIdsIn(ids)
+				        .equals(Collections.singletonList(activeQualification.getId()))),
+				() -> assertTrue(repository.existsActiveById(activeQualification.getId())),
+				() -> assertFalse(repository.existsActiveById(voidedQualification.getId())),
+				() -> assertFalse(repository.existsActiveById(retiredQualification.getId()))
+			);
+	}
+
 	@Test
 	@WithMockUser
 	public void testConstraintViolations() {
@@ -5,6 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import javax.transaction.Transactional;
@@ -103,6 +106,40 @@ public class QualificationTypeRepositoryTest {
 			);
 	}
 
+	@Test
+	@WithMockUser
+	public void testFindAllActive() {
+		QualificationType activeQualificationType = repository.save(qualificationType);
+
+		QualificationType qualificationType2 = new QualificationType("Masters");
+		qualificationType2.setRetired(Lookup.NOT_RETIRED);
+		qualificationType2.setVoided(Lookup.VOIDED);
+		QualificationType voidedQualificationType = repository.save(qualificationType2);
+
+		QualificationType qualificationType3 = new QualificationType("Bachelors");
+		qualificationType3.setRetired(Lookup.RETIRED);
+		qualificationType3.setVoided(Lookup.NOT_VOIDED);
+		QualificationType retiredQualificationType = repository.save(qualificationType3);
+
+		List<QualificationType> active = repository.findAllActive();
+		List<Long> ids = Arrays.asList(activeQualificationType.getId(), voidedQualificationType.getId(),
+		        retiredQualificationType.getId());
+
+		assertAll("Properties", 
+				() -> assertTrue(active.stream().anyMatch(p -> p.getId().equals(activeQualificationType.getId())
+				        && p.getName().equals("Doctorate"))),
+				() -> assertFalse(active.stream().anyMatch(p -> p.getId().equals(voidedQualificationType.getId()))),
+				() -> assertFalse(active.stream().anyMatch(p -> p.getId().equals(retiredQualificationType.getId()))),
+				() -> assertTrue(active.stream()
+				        .allMatch(p -> p.getVoided() == Lookup.NOT_VOIDED && p.getRetired() == Lookup.NOT_RETIRED)),
+				() -> assertTrue(repository.findActiveIdsIn(ids)
+				        .equals(Collections.singletonList(activeQualificationType.getId()))),
+				() -> assertTrue(repository.existsActiveById(activeQualificationType.getId())),
+				() -> assertFalse(repository.existsActiveById(voidedQualificationType.getId())),
+				() -> assertFalse(repository.existsActiveById(retiredQualificationType.getId()))
+			);
+	}
+
 	@Test
 	@WithMockUser
 	public void testConstraintViolations() {
@@ -5,6 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import javax.transaction.Transactional;
@@ -111,6 +114,51 @@ public class ReferenceRepositoryTest {
 			);
 	}
 
+	@Test
+	@WithMockUser
+	public void testFindAllActive() {
+		Reference activeReference = repository.save(reference);
+
+		Reference reference2 = new Reference("Jane Doe", "Professor of Chemistry", "University of Kent",
+		        "jane@test.com");
+		
+		reference2.setContactNumber("0893453234");
+		reference2.setAddressLine1("Address 1");
+		reference2.setCountry("UK");
+
+		reference2.setRetired(Lookup.NOT_RETIRED);
+		reference2.setVoided(Lookup.VOIDED);
+		Reference voidedReference = repository.save(reference2);
+
+		Reference reference3 = new Reference("Peter Jones", "Lecturer in Physics", "University of Kent",
+		        "peter@test.com");
+		
+		reference3.setContactNumber("0893453234");
+		reference3.setAddressLine1("Address 1");
+		reference3.setCountry("UK");
+
+		reference3.setRetired(Lookup.RETIRED);
+		reference3.setVoided(Lookup.NOT_VOIDED);
+		Reference retiredReference = repository.save(reference3);
+
+		List<Reference> active = repository.findAllActive();
+		List<Long> ids = Arrays.asList(activeReference.getId(), voidedReference.getId(), retiredReference.getId());
+
+		assertAll("Properties", 
+				() -> assertTrue(active.stream().anyMatch(p -> p.getId().equals(activeReference.getId())
+				        && p.getName().equals("John Malkovich"))),
+				() -> assertFalse(active.stream().anyMatch(p -> p.getId().equals(voidedReference.getId()))),
+				() -> assertFalse(active.stream().anyMatch(p -> p.getId().equals(retiredReference.getId()))),
+				() -> assertTrue(active.stream()
+				        .allMatch(p -> p.getVoided() == Lookup.NOT_VOIDED && p.getRetired() == Lookup.NOT_RETIRED)),
+				() -> assertTrue(repository.findActiveIdsIn(ids)
+				        .equals(Collections.singletonList(activeReference.getId()))),
+				() -> assertTrue(repository.existsActiveById(activeReference.getId())),
+				() -> assertFalse(repository.existsActiveById(voidedReference.getId())),
+				() -> assertFalse(repository.existsActiveById(retiredReference.getId()))
+			);
+	}
+
 	@Test
 	@WithMockUser
 	public void testConstraintViolations() {
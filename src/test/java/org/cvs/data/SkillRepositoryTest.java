@@ -5,6 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import javax.transaction.Transactional;
@@ -102,6 +105,39 @@ public class SkillRepositoryTest {
 			);
 	}
 
+	@Test
+	@WithMockUser
+	public void testFindAllActive() {
+		Skill activeSkill = repository.save(skill);
+
+		Skill skill2 = new Skill("Java 8 - Intermediate");
+		skill2.setRetired(Lookup.NOT_RETIRED);
+		skill2.setVoided(Lookup.VOIDED);
+		Skill voidedSkill = repository.save(skill2);
+
+		Skill skill3 = new Skill("Java 8 - Beginner");
+		skill3.setRetired(Lookup.RETIRED);
+		skill3.setVoided(Lookup.NOT_VOIDED);
+		Skill retiredSkill = repository.save(skill3);
+
+		List<Skill> active = repository.findAllActive();
+		List<Long> ids = Arrays.asList(activeSkill.getId(), voidedSkill.getId(), retiredSkill.getId());
+
+		assertAll("Properties", 
+				() -> assertTrue(active.stream().anyMatch(p -> p.getId().equals(activeSkill.getId())
+				        && p.getDescription().equals("Java 8 - Advanced"))),
+				() -> assertFalse(active.stream().anyMatch(p -> p.getId().equals(voidedSkill.getId()))),
+				() -> assertFalse(active.stream().anyMatch(p -> p.getId().equals(retiredSkill.getId()))),
+				() -> assertTrue(active.stream()
+				        .allMatch(p -> p.getVoided() == Lookup.NOT_VOIDED && p.getRetired() == Lookup.NOT_RETIRED)),
+				() -> assertTrue(repository.findActiveIdsIn(ids)
+				        .equals(Collections.singletonList(activeSkill.getId()))),
+				() -> assertTrue(repository.existsActiveById(activeSkill.getId())),
+				() -> assertFalse(repository.existsActiveById(voidedSkill.getId())),
+				() -> assertFalse(repository.existsActiveById(retiredSkill.getId()))
+			);
+	}
+
 	@Test
 	@WithMockUser
 	public void testConstraintViolations() {
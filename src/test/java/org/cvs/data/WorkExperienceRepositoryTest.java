@@ -7,6 +7,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import javax.transaction.Transactional;
@@ -114,6 +117,48 @@ public class WorkExperienceRepositoryTest {
 			);
 	}
 
+	@Test
+	@WithMockUser
+	public void testFindAllActive() {
+		WorkExperience activeWorkExperience = repository.save(workExperience);
+
+		WorkExperience workExperience2 = new WorkExperience("Royal Mail", "UK", "Developer");
+		
+		workExperience2.setStartDate(LocalDate.of(2014, Month.MAY, 1));
+		workExperience2.setEndDate(LocalDate.of(2016, Month.MAY, 1));
+
+		workExperience2.setRetired(Lookup.NOT_RETIRED);
+		workExperience2.setVoided(Lookup.VOIDED);
+		WorkExperience voidedWorkExperience = repository.save(workExperience2);
+
+		WorkExperience workExperience3 = new WorkExperience("British Rail", "UK", "Analyst");
+		
+		workExperience3.setStartDate(LocalDate.of(2014, Month.MAY, 1));
+		workExperience3.setEndDate(LocalDate.of(2016, Month.MAY, 1));
+
+		workExperience3.setRetired(Lookup.RETIRED);
+		workExperience3.setVoided(Lookup.NOT_VOIDED);
+		WorkExperience retiredWorkExperience = repository.save(workExperience3);
+
+		List<WorkExperience> active = repository.findAllActive();
+		List<Long> ids = Arrays.asList(activeWorkExperience.getId(), voidedWorkExperience.getId(),
+		        retiredWorkExperience.getId());
+
+		assertAll("Properties", 
+				() -> assertTrue(active.stream().anyMatch(p -> p.getId().equals(activeWorkExperience.getId())
+				        && p.getOrganisation().equals("Post Office"))),
+				() -> assertFalse(active.stream().anyMatch(p -> p.getId().equals(voidedWorkExperience.getId()))),
+				() -> assertFalse(active.stream().anyMatch(p -> p.getId().equals(retiredWorkExperience.getId()))),
+				() -> assertTrue(active.stream()
+				        .allMatch(p -> p.getVoided() == Lookup.NOT_VOIDED && p.getRetired() == Lookup.NOT_RETIRED)),
+				() -> assertTrue(repository.findActiveIdsIn(ids)
+				        .equals(Collections.singletonList(activeWorkExperience.getId()))),
+				() -> assertTrue(repository.existsActiveById(activeWorkExperience.getId())),
+				() -> assertFalse(repository.existsActiveById(voidedWorkExperience.getId())),
+				() -> assertFalse(repository.existsActiveById(retiredWorkExperience.getId()))
+			);
+	}
+
 	@Test
 	@WithMockUser
 	public void testConstraintViolations() {
@@ -0,0 +1,94 @@
+package org.cvs.data.dto;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cvs.data.entities.ApplicationUser;
+import org.cvs.data.entities.Candidate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares serialising list pages as entities and as flat read models.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+@Slf4j
+public class ReadModelSerializationTest {
+
+	static final int ROWS = 10_000;
+
+	ObjectMapper mapper;
+
+	List<Candidate> candidates;
+
+	List<CandidateSummary> candidateSummaries;
+
+	@BeforeEach
+	void init() {
+		mapper = new ObjectMapper().registerModule(new JavaTimeModule())
+		        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+		candidates = new ArrayList<>(ROWS);
+		candidateSummaries = new ArrayList<>(ROWS);
+
+		for (long id = 1; id <= ROWS; id++) {
+			Candidate candidate = new Candidate("Jon", "Jenkins", "Doe");
+			candidate.setId(id);
+			candidate.setTitle("Mr");
+			candidate.setGender("M");
+			candidate.setAddressLine1("1 Fairview Lane");
+			candidate.setCountry("Malawi");
+			candidate.setEmail("jon" + id + "@example.com");
+			candidate.setDateOfBirth(LocalDate.of(1990, 1, 1));
+			candidates.add(candidate);
+
+			candidateSummaries.add(new CandidateSummary(id, "Mr", "Jon", "Jenkins", "Doe", "jon" + id + "@example.com",
+			        null, null, "1 Fairview Lane", null, null, null, "Malawi", "M", LocalDate.of(1990, 1, 1)));
+		}
+	}
+
+	@Test
+	public void testReadModelsAreSmallerThanEntities() throws Exception {
+		byte[] entityJson = mapper.writeValueAsBytes(candidates);
+		byte[] summaryJson = mapper.writeValueAsBytes(candidateSummaries);
+
+		log.info("{} candidates as entities: {} bytes, as read models: {} bytes", ROWS, entityJson.length,
+		        summaryJson.length);
+
+		String json = new String(summaryJson);
+
+		assertAll(() -> assertTrue(summaryJson.length < entityJson.length),
+		        () -> assertFalse(json.contains("@id")),
+		        () -> assertTrue(json.contains("\"dateOfBirth\":\"1990-01-01\"")));
+	}
+
+	@Test
+	public void testUserHasNoPassword() throws Exception {
+		ApplicationUser user = new ApplicationUser("jondoe", "secret", "Jon Doe");
+		user.setId(1L);
+
+		String entityJson = mapper.writeValueAsString(user);
+		String summaryJson = mapper.writeValueAsString(new ApplicationUserSummary(1L, "jondoe", "Jon Doe"));
+
+		assertAll(() -> assertFalse(entityJson.contains("password")), () -> assertFalse(entityJson.contains("secret")),
+		        () -> assertFalse(summaryJson.contains("password")),
+		        () -> assertTrue(summaryJson.contains("\"username\":\"jondoe\"")),
+		        () -> assertEquals("secret",
+		                mapper.readValue("{\"username\":\"jondoe\",\"password\":\"secret\"}", ApplicationUser.class)
+		                        .getPassword()));
+	}
+}
@@ -0,0 +1,150 @@
+package org.cvs.data.routing;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link ReplicaRoutingDataSource}, with in-process stand-ins
+ * for the primary and two replicas.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+public class ReplicaRoutingDataSourceTest {
+
+	DataSource primary;
+
+	DataSource replica0;
+
+	DataSource replica1;
+
+	Map<DataSource, Long> lags;
+
+	ReplicaRoutingDataSource router;
+
+	MeterRegistry registry;
+
+	@BeforeEach
+	void init() throws SQLException {
+		primary = stub();
+		replica0 = stub();
+		replica1 = stub();
+
+		lags = new HashMap<>();
+		lags.put(replica0, 0L);
+		lags.put(replica1, 0L);
+
+		router = new ReplicaRoutingDataSource(primary, Arrays.asList(replica0, replica1), replica -> {
+			Long lag = lags.get(replica);
+			if (lag == null) {
+				throw new SQLException("Connection refused");
+			}
+			return lag;
+		}, 1000, 0);
+		router.afterPropertiesSet();
+
+		registry = new SimpleMeterRegistry();
+		router.bindTo(registry);
+	}
+
+	@AfterEach
+	void cleanup() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+
+	@Test
+	public void testWritesGoToPrimary() throws SQLException {
+		assertSame(primary.getConnection(), router.getConnection());
+	}
+
+	@Test
+	public void testReadsAlternateBetweenReplicas() throws SQLException {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		Connection first = router.getConnection();
+		Connection second = router.getConnection();
+
+		assertAll("Properties", () -> assertTrue(first != second),
+		        () -> assertTrue(first == replica0.getConnection() || first == replica1.getConnection()),
+		        () -> assertTrue(second == replica0.getConnection() || second == replica1.getConnection()),
+		        () -> assertTrue(registry.get("datasource.routes").tag("target", "replica").functionCounter()
+		                .count() == 2));
+	}
+
+	@Test
+	public void testLaggingReplicaIsSkipped() throws SQLException {
+		lags.put(replica0, 5000L);
+		router.checkReplicas();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertAll("Properties", () -> assertSame(replica1.getConnection(), router.getConnection()),
+		        () -> assertSame(replica1.getConnection(), router.getConnection()),
+		        () -> assertTrue(registry.get("datasource.replicas.healthy").gauge().value() == 1));
+	}
+
+	@Test
+	public void testReadsFallBackToPrimary() throws SQLException {
+		lags.put(replica0, 5000L);
+		lags.remove(replica1);
+		router.checkReplicas();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertAll("Properties", () -> assertSame(primary.getConnection(), router.getConnection()),
+		        () -> assertTrue(registry.get("datasource.routes").tag("target", "fallback").functionCounter()
+		                .count() == 1));
+	}
+
+	@Test
+	public void testRecoveredReplicaIsUsedAgain() throws SQLException {
+		lags.remove(replica0);
+		lags.remove(replica1);
+		router.checkReplicas();
+		lags.put(replica1, 0L);
+		router.checkReplicas();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertSame(replica1.getConnection(), router.getConnection());
+	}
+
+	@Test
+	public void testCacheFillsGoToPrimary() throws SQLException {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		Connection pinned = PrimaryScope.run(() -> {
+			try {
+				return router.getConnection();
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+
+		assertAll("Properties", () -> assertSame(primary.getConnection(), pinned),
+		        () -> assertTrue(router.getConnection() != primary.getConnection()));
+	}
+
+	private static DataSource stub() throws SQLException {
+		DataSource dataSource = mock(DataSource.class);
+		Connection connection = mock(Connection.class);
+		when(dataSource.getConnection()).thenReturn(connection);
+		return dataSource;
+	}
+}
@@ -0,0 +1,156 @@
+package org.cvs.data.routing;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.boot.orm.jpa.hibernate.SpringPhysicalNamingStrategy;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link ReplicaRoutingDataSource} behind a
+ * {@link LazyConnectionDataSourceProxy}, with real JPA transactions. The
+ * primary and the replica both lend connections of the test database and
+ * record when they do.
+ *
+ * @author Yamiko Msosa
+ *
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class ReplicaRoutingTransactionTest {
+
+	@Autowired
+	DataSource dataSource;
+
+	RecordingDataSource primary;
+
+	RecordingDataSource replica;
+
+	LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+
+	TransactionTemplate readOnly;
+
+	TransactionTemplate readWrite;
+
+	EntityManagerFactory entityManagerFactory;
+
+	@BeforeEach
+	void init() {
+		primary = new RecordingDataSource(dataSource);
+		replica = new RecordingDataSource(dataSource);
+
+		ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, Collections.singletonList(replica),
+		        target -> 0L, 1000, 0);
+		router.afterPropertiesSet();
+
+		LazyConnectionDataSourceProxy lazyDataSource = new LazyConnectionDataSourceProxy(router);
+		lazyDataSource.setDefaultAutoCommit(true);
+		lazyDataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+
+		// Dialect and naming are set so that starting up needs no connection
+		Properties jpaProperties = new Properties();
+		jpaProperties.setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+		jpaProperties.setProperty("hibernate.temp.use_jdbc_metadata_defaults", "false");
+		jpaProperties.setProperty("hibernate.physical_naming_strategy", SpringPhysicalNamingStrategy.class.getName());
+		jpaProperties.setProperty("hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName());
+
+		entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+		entityManagerFactoryBean.setDataSource(lazyDataSource);
+		entityManagerFactoryBean.setPackagesToScan("org.cvs.data.entities");
+		entityManagerFactoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+		entityManagerFactoryBean.setJpaProperties(jpaProperties);
+		entityManagerFactoryBean.afterPropertiesSet();
+		entityManagerFactory = entityManagerFactoryBean.getObject();
+
+		JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		readWrite = new TransactionTemplate(transactionManager);
+
+		primary.acquisitions.clear();
+		replica.acquisitions.clear();
+	}
+
+	@AfterEach
+	void cleanup() {
+		entityManagerFactoryBean.destroy();
+	}
+
+	@Test
+	public void testReadOnlyTransactionGoesToReplica() {
+		int acquiredAtBegin = readOnly.execute(status -> replica.acquisitions.size() + primary.acquisitions.size());
+		readOnly.executeWithoutResult(status -> countCandidates());
+
+		// The connection is only taken on the first statement, once the read-only
+		// flag of the transaction is set
+		assertAll("Properties", () -> assertEquals(0, acquiredAtBegin),
+		        () -> assertEquals(Collections.singletonList(Boolean.TRUE), replica.acquisitions),
+		        () -> assertTrue(primary.acquisitions.isEmpty()));
+	}
+
+	@Test
+	public void testWritingTransactionGoesToPrimary() {
+		readWrite.executeWithoutResult(status -> countCandidates());
+
+		assertAll("Properties", () -> assertEquals(Collections.singletonList(Boolean.FALSE), primary.acquisitions),
+		        () -> assertTrue(replica.acquisitions.isEmpty()));
+	}
+
+	@Test
+	public void testCacheFillGoesToPrimary() {
+		PrimaryScope.run(() -> readOnly.execute(status -> countCandidates()));
+
+		assertAll("Properties", () -> assertEquals(Collections.singletonList(Boolean.TRUE), primary.acquisitions),
+		        () -> assertTrue(replica.acquisitions.isEmpty()));
+	}
+
+	private Long countCandidates() {
+		EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+		return entityManager.createQuery("SELECT COUNT(c) FROM Candidate c", Long.class).getSingleResult();
+	}
+
+	/**
+	 * Lends connections of another data source and records whether the
+	 * transaction was read-only when each was taken.
+	 */
+	static class RecordingDataSource extends DelegatingDataSource {
+
+		final List<Boolean> acquisitions = Collections.synchronizedList(new ArrayList<>());
+
+		RecordingDataSource(DataSource target) {
+			super(target);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			acquisitions.add(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+			return super.getConnection();
+		}
+	}
+}